@@ -0,0 +1,148 @@
+package com.nl.recipeManagementAPI.controller;
+
+import com.nl.recipeManagementAPI.RecipeManagementApiApplication;
+import com.nl.recipeManagementAPI.service.RecipeImportService;
+import com.nl.recipeManagementAPI.utils.SyntheticRecipeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the request path, many concurrent clients fetching recipes by name and searching. Run in both modes
+ * of threadMode to compare the throughput and, in the sample time mode, the p99 latency of the platform thread pool
+ * of Tomcat against virtual threads; the virtual mode only differs on Java 21.
+ * <p>
+ * By default the api is started in the benchmark with an embedded H2 database, which never blocks for long. To measure
+ * against PostgreSQL, start the api (docker compose, with and without the virtual-threads spring profile) and pass
+ * its url with {@code -p baseUrl=http://localhost:8080}; the catalog is then imported through the bulk import end
+ * point unless it already holds the recipes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 20)
+@Measurement(iterations = 3, time = 10)
+@Threads(128)
+@Fork(1)
+public class RecipeApiLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    @Param({"1000"})
+    private int catalogSize;
+
+    @Param({""})
+    private String baseUrl;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private HttpClient httpClient;
+
+    private URI apiUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(Duration.ofSeconds(5)).build();
+        if (baseUrl.isEmpty()) {
+            applicationContext = new SpringApplicationBuilder(RecipeManagementApiApplication.class)
+                    .run("--server.port=0",
+                            "--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+                            "--spring.datasource.url=jdbc:h2:mem:load;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.driver-class-name=org.h2.Driver",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                            "--spring.jpa.hibernate.ddl-auto=create-drop",
+                            "--spring.jpa.show-sql=false",
+                            "--spring.jpa.properties.hibernate.generate_statistics=false",
+                            "--spring.sql.init.mode=never",
+                            "--spring.flyway.enabled=false",
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.nl.recipeManagementAPI=WARN");
+            applicationContext.getBean(RecipeImportService.class)
+                    .importRecipes(SyntheticRecipeFactory.recipeDetails(catalogSize, 42L).iterator());
+            apiUrl = URI.create("http://localhost:" + applicationContext.getEnvironment().getProperty("local.server.port"));
+        } else {
+            apiUrl = URI.create(baseUrl);
+            if (send(get("/recipe/" + encode("recipe 0"))) == 404) {
+                importCatalog();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (null != applicationContext) {
+            applicationContext.close();
+        }
+    }
+
+    @Benchmark
+    public int getRecipe() throws IOException, InterruptedException {
+        return send(get("/recipe/" + encode("recipe " + ThreadLocalRandom.current().nextInt(catalogSize))));
+    }
+
+    @Benchmark
+    public int search() throws IOException, InterruptedException {
+        int ingredient = ThreadLocalRandom.current().nextInt(10);
+        String filter = "{\"requiredIngredients\":[\"" + SyntheticRecipeFactory.ingredientName(ingredient) + "\"]," +
+                "\"optionalIngredients\":[\"" + SyntheticRecipeFactory.ingredientName(ingredient + 1) + "\"],\"pageSize\":20}";
+        return send(HttpRequest.newBuilder(apiUrl.resolve("/recipe/search"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(filter))
+                .build());
+    }
+
+    private void importCatalog() throws IOException, InterruptedException {
+        StringBuilder recipes = new StringBuilder();
+        SyntheticRecipeFactory.recipeDetails(catalogSize, 42L).forEach(recipeDetails -> {
+            String ingredients = String.join(",", recipeDetails.getIngredients().stream()
+                    .map(ingredient -> "{\"name\":\"" + ingredient.getName() + "\"}")
+                    .toList());
+            recipes.append("{\"recipeName\":\"").append(recipeDetails.getRecipeName())
+                    .append("\",\"category\":\"").append(recipeDetails.getCategory())
+                    .append("\",\"instructions\":\"").append(recipeDetails.getInstructions())
+                    .append("\",\"servings\":").append(recipeDetails.getServings())
+                    .append(",\"ingredients\":[").append(ingredients).append("]}\n");
+        });
+        send(HttpRequest.newBuilder(apiUrl.resolve("/recipes/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(recipes.toString()))
+                .build());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(apiUrl.resolve(path)).GET().build();
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static String encode(String path) {
+        return path.replace(" ", "%20");
+    }
+}
@@ -0,0 +1,84 @@
+package com.nl.recipeManagementAPI.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.nl.recipeManagementAPI.config.ContentNegotiationConfig;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.utils.SyntheticRecipeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures the serialization of a page of recipes with an object mapper configured as the one of the api, in json or
+ * smile and with all the fields or a sparse fieldset, and the size of the page gzip compressed as the server sends it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeSerializationBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    @Param({"json", "smile"})
+    private String format;
+
+    @Param({"", "id,recipeName"})
+    private String fields;
+
+    private ObjectWriter objectWriter;
+
+    private List<RecipeDetails> recipes;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        ContentNegotiationConfig.recipeFieldsCustomizer().customize(builder);
+        if ("smile".equals(format)) {
+            builder.factory(new SmileFactory());
+        }
+        ObjectMapper objectMapper = builder.build();
+        recipes = SyntheticRecipeFactory.recipeDetails(pageSize, 42L);
+        FilterProvider filters = ContentNegotiationConfig.recipeFields(recipes, fields).getFilters();
+        objectWriter = null == filters ? objectMapper.writer() : objectMapper.writer(filters);
+    }
+
+    @Benchmark
+    public byte[] writeRecipes() throws JsonProcessingException {
+        return objectWriter.writeValueAsBytes(recipes);
+    }
+
+    /**
+     * Serializes the page through gzip with the default level, as the server compresses the responses.
+     */
+    @Benchmark
+    public byte[] writeRecipesCompressed() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            objectWriter.writeValue(gzipOutputStream, recipes);
+        }
+        return outputStream.toByteArray();
+    }
+}
@@ -0,0 +1,53 @@
+package com.nl.recipeManagementAPI.mapper;
+
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.utils.SyntheticRecipeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the entity to dto and dto to entity mappings of a single recipe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeMapperBenchmark {
+
+    @Param({"5", "20"})
+    private int ingredientCount;
+
+    private Recipe recipe;
+
+    private RecipeDetails recipeDetails;
+
+    @Setup
+    public void setUp() {
+        recipe = SyntheticRecipeFactory.recipe(1L, ingredientCount);
+        recipeDetails = RecipeMapper.INSTANCE.fromRecipe(recipe);
+    }
+
+    @Benchmark
+    public RecipeDetails fromRecipe() {
+        return RecipeMapper.INSTANCE.fromRecipe(recipe);
+    }
+
+    @Benchmark
+    public Recipe toRecipe() {
+        return RecipeMapper.INSTANCE.toRecipe(recipeDetails);
+    }
+}
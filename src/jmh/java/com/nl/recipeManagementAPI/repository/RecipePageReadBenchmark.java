@@ -0,0 +1,109 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.RecipeManagementApiApplication;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.mapper.RecipeMapper;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.service.RecipeImportService;
+import com.nl.recipeManagementAPI.utils.SyntheticRecipeFactory;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a page of pageSize recipes with their ingredients in a read-only transaction, either as entities
+ * fetched with their ingredients and mapped with RecipeMapper, or as the {@link RecipeDetailsView} projections with
+ * the ingredients aggregated by the database. Run with -prof gc to compare the allocations per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipePageReadBenchmark {
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private RecipeManagementRepository recipeManagementRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(RecipeManagementApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.sql.init.mode=never",
+                        "--spring.flyway.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.nl.recipeManagementAPI=WARN");
+        applicationContext.getBean(RecipeImportService.class)
+                .importRecipes(SyntheticRecipeFactory.recipeDetails(1000, 42L).iterator());
+        recipeManagementRepository = applicationContext.getBean(RecipeManagementRepository.class);
+        entityManager = applicationContext.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public List<RecipeDetails> entities() {
+        return readOnlyTransaction.execute(status -> {
+            List<Long> ids = entityManager.createQuery("select r.id from Recipe r where r.id > 0 order by r.id", Long.class)
+                    .setMaxResults(pageSize)
+                    .getResultList();
+            return entityManager.createQuery("select distinct r from Recipe r left join fetch r.ingredients " +
+                            "where r.id in :ids order by r.id", Recipe.class)
+                    .setParameter("ids", ids)
+                    .getResultList()
+                    .stream()
+                    .map(RecipeMapper.INSTANCE::fromRecipe)
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<RecipeDetails> projections() {
+        return readOnlyTransaction.execute(status -> recipeManagementRepository.findDetailsAfter(0L, Limit.of(pageSize))
+                .stream()
+                .map(RecipeMapper.INSTANCE::fromRecipeDetailsView)
+                .toList());
+    }
+}
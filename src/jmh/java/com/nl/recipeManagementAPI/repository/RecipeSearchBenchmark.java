@@ -0,0 +1,93 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.RecipeManagementApiApplication;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.service.RecipeImportService;
+import com.nl.recipeManagementAPI.utils.SyntheticRecipeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the recipe searches against an embedded H2 database loaded with a synthetic catalog of catalogSize recipes.
+ * The grouped criteria query of {@link RecipeSearchRepository} is measured alone and along with the projection query
+ * reading the details of the page, which is what a search served from the database runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeSearchBenchmark {
+
+    @Param({"1000", "10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private RecipeManagementRepository recipeManagementRepository;
+
+    private RecipeFilterRequest recipeFilterRequest;
+
+    private final Pageable pageable = PageRequest.of(0, 50);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        applicationContext = new SpringApplicationBuilder(RecipeManagementApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--spring.sql.init.mode=never",
+                        "--spring.flyway.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.nl.recipeManagementAPI=WARN");
+        applicationContext.getBean(RecipeImportService.class)
+                .importRecipes(SyntheticRecipeFactory.recipeDetails(catalogSize, 42L).iterator());
+        recipeManagementRepository = applicationContext.getBean(RecipeManagementRepository.class);
+        recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setRequiredIngredients(List.of(SyntheticRecipeFactory.ingredientName(0)));
+        recipeFilterRequest.setOptionalIngredients(List.of(SyntheticRecipeFactory.ingredientName(1),
+                SyntheticRecipeFactory.ingredientName(2)));
+        recipeFilterRequest.setForbiddenIngredients(List.of(SyntheticRecipeFactory.ingredientName(3)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public List<Long> findIds() {
+        return recipeManagementRepository.findIds(recipeFilterRequest, pageable);
+    }
+
+    @Benchmark
+    public List<RecipeDetailsView> findIdsAndDetails() {
+        return recipeManagementRepository.findDetailsByIdIn(recipeManagementRepository.findIds(recipeFilterRequest, pageable));
+    }
+}
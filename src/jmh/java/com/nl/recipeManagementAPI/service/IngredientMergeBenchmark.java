@@ -0,0 +1,52 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import com.nl.recipeManagementAPI.mapper.RecipeMapper;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.utils.SyntheticRecipeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the diff of the ingredients of a recipe update against the existing ingredients of the recipe, the update
+ * repeats all the existing ingredients and adds a single new one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngredientMergeBenchmark {
+
+    @Param({"5", "20", "100"})
+    private int ingredientCount;
+
+    private Set<Ingredient> existingIngredients;
+
+    private Set<RecipeIngredient> newIngredients;
+
+    @Setup
+    public void setUp() {
+        existingIngredients = SyntheticRecipeFactory.ingredients(0, ingredientCount);
+        newIngredients = RecipeMapper.INSTANCE.fromRecipe(SyntheticRecipeFactory.recipe(1L, ingredientCount + 1)).getIngredients();
+    }
+
+    @Benchmark
+    public List<String> newIngredientNames() {
+        return RecipeManagementServiceImpl.newIngredientNames(existingIngredients, newIngredients);
+    }
+}
@@ -0,0 +1,112 @@
+package com.nl.recipeManagementAPI.service;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.utils.SyntheticRecipeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost the create recipe log lines add to a request thread, writing to a file either directly or through
+ * the bounded, non-blocking AsyncAppender of logback-spring.xml. The payload message dumps the whole recipe at INFO
+ * as the service used to, the summary message logs the name and the ingredient count at INFO and the recipe at the
+ * disabled DEBUG level. With the async appender the events that find the queue full are dropped, which is the
+ * behaviour the request threads get under overload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class RecipeLoggingBenchmark {
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    @Param({"payload", "summary"})
+    private String message;
+
+    private LoggerContext loggerContext;
+
+    private Logger logger;
+
+    private boolean summary;
+
+    private RecipeDetails recipeDetails;
+
+    private Path logFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("recipe-logging", ".log");
+        loggerContext = new LoggerContext();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d %p %logger{36} [%t] %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(loggerContext);
+        fileAppender.setName("File");
+        fileAppender.setFile(logFile.toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        Appender<ILoggingEvent> target = fileAppender;
+        if ("async".equals(appender)) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setName("AsyncFile");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            target = asyncAppender;
+        }
+        logger = loggerContext.getLogger(RecipeManagementServiceImpl.class);
+        logger.setLevel(ch.qos.logback.classic.Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(target);
+        summary = "summary".equals(message);
+        recipeDetails = SyntheticRecipeFactory.recipeDetails(1, 42L).get(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        loggerContext.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void createRecipe() {
+        if (summary) {
+            logger.info("Create recipe {} with {} ingredients", recipeDetails.getRecipeName(), recipeDetails.getIngredients().size());
+            logger.debug("Create recipe {}", recipeDetails);
+        } else {
+            logger.info("Create recipe {}", recipeDetails);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.nl.recipeManagementAPI.utils;
+
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import lombok.experimental.UtilityClass;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Generates reproducible synthetic recipes for the benchmarks. The ingredients are drawn from a fixed vocabulary with
+ * a skew towards the first names, so that a few ingredients like "ingredient 0" are shared by most of the recipes as
+ * salt or oil are in a real catalog.
+ */
+@UtilityClass
+public class SyntheticRecipeFactory {
+
+    public static final int VOCABULARY_SIZE = 500;
+
+    private static final Category[] CATEGORIES = Category.values();
+
+    public static String ingredientName(int index) {
+        return "ingredient " + index;
+    }
+
+    public static List<RecipeDetails> recipeDetails(int count, long seed) {
+        Random random = new Random(seed);
+        return IntStream.range(0, count)
+                .mapToObj(index -> RecipeDetails.builder()
+                        .recipeName("recipe " + index)
+                        .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                        .instructions("Mix the ingredients of recipe " + index + " and bake for " + (10 + random.nextInt(50)) + " minutes")
+                        .servings(1 + random.nextInt(8))
+                        .ingredients(ingredientNames(random, 3 + random.nextInt(10)).stream()
+                                .map(name -> new RecipeIngredient(null, name))
+                                .collect(LinkedHashSet::new, Set::add, Set::addAll))
+                        .build())
+                .toList();
+    }
+
+    public static Recipe recipe(long id, int ingredientCount) {
+        Recipe recipe = new Recipe();
+        recipe.setId(id);
+        recipe.setRecipeName("recipe " + id);
+        recipe.setCategory(Category.VEGETARIAN);
+        recipe.setInstructions("Mix the ingredients and bake for 30 minutes");
+        recipe.setServings(4);
+        recipe.setIngredients(ingredients(0, ingredientCount));
+        return recipe;
+    }
+
+    /**
+     * Ingredients with the ids and names of the vocabulary from the given index on.
+     */
+    public static Set<Ingredient> ingredients(int from, int count) {
+        Set<Ingredient> ingredients = new LinkedHashSet<>();
+        IntStream.range(from, from + count).forEach(index -> ingredients.add(new Ingredient((long) index + 1, ingredientName(index))));
+        return ingredients;
+    }
+
+    private static Set<String> ingredientNames(Random random, int count) {
+        Set<String> names = new LinkedHashSet<>();
+        while (names.size() < count) {
+            double skewed = Math.pow(random.nextDouble(), 3);
+            names.add(ingredientName((int) (skewed * VOCABULARY_SIZE)));
+        }
+        return names;
+    }
+}
@@ -2,8 +2,21 @@ package com.nl.recipeManagementAPI;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication(scanBasePackages = "com.nl.recipeManagementAPI")
+/**
+ * The blocking JPA application, the R2DBC connection factory of the reactive variant is left out when both are built
+ * together so that the JDBC datasource is configured. The redis connection is only configured by RedisCacheTierConfig
+ * when redis is the shared cache tier. The outbox of the recipe changes is published on a schedule.
+ */
+@SpringBootApplication(scanBasePackages = "com.nl.recipeManagementAPI",
+        excludeName = {"org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration",
+                "org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration"})
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class RecipeManagementApiApplication {
 
     public static void main(String[] args) {
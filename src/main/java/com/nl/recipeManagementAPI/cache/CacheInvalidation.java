@@ -0,0 +1,18 @@
+package com.nl.recipeManagementAPI.cache;
+
+import java.util.List;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type CacheInvalidation
+ * Broadcast through the shared cache tier when a node evicts entries of a two level cache, or clears it when the keys
+ * are null, so that the other nodes drop their near copies and do not cache the loads they started before. The node
+ * that sent it ignores it.
+ *
+ * @param node      the id of the node that evicted the entries
+ * @param cacheName the name of the cache
+ * @param keys      the evicted keys, null when the whole cache is cleared
+ */
+public record CacheInvalidation(String node, String cacheName, List<String> keys) {
+}
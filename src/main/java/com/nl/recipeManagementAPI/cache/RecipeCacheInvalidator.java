@@ -0,0 +1,144 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.nl.recipeManagementAPI.config.CacheConfig;
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeCacheInvalidator
+ * Evicts the cached recipes and search results a change of a recipe makes stale: the previous and the current name of
+ * the recipe from the recipe by name cache, and the searches whose results the recipe may be part of before or after
+ * the change, see {@link RecipeSearchKey#mayMatch(RecipeDetails)}, so that the searches on other categories and
+ * ingredients stay cached. It listens within the transaction of the change and evicts once the transaction commits,
+ * the searches being looked up once for all the recipes changed by the transaction, like a chunk of the bulk import.
+ * The searches are evicted last, once the search indexes applied the change from their transactional event listeners,
+ * so that a search answered from an index that did not have the change yet is not left in the cache.
+ * The evictions of a two level cache are sent to the other nodes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onRecipeChanged(RecipeChangedEvent recipeChangedEvent) {
+        List<RecipeDetails> recipes = Stream.of(recipeChangedEvent.getPreviousRecipe(), recipeChangedEvent.getRecipe())
+                .flatMap(Stream::ofNullable)
+                .toList();
+        Optional.ofNullable(cacheManager.getCache(CacheConfig.RECIPE_BY_NAME_CACHE)).ifPresent(cache ->
+                recipes.stream()
+                        .map(RecipeDetails::getRecipeName)
+                        .distinct()
+                        .forEach(cache::evict));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changedRecipesOfTransaction().addAll(recipes);
+        } else {
+            evictSearches(recipes);
+        }
+    }
+
+    /**
+     * The recipes changed by the current transaction, whose searches are evicted once it committed.
+     */
+    private List<RecipeDetails> changedRecipesOfTransaction() {
+        @SuppressWarnings("unchecked")
+        List<RecipeDetails> changedRecipes = (List<RecipeDetails>) TransactionSynchronizationManager.getResource(this);
+        if (null == changedRecipes) {
+            List<RecipeDetails> transactionRecipes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, transactionRecipes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                /**
+                 * Evicts on completion rather than after commit, the transactional event listeners of the search
+                 * indexes being run on completion as well, see {@link RecipeCacheInvalidator}.
+                 */
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RecipeCacheInvalidator.this);
+                    if (STATUS_COMMITTED == status) {
+                        evictSearches(transactionRecipes);
+                    }
+                }
+            });
+            changedRecipes = transactionRecipes;
+        }
+        return changedRecipes;
+    }
+
+    /**
+     * Evicts the cached searches the recipes may be part of. The keys are read after the commit, so that a search that
+     * cached the state before the change while the transaction was running is evicted as well. A search still loading
+     * may have read the state before the change and cache it once the keys were read, the caches that load their
+     * misses themselves do not cache the searches that were loading during the eviction.
+     */
+    private void evictSearches(List<RecipeDetails> recipes) {
+        Cache cache = cacheManager.getCache(CacheConfig.RECIPE_SEARCH_CACHE);
+        if (cache instanceof TransactionAwareCacheDecorator transactionAwareCache) {
+            cache = transactionAwareCache.getTargetCache();
+        }
+        if (null == cache || recipes.isEmpty()) {
+            return;
+        }
+        Collection<?> keys = keys(cache);
+        if (null == keys) {
+            cache.clear();
+            return;
+        }
+        List<?> staleKeys = keys.stream()
+                .filter(key -> {
+                    RecipeSearchKey recipeSearchKey = RecipeSearchKey.parse(String.valueOf(key));
+                    return recipes.stream().anyMatch(recipeSearchKey::mayMatch);
+                })
+                .toList();
+        log.debug("Evicting {} of {} cached searches for {} changed recipes", staleKeys.size(), keys.size(), recipes.size());
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            twoLevelCache.evictAll(staleKeys);
+        } else if (cache instanceof SingleFlightCaffeineCache singleFlightCache) {
+            singleFlightCache.evictAll(staleKeys);
+        } else {
+            staleKeys.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * The keys of the cached and loading searches, or null when the cache cannot list them.
+     */
+    private static Collection<?> keys(Cache cache) {
+        if (cache instanceof TwoLevelCache twoLevelCache) {
+            return twoLevelCache.keys();
+        }
+        if (cache instanceof SingleFlightCaffeineCache singleFlightCache) {
+            return singleFlightCache.keys();
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            return List.copyOf(caffeineCache.asMap().keySet());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,147 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.index.InstructionSearchIndex;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeSearchSpecification;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Pageable;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Type RecipeSearchKey
+ * <p>
+ * The canonical form of the filters and the page of a search, under which its matching ids are cached: the ingredients
+ * are trimmed, lower cased and sorted, the single includes and excludes ingredient are merged into the required and
+ * forbidden ones, the instruction is lower cased and the instruction query is reduced to its sorted words. The filters
+ * that find the same recipes have the same key, written as a query string so that it can be read back from the cache
+ * when the entries a change touched are looked for, see {@link #mayMatch(RecipeDetails)}.
+ */
+public record RecipeSearchKey(Category category, Integer servings, String instruction, List<String> instructionWords,
+                              SortedSet<String> requiredIngredients, SortedSet<String> optionalIngredients,
+                              SortedSet<String> forbiddenIngredients, int page, int pageSize) {
+
+    public static RecipeSearchKey of(RecipeFilterRequest recipeFilterRequest, Pageable pageable) {
+        return new RecipeSearchKey(recipeFilterRequest.getCategory(),
+                recipeFilterRequest.getServings(),
+                StringUtils.isEmpty(recipeFilterRequest.getInstruction()) ? null
+                        : recipeFilterRequest.getInstruction().toLowerCase(Locale.ROOT),
+                InstructionSearchIndex.tokenize(recipeFilterRequest.getInstructionQuery()).stream().sorted().distinct().toList(),
+                new TreeSet<>(RecipeSearchSpecification.requiredIngredients(recipeFilterRequest)),
+                new TreeSet<>(RecipeSearchSpecification.optionalIngredients(recipeFilterRequest)),
+                new TreeSet<>(RecipeSearchSpecification.forbiddenIngredients(recipeFilterRequest)),
+                pageable.getPageNumber(),
+                pageable.getPageSize());
+    }
+
+    /**
+     * Reads the key back from its {@link #toString()}.
+     */
+    public static RecipeSearchKey parse(String key) {
+        Map<String, String> values = new HashMap<>();
+        for (String parameter : key.split("&")) {
+            int separator = parameter.indexOf('=');
+            values.put(parameter.substring(0, separator), parameter.substring(separator + 1));
+        }
+        return new RecipeSearchKey(
+                Optional.ofNullable(values.get("category")).map(Category::valueOf).orElse(null),
+                Optional.ofNullable(values.get("servings")).map(Integer::valueOf).orElse(null),
+                Optional.ofNullable(values.get("instruction")).map(RecipeSearchKey::decode).orElse(null),
+                List.copyOf(decodeAll(values.get("instructionQuery"))),
+                new TreeSet<>(decodeAll(values.get("required"))),
+                new TreeSet<>(decodeAll(values.get("optional"))),
+                new TreeSet<>(decodeAll(values.get("forbidden"))),
+                Integer.parseInt(values.get("page")),
+                Integer.parseInt(values.get("pageSize")));
+    }
+
+    /**
+     * Tells whether the recipe, in the state before or after a change, may be one of the results of the search, so
+     * that the cached results must be evicted. The instruction query is not evaluated, a search using it may match any
+     * recipe with the other filters.
+     */
+    public boolean mayMatch(RecipeDetails recipe) {
+        if (null != category && category != recipe.getCategory()) {
+            return false;
+        }
+        if (null != servings && servings != recipe.getServings()) {
+            return false;
+        }
+        if (null != instruction && (null == recipe.getInstructions()
+                || !recipe.getInstructions().toLowerCase(Locale.ROOT).contains(instruction))) {
+            return false;
+        }
+        Set<String> ingredients = Optional.ofNullable(recipe.getIngredients()).orElse(Set.of()).stream()
+                .map(RecipeIngredient::getName)
+                .filter(StringUtils::isNotBlank)
+                .map(Ingredient::normalizeName)
+                .collect(Collectors.toSet());
+        if (!ingredients.containsAll(requiredIngredients) || !Collections.disjoint(ingredients, forbiddenIngredients)) {
+            return false;
+        }
+        return !requiredIngredients.isEmpty() || optionalIngredients.isEmpty()
+                || !Collections.disjoint(ingredients, optionalIngredients);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner key = new StringJoiner("&");
+        if (null != category) {
+            key.add("category=" + category);
+        }
+        if (null != servings) {
+            key.add("servings=" + servings);
+        }
+        if (null != instruction) {
+            key.add("instruction=" + encode(instruction));
+        }
+        addValues(key, "instructionQuery", instructionWords);
+        addValues(key, "required", requiredIngredients);
+        addValues(key, "optional", optionalIngredients);
+        addValues(key, "forbidden", forbiddenIngredients);
+        key.add("page=" + page);
+        key.add("pageSize=" + pageSize);
+        return key.toString();
+    }
+
+    private static void addValues(StringJoiner key, String name, Collection<String> values) {
+        if (!values.isEmpty()) {
+            key.add(name + "=" + values.stream()
+                    .map(RecipeSearchKey::encode)
+                    .collect(Collectors.joining(",")));
+        }
+    }
+
+    private static List<String> decodeAll(String values) {
+        return null == values ? List.of() : Arrays.stream(values.split(","))
+                .map(RecipeSearchKey::decode)
+                .toList();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
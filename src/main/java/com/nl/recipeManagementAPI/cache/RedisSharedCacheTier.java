@@ -0,0 +1,113 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RedisSharedCacheTier
+ * Keeps the shared caches in redis as json with the given time to live, written with a copy of the object mapper of
+ * the application so that the java time values of the recipes are supported, and broadcasts the invalidations on a pub/sub
+ * channel. A clear deletes the keys of the cache with SCAN instead of KEYS, so that redis is not blocked. The pub/sub
+ * delivery is at most once, a node that misses an invalidation serves its near copy until the near time to live.
+ */
+@Slf4j
+public class RedisSharedCacheTier implements SharedCacheTier {
+
+    public static final String INVALIDATION_CHANNEL = "recipe-management:cache-invalidation";
+
+    private static final String KEY_PREFIX = "recipe-management:";
+
+    private final RedisCacheManager redisCacheManager;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    private final ObjectMapper objectMapper;
+
+    public RedisSharedCacheTier(RedisConnectionFactory connectionFactory, StringRedisTemplate stringRedisTemplate,
+                                RedisMessageListenerContainer listenerContainer, ObjectMapper objectMapper,
+                                Duration timeToLive) {
+        this.redisCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(timeToLive)
+                        .prefixCacheNameWith(KEY_PREFIX)
+                        .disableCachingNullValues()
+                        .serializeValuesWith(RedisSerializationContext.SerializationPair
+                                .fromSerializer(GenericJackson2JsonRedisSerializer.builder()
+                                        .objectMapper(objectMapper.copy())
+                                        .defaultTyping(true)
+                                        .build())))
+                .build();
+        this.redisCacheManager.afterPropertiesSet();
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return redisCacheManager.getCache(name);
+    }
+
+    /**
+     * Scans the keys of the cache, an entry expiring or evicted during the scan may or may not be part of them.
+     */
+    @Override
+    public Collection<?> keys(String name) {
+        String cacheKeyPrefix = KEY_PREFIX + name + "::";
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(ScanOptions.scanOptions()
+                .match(cacheKeyPrefix + "*")
+                .count(1000)
+                .build())) {
+            cursor.forEachRemaining(key -> keys.add(key.substring(cacheKeyPrefix.length())));
+        }
+        return keys;
+    }
+
+    @Override
+    public void publish(CacheInvalidation cacheInvalidation) {
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, objectMapper.writeValueAsString(cacheInvalidation));
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                listener.accept(objectMapper.readValue(message.getBody(), CacheInvalidation.class));
+            } catch (IOException exception) {
+                log.warn("Ignoring unreadable cache invalidation {}", new String(message.getBody()), exception);
+            }
+        }, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+}
@@ -0,0 +1,36 @@
+package com.nl.recipeManagementAPI.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type SharedCacheTier
+ * The cache shared by all the nodes of the api behind their near caches, and the channel through which they tell each
+ * other about the evicted entries.
+ */
+public interface SharedCacheTier {
+
+    /**
+     * The shared cache of the given name.
+     */
+    Cache getCache(String name);
+
+    /**
+     * The keys of the entries of the shared cache of the given name.
+     */
+    Collection<?> keys(String name);
+
+    /**
+     * Sends the invalidation to every node, including the sending one.
+     */
+    void publish(CacheInvalidation cacheInvalidation);
+
+    /**
+     * Registers the listener of the invalidations sent by any node.
+     */
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
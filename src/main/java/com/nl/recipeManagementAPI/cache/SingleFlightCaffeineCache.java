@@ -0,0 +1,105 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.nl.recipeManagementAPI.coalescing.SingleFlight;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type SingleFlightCaffeineCache
+ * A caffeine cache whose misses loaded through {@link #get(Object, Callable)} are not loaded inside the map of caffeine.
+ * Caffeine loads a miss within a compute of its map, which holds the lock of the bin of the key for as long as the load
+ * reads the database: a virtual thread loading it pins its carrier, the other keys of the bin wait for it and so does
+ * an eviction of the key. Here a miss is loaded once per key by {@link SingleFlight}, whose waiting callers park on a
+ * future, and the map is only locked to store the loaded value.
+ * <p>
+ * A load that started before an eviction or a clear of the cache is returned to its callers but not cached, like the
+ * loads of {@link TwoLevelCache}, so that a value read before a change cannot be stored after the change evicted it.
+ */
+public class SingleFlightCaffeineCache extends CaffeineCache {
+
+    private final SingleFlight<Object, Object> loads = new SingleFlight<>();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SingleFlightCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                     boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (null != value) {
+            return (T) value.get();
+        }
+        try {
+            return (T) loads.execute(key, () -> load(key, valueLoader));
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable throwable) {
+            throw new ValueRetrievalException(key, valueLoader, throwable);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.incrementAndGet();
+        super.evict(key);
+    }
+
+    /**
+     * Evicts the entries of the given keys at once. The loads running are not cached even without keys, they may have
+     * read the state before the change the keys are evicted for.
+     */
+    public void evictAll(Collection<?> keys) {
+        evictions.incrementAndGet();
+        keys.forEach(super::evict);
+    }
+
+    /**
+     * The keys of the cached entries and of the entries being loaded.
+     */
+    public Set<Object> keys() {
+        Set<Object> keys = new HashSet<>(getNativeCache().asMap().keySet());
+        keys.addAll(loads.keys());
+        return keys;
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.incrementAndGet();
+        return super.invalidate();
+    }
+
+    /**
+     * Loads a miss and caches it, unless the cache was evicted or cleared while it was loading.
+     */
+    private Object load(Object key, Callable<?> valueLoader) throws Exception {
+        long evictionsBeforeLoad = evictions.get();
+        Object loaded = valueLoader.call();
+        if (null != loaded && evictions.get() == evictionsBeforeLoad) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,240 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.nl.recipeManagementAPI.coalescing.SingleFlight;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type TwoLevelCache
+ * Reads an entry from the near cache of the node, then from the shared tier, and keeps a near copy of what the shared
+ * tier had. An eviction or a clear applies to both tiers and is broadcast so that the other nodes drop their near copy.
+ * <p>
+ * A miss loaded through {@link #get(Object, Callable)} is loaded once per node, see {@link SingleFlight}. A load that
+ * started before an eviction made by this node, or before an invalidation of another node this node received, is
+ * returned to its callers but not cached. {@link #put(Object, Object)} has no such check, it caches whatever it is
+ * given, so the cached reads are loaded through {@link #get(Object, Callable)}. The invalidations of the other nodes are
+ * delivered at most once and the near copies carry no version: a node that misses one, or whose load completes before
+ * the invalidation arrives, may serve or share the value read before the change until it expires.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+
+    private final Cache nearCache;
+
+    private final Cache sharedCache;
+
+    private final SharedCacheTier sharedCacheTier;
+
+    private final String node;
+
+    private final SingleFlight<Object, Object> loads = new SingleFlight<>();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final LongAdder nearHits = new LongAdder();
+
+    private final LongAdder sharedHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder puts = new LongAdder();
+
+    public TwoLevelCache(String name, Cache nearCache, Cache sharedCache, SharedCacheTier sharedCacheTier, String node) {
+        this.name = name;
+        this.nearCache = nearCache;
+        this.sharedCache = sharedCache;
+        this.sharedCacheTier = sharedCacheTier;
+        this.node = node;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = nearCache.get(key);
+        if (null != value) {
+            nearHits.increment();
+            return value;
+        }
+        value = sharedCache.get(key);
+        if (null != value) {
+            sharedHits.increment();
+            nearCache.put(key, value.get());
+            return new SimpleValueWrapper(value.get());
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object cached = null == value ? null : value.get();
+        if (null != cached && null != type && !type.isInstance(cached)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + cached);
+        }
+        return (T) cached;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (null != value) {
+            return (T) value.get();
+        }
+        try {
+            return (T) loads.execute(key, () -> load(key, valueLoader));
+        } catch (Error error) {
+            throw error;
+        } catch (Throwable throwable) {
+            throw new ValueRetrievalException(key, valueLoader, throwable);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (null == value) {
+            evict(key);
+            return;
+        }
+        sharedCache.put(key, value);
+        nearCache.put(key, value);
+        puts.increment();
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = sharedCache.putIfAbsent(key, value);
+        Object cached = null == existing ? value : existing.get();
+        nearCache.put(key, cached);
+        if (null == existing) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictAll(List.of(key));
+    }
+
+    /**
+     * Evicts the entries of the given keys from both tiers and broadcasts them in one invalidation, which is sent even
+     * without keys so that the loads the other nodes started before are not cached.
+     */
+    public void evictAll(Collection<?> keys) {
+        evictions.incrementAndGet();
+        keys.forEach(key -> {
+            sharedCache.evict(key);
+            nearCache.evict(key);
+        });
+        sharedCacheTier.publish(new CacheInvalidation(node, name, keys.stream().map(String::valueOf).toList()));
+    }
+
+    /**
+     * The keys of the entries of both tiers and of the entries being loaded by this node.
+     */
+    public Set<Object> keys() {
+        Set<Object> keys = new HashSet<>(sharedCacheTier.keys(name));
+        if (nearCache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeineCache) {
+            keys.addAll(caffeineCache.asMap().keySet());
+        }
+        keys.addAll(loads.keys());
+        return keys;
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = null != nearCache.get(key) || null != sharedCache.get(key);
+        evict(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        sharedCache.clear();
+        nearCache.clear();
+        sharedCacheTier.publish(new CacheInvalidation(node, name, null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return true;
+    }
+
+    /**
+     * Drops the near copies of the entries evicted by another node, or all of them when the keys are null.
+     */
+    void invalidateNear(List<String> keys) {
+        evictions.incrementAndGet();
+        if (null == keys) {
+            nearCache.clear();
+        } else {
+            keys.forEach(nearCache::evict);
+        }
+    }
+
+    /**
+     * The entries found in the near cache of the node.
+     */
+    public long getNearHits() {
+        return nearHits.sum();
+    }
+
+    /**
+     * The entries missing from the near cache that were found in the shared tier.
+     */
+    public long getSharedHits() {
+        return sharedHits.sum();
+    }
+
+    /**
+     * The entries found in neither tier.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Loads a miss and caches it, unless the cache was evicted or invalidated on this node while it was loading.
+     */
+    private Object load(Object key, Callable<?> valueLoader) throws Exception {
+        long evictionsBeforeLoad = evictions.get();
+        Object loaded = valueLoader.call();
+        if (null != loaded && evictions.get() == evictionsBeforeLoad) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+}
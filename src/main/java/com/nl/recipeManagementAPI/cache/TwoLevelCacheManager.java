@@ -0,0 +1,66 @@
+package com.nl.recipeManagementAPI.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type TwoLevelCacheManager
+ * Puts the shared tier behind the near caches of the given names, the other caches stay in the process only. Listens
+ * to the invalidations of the other nodes and drops the near copies of the entries they evicted.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager nearCacheManager;
+
+    private final SharedCacheTier sharedCacheTier;
+
+    private final Set<String> sharedCacheNames;
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager nearCacheManager, SharedCacheTier sharedCacheTier, Set<String> sharedCacheNames) {
+        this.nearCacheManager = nearCacheManager;
+        this.sharedCacheTier = sharedCacheTier;
+        this.sharedCacheNames = Set.copyOf(sharedCacheNames);
+        sharedCacheTier.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache nearCache = nearCacheManager.getCache(name);
+        if (null == nearCache || !sharedCacheNames.contains(name)) {
+            return nearCache;
+        }
+        return caches.computeIfAbsent(name, cacheName ->
+                new TwoLevelCache(cacheName, nearCache, sharedCacheTier.getCache(cacheName), sharedCacheTier, node));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return nearCacheManager.getCacheNames();
+    }
+
+    private void onInvalidation(CacheInvalidation cacheInvalidation) {
+        if (node.equals(cacheInvalidation.node())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(cacheInvalidation.cacheName());
+        if (null != cache) {
+            log.debug("Invalidating {} of cache {} evicted by node {}", null == cacheInvalidation.keys() ? "all entries"
+                    : cacheInvalidation.keys(), cacheInvalidation.cacheName(), cacheInvalidation.node());
+            cache.invalidateNear(cacheInvalidation.keys());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.nl.recipeManagementAPI.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type TwoLevelCacheMetrics
+ * Publishes the gets of a two level cache as the cache metrics of the other caches, a hit being found in either tier,
+ * and the hits of the shared tier as cache.shared.hits.
+ */
+public class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+    public TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+        super(cache, cache.getName(), tags);
+    }
+
+    @Override
+    protected Long size() {
+        return null;
+    }
+
+    @Override
+    protected long hitCount() {
+        TwoLevelCache cache = getCache();
+        return null == cache ? 0 : cache.getNearHits() + cache.getSharedHits();
+    }
+
+    @Override
+    protected Long missCount() {
+        TwoLevelCache cache = getCache();
+        return null == cache ? null : cache.getMisses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        TwoLevelCache cache = getCache();
+        return null == cache ? null : cache.getEvictions();
+    }
+
+    @Override
+    protected long putCount() {
+        TwoLevelCache cache = getCache();
+        return null == cache ? 0 : cache.getPuts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("cache.shared.hits", getCache(), TwoLevelCache::getSharedHits)
+                .tags(getTagsWithCacheName())
+                .description("The number of times the entry missing from the near cache was found in the shared tier")
+                .register(registry);
+    }
+}
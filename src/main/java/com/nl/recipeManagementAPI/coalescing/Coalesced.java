@@ -0,0 +1,25 @@
+package com.nl.recipeManagementAPI.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type Coalesced
+ * Marks a read whose concurrent calls with equal arguments are merged into one call, see {@link CoalescingAspect}.
+ * The method must not have side effects and its result must be safe to share between the callers.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesced {
+
+    /**
+     * The name of the operation, the tag of its coalesced calls metric.
+     */
+    String value();
+}
@@ -0,0 +1,67 @@
+package com.nl.recipeManagementAPI.coalescing;
+
+import com.nl.recipeManagementAPI.datasource.ReadYourWrites;
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type CoalescingAspect
+ * Merges the concurrent calls of a {@link Coalesced} method with equal arguments into one call, whose result or
+ * exception is handed to all the callers. It is ordered before the cache, the transaction and the timer of the
+ * method, which keep the lowest precedence, so that the callers waiting for the running call neither look up the cache
+ * nor hold a connection of the pool. Only the calls that ran are timed, the callers that waited are counted by {@link RecipeMetrics#COALESCED_CALLS}.
+ * <p>
+ * A call made within a transaction is not coalesced, it may have to see the changes of its own transaction. The calls
+ * of a thread pinned to the primary by {@link ReadYourWrites} are only coalesced with each other.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class CoalescingAspect {
+
+    private final RecipeMetrics recipeMetrics;
+
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+
+    private final Map<String, SingleFlight<List<Object>, Object>> singleFlights = new ConcurrentHashMap<>();
+
+    @Around("@annotation(coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint, Coalesced coalesced) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        List<Object> key = new ArrayList<>(Arrays.asList(joinPoint.getArgs()));
+        key.add(isPinnedToPrimary());
+        return singleFlight(coalesced.value()).execute(key, joinPoint::proceed);
+    }
+
+    private SingleFlight<List<Object>, Object> singleFlight(String operation) {
+        return singleFlights.computeIfAbsent(operation, name -> {
+            SingleFlight<List<Object>, Object> singleFlight = new SingleFlight<>();
+            recipeMetrics.registerCoalescedCalls(name, singleFlight);
+            return singleFlight;
+        });
+    }
+
+    private boolean isPinnedToPrimary() {
+        ReadYourWrites pinning = readYourWrites.getIfAvailable();
+        return null != pinning && pinning.isPinnedToPrimary();
+    }
+}
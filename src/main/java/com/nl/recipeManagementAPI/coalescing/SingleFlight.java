@@ -0,0 +1,76 @@
+package com.nl.recipeManagementAPI.coalescing;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type SingleFlight
+ * Runs a call once per key however many callers ask for it at the same time: the first caller runs it while the
+ * concurrent callers of the same key wait for its result or its exception on a future instead of a lock, so that a
+ * virtual thread waiting for the call does not pin its carrier. A caller arriving once the call is over runs it again,
+ * nothing is kept.
+ *
+ * @param <K> the key of the calls, identical calls have equal keys
+ * @param <V> the result of the calls
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the call of the key, or waits for the result of the same call already running.
+     *
+     * @return the result of the call
+     * @throws Throwable the exception thrown by the call, to all its callers
+     */
+    public V execute(K key, Call<V> call) throws Throwable {
+        CompletableFuture<V> result = new CompletableFuture<>();
+        CompletableFuture<V> runningCall = calls.putIfAbsent(key, result);
+        if (null != runningCall) {
+            coalesced.increment();
+            try {
+                return runningCall.join();
+            } catch (CompletionException exception) {
+                throw exception.getCause();
+            }
+        }
+        try {
+            V value = call.call();
+            result.complete(value);
+            return value;
+        } catch (Throwable throwable) {
+            result.completeExceptionally(throwable);
+            throw throwable;
+        } finally {
+            calls.remove(key, result);
+        }
+    }
+
+    /**
+     * The keys of the calls running.
+     */
+    public Set<K> keys() {
+        return Set.copyOf(calls.keySet());
+    }
+
+    /**
+     * The calls that waited for the result of the same call instead of running it.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    @FunctionalInterface
+    public interface Call<V> {
+
+        V call() throws Throwable;
+    }
+}
@@ -0,0 +1,81 @@
+package com.nl.recipeManagementAPI.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nl.recipeManagementAPI.cache.SharedCacheTier;
+import com.nl.recipeManagementAPI.cache.SingleFlightCaffeineCache;
+import com.nl.recipeManagementAPI.cache.TwoLevelCache;
+import com.nl.recipeManagementAPI.cache.TwoLevelCacheManager;
+import com.nl.recipeManagementAPI.cache.TwoLevelCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type CacheConfig
+ * Configures the bounded, size and time to live evicting caches of the api. The caches record their statistics so
+ * that the hit, miss and eviction counts are published through the actuator metrics. Writes to the caches made
+ * inside a transaction are applied once it commits, so an eviction cannot be undone by a concurrent read of the
+ * uncommitted state and an id is not interned for an ingredient that is rolled back. The ingredient ids never change
+ * once created, so their cache is only bounded by size. The recipes by name and the search results are loaded on a
+ * miss, see {@link SingleFlightCaffeineCache}, and not within the lock caffeine holds while computing an entry.
+ * <p>
+ * When a {@link SharedCacheTier} is configured the recipes by name and the search results are also cached in it for
+ * the time to live, while the near copies in the process expire after the shorter near time to live.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String RECIPE_BY_NAME_CACHE = "recipeByName";
+
+    public static final String RECIPE_SEARCH_CACHE = "recipeSearch";
+
+    public static final String INGREDIENT_ID_CACHE = "ingredientIds";
+
+    @Bean
+    public CacheManager cacheManager(RecipeManagementProperties recipeManagementProperties,
+                                     ObjectProvider<SharedCacheTier> sharedCacheTier) {
+        RecipeManagementProperties.Cache cache = recipeManagementProperties.getCache();
+        SharedCacheTier sharedTier = sharedCacheTier.getIfAvailable();
+        Duration nearTimeToLive = null == sharedTier ? cache.getTimeToLive() : cache.getNearTimeToLive();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name,
+                                                                         com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return INGREDIENT_ID_CACHE.equals(name) ? super.adaptCaffeineCache(name, cache)
+                        : new SingleFlightCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        for (String cacheName : Set.of(RECIPE_BY_NAME_CACHE, RECIPE_SEARCH_CACHE)) {
+            cacheManager.registerCustomCache(cacheName, Caffeine.newBuilder()
+                    .maximumSize(cache.getMaximumSize())
+                    .expireAfterWrite(nearTimeToLive)
+                    .recordStats()
+                    .build());
+        }
+        cacheManager.registerCustomCache(INGREDIENT_ID_CACHE, Caffeine.newBuilder()
+                .maximumSize(cache.getIngredientMaximumSize())
+                .recordStats()
+                .build());
+        if (null == sharedTier) {
+            return new TransactionAwareCacheManagerProxy(cacheManager);
+        }
+        return new TransactionAwareCacheManagerProxy(new TwoLevelCacheManager(cacheManager, sharedTier,
+                Set.of(RECIPE_BY_NAME_CACHE, RECIPE_SEARCH_CACHE)));
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<TwoLevelCache> twoLevelCacheMeterBinderProvider() {
+        return TwoLevelCacheMetrics::new;
+    }
+}
@@ -0,0 +1,83 @@
+package com.nl.recipeManagementAPI.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type ContentNegotiationConfig
+ * Adds the Smile binary encoding of jackson next to json, selected with Accept: application/x-jackson-smile, and the
+ * sparse fieldsets of the recipes: the properties of a {@link RecipeDetails} can be limited to a comma separated list of
+ * fields, which is applied while serializing without copying the recipes. The responses are compressed by the server,
+ * see server.compression in the properties.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private static final String RECIPE_FIELDS_FILTER = "recipeFields";
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    /**
+     * Serializes every property of a recipe unless a request selects its fields. The filter is added with a mix-in, so
+     * that the plain object mappers outside the http layer serialize the recipes as before.
+     */
+    @Bean
+    public static Jackson2ObjectMapperBuilderCustomizer recipeFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(RecipeDetails.class, RecipeFieldsMixIn.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.getObject().factory(new SmileFactory()).build()));
+    }
+
+    /**
+     * Wraps the recipes to be serialized with only the given fields, or with all of them when no fields are given.
+     *
+     * @param recipes the recipe or the recipes of the response
+     * @param fields  the comma separated names of the recipe properties, for example {@code id,recipeName}
+     */
+    public static MappingJacksonValue recipeFields(Object recipes, String fields) {
+        MappingJacksonValue mappingJacksonValue = new MappingJacksonValue(recipes);
+        if (StringUtils.isNotBlank(fields)) {
+            Set<String> properties = Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotEmpty)
+                    .collect(Collectors.toSet());
+            mappingJacksonValue.setFilters(new SimpleFilterProvider()
+                    .addFilter(RECIPE_FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties)));
+        }
+        return mappingJacksonValue;
+    }
+
+    @JsonFilter(RECIPE_FIELDS_FILTER)
+    private interface RecipeFieldsMixIn {
+    }
+}
@@ -0,0 +1,45 @@
+package com.nl.recipeManagementAPI.config;
+
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
+import com.nl.recipeManagementAPI.metrics.RequestStatementsFilter;
+import com.nl.recipeManagementAPI.metrics.StatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type MetricsConfig
+ * Times the service methods annotated with {@link io.micrometer.core.annotation.Timed} and counts the SQL statements
+ * of every request to the recipe end points. The hikari connection pool, the http requests and the repository
+ * invocations are measured by the actuator itself, their percentile histograms are enabled in the properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestStatementsFilter> requestStatementsFilter(StatementCounter statementCounter,
+                                                                                   RecipeMetrics recipeMetrics) {
+        FilterRegistrationBean<RequestStatementsFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatementsFilter(statementCounter, recipeMetrics));
+        registration.addUrlPatterns("/recipe", "/recipe/*", "/recipes", "/recipes/*");
+        return registration;
+    }
+}
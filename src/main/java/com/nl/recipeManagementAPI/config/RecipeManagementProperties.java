@@ -0,0 +1,122 @@
+package com.nl.recipeManagementAPI.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeManagementProperties
+ * Binds the tunable settings of the recipe management api from the {@code recipe-management.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "recipe-management")
+public class RecipeManagementProperties {
+
+    private Pagination pagination = new Pagination();
+
+    private Cache cache = new Cache();
+
+    private SearchIndex searchIndex = new SearchIndex();
+
+    private BulkImport bulkImport = new BulkImport();
+
+    private BulkChange bulkChange = new BulkChange();
+
+    private Replica replica = new Replica();
+
+    private Outbox outbox = new Outbox();
+
+    /**
+     * Page sizes used by the keyset paginated listing of recipes.
+     */
+    @Data
+    public static class Pagination {
+
+        private int defaultPageSize = 50;
+
+        private int maxPageSize = 500;
+    }
+
+    /**
+     * Bounds of the in-process caches of recipes looked up by name, of the search results and of the interned
+     * ingredient ids. With a shared tier, {@code redis} or {@code none}, the recipes and the search results are also
+     * cached in the shared tier for the time to live, and kept in the process for the near time to live only.
+     */
+    @Data
+    public static class Cache {
+
+        private long maximumSize = 1000;
+
+        private Duration timeToLive = Duration.ofMinutes(10);
+
+        private long ingredientMaximumSize = 10000;
+
+        private String sharedTier = "none";
+
+        private Duration nearTimeToLive = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Switches the in-memory ingredient, category and servings index used to answer the recipe searches.
+     */
+    @Data
+    public static class SearchIndex {
+
+        private boolean enabled = false;
+    }
+
+    /**
+     * Number of recipes validated, checked for name collisions and inserted together in one transaction by the bulk import.
+     */
+    @Data
+    public static class BulkImport {
+
+        private int chunkSize = 500;
+    }
+
+    /**
+     * Number of recipes locked, changed with set based statements and written to the outbox together in one transaction
+     * by the bulk updates and deletes.
+     */
+    @Data
+    public static class BulkChange {
+
+        private int chunkSize = 500;
+    }
+
+    /**
+     * Connection of the read replica the read only transactions are routed to, and the time after a write of a client
+     * during which its reads still go to the primary. The pool of the replica is tuned with the
+     * {@code recipe-management.replica.hikari.*} properties.
+     */
+    @Data
+    public static class Replica {
+
+        private boolean enabled = false;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Publishing of the outbox of the recipe changes to the change feed: the changes are published in batches of the
+     * given size every publish interval, and the published changes are deleted once they are older than the retention.
+     */
+    @Data
+    public static class Outbox {
+
+        private Duration publishInterval = Duration.ofSeconds(1);
+
+        private int batchSize = 500;
+
+        private Duration retention = Duration.ofDays(7);
+    }
+}
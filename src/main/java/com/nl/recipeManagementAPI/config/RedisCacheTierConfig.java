@@ -0,0 +1,42 @@
+package com.nl.recipeManagementAPI.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nl.recipeManagementAPI.cache.RedisSharedCacheTier;
+import com.nl.recipeManagementAPI.cache.SharedCacheTier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RedisCacheTierConfig
+ * Shares the cached recipes and search results between the nodes through redis when
+ * recipe-management.cache.shared-tier is redis. The connection is configured with the spring.data.redis properties,
+ * the redis auto-configuration is left out of the application otherwise so that no connection is attempted.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "recipe-management.cache", name = "shared-tier", havingValue = "redis")
+@Import(RedisAutoConfiguration.class)
+public class RedisCacheTierConfig {
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer listenerContainer = new RedisMessageListenerContainer();
+        listenerContainer.setConnectionFactory(connectionFactory);
+        return listenerContainer;
+    }
+
+    @Bean
+    public SharedCacheTier sharedCacheTier(RedisConnectionFactory connectionFactory, StringRedisTemplate stringRedisTemplate,
+                                           RedisMessageListenerContainer cacheInvalidationListenerContainer,
+                                           ObjectMapper objectMapper, RecipeManagementProperties recipeManagementProperties) {
+        return new RedisSharedCacheTier(connectionFactory, stringRedisTemplate, cacheInvalidationListenerContainer,
+                objectMapper, recipeManagementProperties.getCache().getTimeToLive());
+    }
+}
@@ -0,0 +1,84 @@
+package com.nl.recipeManagementAPI.config;
+
+import com.nl.recipeManagementAPI.datasource.ReadYourWrites;
+import com.nl.recipeManagementAPI.datasource.ReadYourWritesFilter;
+import com.nl.recipeManagementAPI.datasource.ReplicaRoutingDataSource;
+import com.nl.recipeManagementAPI.enums.DataSourceRole;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type ReplicaDataSourceConfig
+ * Routes the read only transactions to a read replica when recipe-management.replica.enabled is set. The primary pool
+ * is configured with the spring.datasource properties as before and the replica pool with the
+ * recipe-management.replica properties, the data source used by hibernate, flyway and the jdbc templates picks one
+ * of them for every transaction, see {@link ReplicaRoutingDataSource} and {@link ReadYourWrites}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "recipe-management.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("recipe-management.replica.hikari")
+    public HikariDataSource replicaDataSource(RecipeManagementProperties recipeManagementProperties) {
+        RecipeManagementProperties.Replica replica = recipeManagementProperties.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(RecipeManagementProperties recipeManagementProperties) {
+        return new ReadYourWrites(recipeManagementProperties.getReplica().getReadYourWritesWindow());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWrites readYourWrites) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(readYourWrites);
+        routingDataSource.setTargetDataSources(Map.of(
+                DataSourceRole.PRIMARY, primaryDataSource,
+                DataSourceRole.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadYourWrites readYourWrites) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(readYourWrites));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
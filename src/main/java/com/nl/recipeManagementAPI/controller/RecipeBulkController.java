@@ -0,0 +1,60 @@
+package com.nl.recipeManagementAPI.controller;
+
+import com.nl.recipeManagementAPI.model.RecipeBulkRequest;
+import com.nl.recipeManagementAPI.model.RecipeBulkResult;
+import com.nl.recipeManagementAPI.service.RecipeBulkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * @author Firoz
+ * @version 0.0.1
+ * <p>
+ * Type RecipeBulkController
+ * Exposes the end points to update and delete recipes in bulk
+ */
+@RestController
+@RequiredArgsConstructor
+public class RecipeBulkController {
+
+    private final RecipeBulkService recipeBulkService;
+
+    /**
+     * Sets the category and the servings of the recipes of the ids or of the filter.
+     *
+     * @param recipeBulkRequest the recipes and the values to set
+     * @return A {@link ResponseEntity} containing the summary of the update.
+     */
+    @Operation(summary = "Update Recipes in bulk", description = "Sets the category and/or the servings of the recipes " +
+            "of the ids, or of all the recipes matching the filter when there are no ids. A filter without criteria " +
+            "updates no recipe.")
+    @ApiResponse(responseCode = "200", description = "Recipes updated, the summary contains the counts and the missing and failed ids",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeBulkResult.class)))
+    @PostMapping(path = "/recipes/bulk-update", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<RecipeBulkResult> updateRecipes(@Valid @RequestBody final RecipeBulkRequest recipeBulkRequest) {
+        return ResponseEntity.ok(recipeBulkService.updateRecipes(recipeBulkRequest));
+    }
+
+    /**
+     * Deletes the recipes of the ids or of the filter.
+     *
+     * @param recipeBulkRequest the recipes to delete
+     * @return A {@link ResponseEntity} containing the summary of the delete.
+     */
+    @Operation(summary = "Delete Recipes in bulk", description = "Deletes the recipes of the ids, or all the recipes " +
+            "matching the filter when there are no ids. A filter without criteria deletes no recipe.")
+    @ApiResponse(responseCode = "200", description = "Recipes deleted, the summary contains the counts and the missing and failed ids",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeBulkResult.class)))
+    @PostMapping(path = "/recipes/bulk-delete", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<RecipeBulkResult> deleteRecipes(@Valid @RequestBody final RecipeBulkRequest recipeBulkRequest) {
+        return ResponseEntity.ok(recipeBulkService.deleteRecipes(recipeBulkRequest));
+    }
+}
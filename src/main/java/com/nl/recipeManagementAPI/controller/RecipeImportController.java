@@ -0,0 +1,54 @@
+package com.nl.recipeManagementAPI.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeImportReport;
+import com.nl.recipeManagementAPI.service.RecipeImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author Firoz
+ * @version 0.0.1
+ * <p>
+ * Type RecipeImportController
+ * Exposes the end point to import recipes in bulk
+ */
+@RestController
+@RequiredArgsConstructor
+public class RecipeImportController {
+
+    private final RecipeImportService recipeImportService;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Imports the recipes of a json array or of newline delimited json, the content is read recipe by recipe while
+     * the recipes are imported so the upload is never held in memory as a whole.
+     *
+     * @param content the uploaded recipes
+     * @return A {@link ResponseEntity} containing the outcome of each recipe.
+     */
+    @Operation(summary = "Import Recipes", description = "Creates the recipes of a json array or of newline delimited json in bulk. " +
+            "Recipes that are invalid or whose name already exists are skipped and reported, the rest are created.")
+    @ApiResponse(responseCode = "200", description = "Recipes imported, the report contains the outcome of each recipe",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeImportReport.class)))
+    @PostMapping(path = "/recipes/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = "application/json")
+    public ResponseEntity<RecipeImportReport> importRecipes(final InputStream content) throws IOException {
+        try (MappingIterator<RecipeDetails> recipes = objectMapper.readerFor(RecipeDetails.class).readValues(content)) {
+            return ResponseEntity.ok(recipeImportService.importRecipes(recipes));
+        }
+    }
+}
@@ -1,28 +1,53 @@
 package com.nl.recipeManagementAPI.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nl.recipeManagementAPI.config.ContentNegotiationConfig;
+import com.nl.recipeManagementAPI.exception.RecipeVersionMismatchException;
+import com.nl.recipeManagementAPI.model.RecipeBatchRequest;
+import com.nl.recipeManagementAPI.model.RecipeBatchResult;
+import com.nl.recipeManagementAPI.model.RecipeChangeDetails;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
 import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipePage;
+import com.nl.recipeManagementAPI.model.RecipeVersion;
 import com.nl.recipeManagementAPI.service.RecipeManagementService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * @author Firoz
@@ -35,8 +60,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class RecipeManagementController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RecipeManagementService recipeManagementService;
 
+    private final ObjectMapper objectMapper;
+
     /**
      * Creates a new recipe.
      *
@@ -59,34 +88,116 @@ public class RecipeManagementController {
      * @param newRecipeDetails The updated recipe details.
      * @return A {@link ResponseEntity} containing the updated Recipe.
      */
-    @Operation(summary = "Update a Recipe", description = "Updates an existing Recipe details.")
+    @Operation(summary = "Update a Recipe", description = "Updates an existing Recipe details. With an If-Match header " +
+            "holding the ETag of the recipe the update is only applied if the recipe was not changed since.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Recipe updated successfully"),
-            @ApiResponse(responseCode = "404", description = "Recipe not found")
+            @ApiResponse(responseCode = "404", description = "Recipe not found"),
+            @ApiResponse(responseCode = "409", description = "Recipe updated concurrently"),
+            @ApiResponse(responseCode = "412", description = "Recipe changed since the If-Match ETag")
     })
     @PutMapping(path = "/recipe/{id}", consumes = "application/json", produces = "application/json")
-    public ResponseEntity<RecipeDetails> updateRecipe(@NotNull(message = "RecipeId is missing") @PathVariable("id") Long id, @Valid @RequestBody final RecipeDetails newRecipeDetails) {
-        RecipeDetails recipeDetails = recipeManagementService.updateRecipe(id, newRecipeDetails);
+    public ResponseEntity<RecipeDetails> updateRecipe(@NotNull(message = "RecipeId is missing") @PathVariable("id") Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
+                                                      @Valid @RequestBody final RecipeDetails newRecipeDetails) {
+        RecipeDetails recipeDetails = recipeManagementService.updateRecipe(id, newRecipeDetails, expectedVersion(id, ifMatch));
         return new ResponseEntity<>(recipeDetails, HttpStatus.OK);
     }
 
     /**
-     * Retrieves a list of all available Recipes.
+     * Retrieves a page of the available Recipes ordered by id.
+     * The id to continue from is returned in the X-Next-Cursor header, which is absent on the last page.
+     * The ETag of the page is computed from the ids and versions of its recipes. With If-None-Match the versions are
+     * read first, when they match it the recipes are not loaded and 304 is returned. The ETag returned is always the one
+     * of the recipes returned, so that a change made in between cannot pair it with another page. The page has no
+     * Last-Modified, a deleted recipe would not change it.
      *
+     * @param afterId  the cursor returned by the previous page, absent for the first page.
+     * @param pageSize the number of recipes in a page, defaults to the configured page size.
+     * @param fields   the comma separated properties of the recipes to return, all of them when absent.
      * @return A {@link ResponseEntity} containing a list of Recipes.
      */
-    @Operation(summary = "Get all Recipes", description = "Retrieves all available recipes in the system.")
+    @Operation(summary = "Get all Recipes", description = "Retrieves the available recipes in the system page by page, " +
+            "pass the X-Next-Cursor response header as afterId to fetch the next page. The properties of the recipes can be " +
+            "limited with fields, for example fields=id,recipeName.")
     @ApiResponse(responseCode = "200", description = "Recipes retrieved successfully",
+            headers = @Header(name = NEXT_CURSOR_HEADER, description = "The afterId of the next page, absent on the last page"),
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDetails.class)))
-    @GetMapping(path = "/recipes", produces = "application/json")
-    public ResponseEntity<List<RecipeDetails>> getAllRecipes() {
-        List<RecipeDetails> recipes = recipeManagementService.getAllRecipes();
-        return new ResponseEntity<>(recipes, HttpStatus.OK);
+    @GetMapping(path = "/recipes", produces = {"application/json", ContentNegotiationConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<MappingJacksonValue> getAllRecipes(@RequestParam(name = "afterId", required = false) final Long afterId,
+                                                             @RequestParam(name = "pageSize", required = false) final Integer pageSize,
+                                                             @RequestParam(name = "fields", required = false) final String fields,
+                                                             final HttpServletRequest request) {
+        if (null != request.getHeader(HttpHeaders.IF_NONE_MATCH)) {
+            String currentETag = pageETag(recipeManagementService.getPageVersions(afterId, pageSize), fields);
+            if (notModified(request, currentETag, -1)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentETag).varyBy(HttpHeaders.ACCEPT).build();
+            }
+        }
+        RecipePage recipePage = recipeManagementService.getAllRecipes(afterId, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(pageETag(recipePage.getRecipes().stream().map(RecipeManagementController::recipeVersion).toList(), fields))
+                .varyBy(HttpHeaders.ACCEPT);
+        if (null != recipePage.getNextCursor()) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(recipePage.getNextCursor()));
+        }
+        return response.body(ContentNegotiationConfig.recipeFields(recipePage.getRecipes(), fields));
+    }
+
+    /**
+     * Streams all the available Recipes as newline delimited json, one recipe per line as it is read from the database.
+     *
+     * @return A {@link ResponseEntity} streaming all the Recipes.
+     */
+    @Operation(summary = "Stream all Recipes", description = "Streams all the recipes in the system as newline delimited json.")
+    @ApiResponse(responseCode = "200", description = "Recipes streamed successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = RecipeDetails.class)))
+    @GetMapping(path = "/recipes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllRecipes() {
+        ObjectWriter recipeWriter = objectMapper.writerFor(RecipeDetails.class);
+        StreamingResponseBody responseBody = outputStream ->
+                recipeManagementService.streamAllRecipes(recipeDetails -> {
+                    try {
+                        outputStream.write(recipeWriter.writeValueAsBytes(recipeDetails));
+                        outputStream.write('\n');
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(responseBody);
+    }
+
+    /**
+     * Retrieves the changes of the recipes published after the given position of the change feed, oldest first.
+     * The position to continue from is returned in the X-Next-Cursor header, it stays the given position while there
+     * are no new changes, so a consumer keeps polling with it.
+     *
+     * @param since    the X-Next-Cursor of the previous changes, absent to start from the oldest retained change.
+     * @param pageSize the maximum number of changes, defaults to the configured page size.
+     * @return A {@link ResponseEntity} containing the changes.
+     */
+    @Operation(summary = "Get the changes of the Recipes", description = "Retrieves the recipes created, updated and " +
+            "deleted after the since position of the change feed in the order they were published, pass the X-Next-Cursor " +
+            "response header as since to fetch the next changes.")
+    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+            headers = @Header(name = NEXT_CURSOR_HEADER, description = "The since of the next changes"),
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeChangeDetails.class)))
+    @GetMapping(path = "/recipes/changes", produces = "application/json")
+    public ResponseEntity<List<RecipeChangeDetails>> getChanges(@RequestParam(name = "since", required = false) final Long since,
+                                                                @RequestParam(name = "pageSize", required = false) final Integer pageSize) {
+        List<RecipeChangeDetails> changes = recipeManagementService.getChanges(since, pageSize);
+        long nextCursor = changes.isEmpty() ? Optional.ofNullable(since).orElse(0L) : changes.get(changes.size() - 1).getPosition();
+        return ResponseEntity.ok().header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor)).body(changes);
     }
 
     /**
      * Retrieves a recipe by their unique name.
      *
+     * The recipe is returned with its ETag and Last-Modified. With If-None-Match or If-Modified-Since the version of
+     * the recipe is read first, when it matches them 304 is returned without loading the recipe. The ETag and
+     * Last-Modified of a returned recipe are the ones of the returned recipe, which may come from the cache, so that a
+     * client never keeps a recipe under the ETag of another version.
+     *
      * @param recipeName The unique name of the recipe to retrieve.
      * @return A {@link ResponseEntity} containing the recipe if found, or a 404 response if not found.
      */
@@ -94,11 +205,46 @@ public class RecipeManagementController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Recipe found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDetails.class))),
+            @ApiResponse(responseCode = "304", description = "Recipe not modified"),
             @ApiResponse(responseCode = "404", description = "Recipe not found")
     })
     @GetMapping(path = "/recipe/{recipeName}", produces = "application/json")
-    public ResponseEntity<RecipeDetails> getRecipe(@NotBlank @PathVariable("recipeName") final String recipeName) {
-        return new ResponseEntity<>(recipeManagementService.getRecipe(recipeName), HttpStatus.OK);
+    public ResponseEntity<RecipeDetails> getRecipe(@NotBlank @PathVariable("recipeName") final String recipeName,
+                                                   final HttpServletRequest request) {
+        if (null != request.getHeader(HttpHeaders.IF_NONE_MATCH) || null != request.getHeader(HttpHeaders.IF_MODIFIED_SINCE)) {
+            RecipeVersion currentVersion = recipeManagementService.getRecipeVersion(recipeName);
+            if (notModified(request, recipeETag(currentVersion), lastModified(currentVersion))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(recipeETag(currentVersion))
+                        .lastModified(lastModified(currentVersion))
+                        .build();
+            }
+        }
+        RecipeDetails recipeDetails = recipeManagementService.getRecipe(recipeName);
+        RecipeVersion recipeVersion = recipeVersion(recipeDetails);
+        return ResponseEntity.ok()
+                .eTag(recipeETag(recipeVersion))
+                .lastModified(lastModified(recipeVersion))
+                .body(recipeDetails);
+    }
+
+    /**
+     * Retrieves the recipes of the given ids and names in one request, instead of one request per recipe.
+     *
+     * @param recipeBatchRequest the ids and the names of the recipes to retrieve.
+     * @return A {@link ResponseEntity} containing the recipes found and the ids and names not found.
+     */
+    @Operation(summary = "Get Recipes by ids and names", description = "Retrieves the recipes of the given ids and names " +
+            "at once, along with the ids and names no recipe was found for. At most " + RecipeBatchRequest.MAX_KEYS +
+            " ids and " + RecipeBatchRequest.MAX_KEYS + " names can be looked up at once.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Recipes retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeBatchResult.class))),
+            @ApiResponse(responseCode = "400", description = "Too many ids or names")
+    })
+    @PostMapping(path = "/recipes/batch", consumes = "application/json", produces = "application/json")
+    public ResponseEntity<RecipeBatchResult> getRecipes(@Valid @RequestBody final RecipeBatchRequest recipeBatchRequest) {
+        return ResponseEntity.ok(recipeManagementService.getRecipes(recipeBatchRequest));
     }
 
     /**
@@ -115,13 +261,67 @@ public class RecipeManagementController {
         return new ResponseEntity<>("Recipe deleted successfully", HttpStatus.NO_CONTENT);
     }
 
-    @Operation(summary = "Search for recipes based on criteria recipe", description = "Search can be combination of servings,category,includesIngredient,excludesIngredient" +
-            "Allowed Categories: VEGETARIAN,NON_VEGETARIAN,VEGAN")
+    @Operation(summary = "Search for recipes based on criteria recipe", description = "Search can be combination of servings,category,includesIngredient,excludesIngredient," +
+            "requiredIngredients,optionalIngredients,forbiddenIngredients. Results are ranked by the number of optional ingredients " +
+            "matched and paginated with page and pageSize. The properties of the recipes can be limited with fields, for example " +
+            "fields=id,recipeName. Allowed Categories: VEGETARIAN,NON_VEGETARIAN,VEGAN")
     @ApiResponse(responseCode = "200", description = "Recipes retrieved successfully based on the criteria",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = RecipeDetails.class)))
-    @PostMapping(path = "/recipe/search", produces = "application/json")
-    public ResponseEntity<List<RecipeDetails>> filterRecipes(@RequestBody @Valid final RecipeFilterRequest recipeFilterRequest) {
+    @PostMapping(path = "/recipe/search", produces = {"application/json", ContentNegotiationConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<MappingJacksonValue> filterRecipes(@RequestBody @Valid final RecipeFilterRequest recipeFilterRequest,
+                                                             @RequestParam(name = "fields", required = false) final String fields) {
         List<RecipeDetails> recipes = recipeManagementService.filterRecipes(recipeFilterRequest);
-        return new ResponseEntity<>(recipes, HttpStatus.OK);
+        return new ResponseEntity<>(ContentNegotiationConfig.recipeFields(recipes, fields), HttpStatus.OK);
+    }
+
+    private static RecipeVersion recipeVersion(RecipeDetails recipeDetails) {
+        return new RecipeVersion(recipeDetails.getId(), recipeDetails.getVersion(), recipeDetails.getLastModified());
+    }
+
+    private static String recipeETag(RecipeVersion recipeVersion) {
+        return "\"" + recipeVersion.getId() + "-" + recipeVersion.getVersion() + "\"";
+    }
+
+    private static long lastModified(RecipeVersion recipeVersion) {
+        return null == recipeVersion.getLastModified() ? -1 : recipeVersion.getLastModified().toEpochMilli();
+    }
+
+    /**
+     * Whether the validators of the request match the given ones. They are checked on the request alone, with the
+     * response they would be written into it even when they do not match, ahead of the ones of the body returned.
+     */
+    private static boolean notModified(HttpServletRequest request, String eTag, long lastModified) {
+        return new ServletWebRequest(request).checkNotModified(eTag, lastModified);
+    }
+
+    /**
+     * A weak ETag of the page in the selected fields, the page is the same in json, smile or compressed and the server
+     * does not compress responses with a strong ETag.
+     */
+    private static String pageETag(List<RecipeVersion> recipeVersions, String fields) {
+        StringBuilder versions = new StringBuilder(Objects.toString(fields, "")).append(';');
+        recipeVersions.forEach(recipeVersion -> versions.append(recipeVersion.getId()).append(':')
+                .append(recipeVersion.getVersion()).append(','));
+        return "W/\"" + DigestUtils.md5DigestAsHex(versions.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * The version of the recipe in the If-Match ETag, null when the header is absent or *. An ETag of another recipe
+     * or an unknown format can never match and is rejected.
+     */
+    private static Long expectedVersion(Long id, String ifMatch) {
+        if (StringUtils.isBlank(ifMatch) || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = StringUtils.removeStart(ifMatch.trim(), "W/");
+        String prefix = "\"" + id + "-";
+        if (eTag.startsWith(prefix) && eTag.endsWith("\"") && eTag.length() > prefix.length() + 1) {
+            try {
+                return Long.valueOf(eTag.substring(prefix.length(), eTag.length() - 1));
+            } catch (NumberFormatException exception) {
+                // not a recipe ETag
+            }
+        }
+        throw new RecipeVersionMismatchException("Recipe " + id + " does not match " + ifMatch);
     }
 }
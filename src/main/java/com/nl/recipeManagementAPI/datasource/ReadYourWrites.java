@@ -0,0 +1,104 @@
+package com.nl.recipeManagementAPI.datasource;
+
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type ReadYourWrites
+ * Keeps the reads of a client on the primary for a short window after its own write, so that it does not read the
+ * state the replica had before the write while the replica is lagging behind. A committed change of a recipe pins
+ * the current thread to the primary and stamps the response with the time of the write in the
+ * {@link #LAST_WRITE_COOKIE} cookie, the later requests carrying a cookie younger than the window are pinned to the
+ * primary by the {@link ReadYourWritesFilter}. The writes made outside a request, like the bulk import, are not
+ * tracked.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReadYourWrites {
+
+    public static final String LAST_WRITE_COOKIE = "recipe-last-write";
+
+    private final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+
+    private final Duration window;
+
+    public boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(pinned.get());
+    }
+
+    public void pinToPrimary() {
+        pinned.set(Boolean.TRUE);
+    }
+
+    public void release() {
+        pinned.remove();
+    }
+
+    /**
+     * Runs the call pinned to the primary and restores the pinning of the thread afterwards. A transaction that already
+     * read from the replica keeps its connection, the call has to make the first statement of its transaction.
+     */
+    public <T> T onPrimary(Supplier<T> call) {
+        if (isPinnedToPrimary()) {
+            return call.get();
+        }
+        pinToPrimary();
+        try {
+            return call.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * @param lastWrite the value of the {@link #LAST_WRITE_COOKIE} cookie, the epoch millis of the last write
+     * @return whether the last write of the client is younger than the window, false when the value is not a time
+     */
+    public boolean isWithinWindow(String lastWrite) {
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(lastWrite)).plus(window).isAfter(Instant.now());
+        } catch (NumberFormatException e) {
+            log.debug("Ignore the malformed last write {}", lastWrite);
+            return false;
+        }
+    }
+
+    /**
+     * Pins the request of the committed change to the primary for the rest of the request and stamps its response.
+     * The threads outside a request are never pinned, nothing would release them.
+     *
+     * @param recipeChangedEvent the change made to a recipe
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent recipeChangedEvent) {
+        Optional.ofNullable(RequestContextHolder.getRequestAttributes())
+                .filter(ServletRequestAttributes.class::isInstance)
+                .map(requestAttributes -> ((ServletRequestAttributes) requestAttributes).getResponse())
+                .ifPresent(this::stampLastWrite);
+    }
+
+    private void stampLastWrite(HttpServletResponse response) {
+        pinToPrimary();
+        if (response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, String.valueOf(Instant.now().toEpochMilli()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        response.addCookie(cookie);
+    }
+}
@@ -0,0 +1,39 @@
+package com.nl.recipeManagementAPI.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type ReadYourWritesFilter
+ * Pins the requests of a client that wrote within the read your writes window to the primary, see
+ * {@link ReadYourWrites}. The pin is released when the request thread is done, the streamed responses written on
+ * another thread read from the replica.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Optional.ofNullable(WebUtils.getCookie(request, ReadYourWrites.LAST_WRITE_COOKIE))
+                .filter(cookie -> readYourWrites.isWithinWindow(cookie.getValue()))
+                .ifPresent(cookie -> readYourWrites.pinToPrimary());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.release();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.nl.recipeManagementAPI.datasource;
+
+import com.nl.recipeManagementAPI.enums.DataSourceRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type ReplicaRoutingDataSource
+ * Hands out the connections of the replica to the read only transactions and the connections of the primary to the
+ * writes, to the statements outside a transaction and to the threads pinned to the primary by {@link ReadYourWrites}.
+ * The transaction is only known to be read only once it has begun, so the routing data source has to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} that fetches the connection on the first
+ * statement.
+ */
+@RequiredArgsConstructor
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReadYourWrites readYourWrites;
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWrites.isPinnedToPrimary()) {
+            return DataSourceRole.REPLICA;
+        }
+        return DataSourceRole.PRIMARY;
+    }
+}
@@ -1,15 +1,20 @@
 package com.nl.recipeManagementAPI.entity;
 
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
  * Type Ingredient
+ * <p>
+ * An entry of the ingredient catalog, shared by all the recipes using it and unique by its normalized name.
  */
 @Entity
 @Data
@@ -18,8 +23,17 @@ import lombok.NoArgsConstructor;
 public class Ingredient {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ingredient_seq")
+    @SequenceGenerator(name = "ingredient_seq", sequenceName = "ingredient_seq", allocationSize = 50)
     private Long id;
 
+    @Column(nullable = false, unique = true)
     private String name;
+
+    /**
+     * The name under which an ingredient is kept in the catalog and searched for, trimmed and in lower case.
+     */
+    public static String normalizeName(String name) {
+        return name.trim().toLowerCase();
+    }
 }
@@ -1,36 +1,58 @@
 package com.nl.recipeManagementAPI.entity;
 
 import com.nl.recipeManagementAPI.enums.Category;
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Instant;
 import java.util.Set;
 
 /**
  * Type Recipe
  * <p>
- * Represents the recipe
+ * Represents the recipe, the ingredients are entries of the shared ingredient catalog and are not cascaded.
+ * The version is incremented on every change of the recipe or of its ingredients, it serves as the ETag of the recipe
+ * and for the optimistic locking of the updates. The existing rows start at version 0.
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Recipe.NAME_CONSTRAINT, columnNames = "recipeName"))
 @Data
 @NoArgsConstructor
 public class Recipe {
 
+    /**
+     * The unique constraint of the recipe names, named as PostgreSQL names the constraint of V1.
+     */
+    public static final String NAME_CONSTRAINT = "recipe_recipe_name_key";
+
+    /**
+     * The unique index of the recipe names regardless of their case, created by the migrations only.
+     */
+    public static final String NAME_LOWER_INDEX = "recipe_name_lower_idx";
+
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
+    @SequenceGenerator(name = "recipe_seq", sequenceName = "recipe_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String recipeName;
 
 
@@ -43,11 +65,24 @@ public class Recipe {
 
     private int servings;
 
-    @ManyToMany(cascade = CascadeType.ALL)
+    @ManyToMany
     @JoinTable(
             name = "recipe_ingredient",
             joinColumns = @JoinColumn(name = "recipe_id"),
             inverseJoinColumns = @JoinColumn(name = "ingredient_id")
     )
     private Set<Ingredient> ingredients;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    private Instant lastModified;
+
+    @PrePersist
+    @PreUpdate
+    void updateLastModified() {
+        lastModified = Instant.now();
+    }
 }
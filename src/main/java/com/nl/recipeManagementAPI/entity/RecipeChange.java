@@ -0,0 +1,58 @@
+package com.nl.recipeManagementAPI.entity;
+
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.Length;
+
+import java.time.Instant;
+
+/**
+ * Type RecipeChange
+ * <p>
+ * An entry of the outbox of the recipe changes, written in the transaction of the change. The entry gets its position
+ * in the change feed once it is published, the positions follow the order in which the changes were published, so a
+ * consumer reading the feed after a position never misses a change committed later with a smaller id.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+public class RecipeChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_change_seq")
+    @SequenceGenerator(name = "recipe_change_seq", sequenceName = "recipe_change_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(unique = true)
+    private Long position;
+
+    @Column(nullable = false)
+    private Long recipeId;
+
+    @Column(nullable = false)
+    private String recipeName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RecipeChangeType changeType;
+
+    /**
+     * The json of the recipe after the change, null when it was deleted.
+     */
+    @Column(length = Length.LONG32)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    private Instant publishedAt;
+}
@@ -0,0 +1,9 @@
+package com.nl.recipeManagementAPI.enums;
+
+/**
+ * The databases a connection can be routed to.
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
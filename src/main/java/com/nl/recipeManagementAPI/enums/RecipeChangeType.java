@@ -0,0 +1,10 @@
+package com.nl.recipeManagementAPI.enums;
+
+/**
+ * The kinds of changes made to a recipe.
+ */
+public enum RecipeChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,11 @@
+package com.nl.recipeManagementAPI.enums;
+
+/**
+ * The outcome of importing a single recipe.
+ */
+public enum RecipeImportStatus {
+    CREATED,
+    CONFLICT,
+    INVALID,
+    FAILED
+}
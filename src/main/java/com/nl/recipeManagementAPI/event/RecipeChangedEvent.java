@@ -0,0 +1,27 @@
+package com.nl.recipeManagementAPI.event;
+
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeChangedEvent
+ * Published by the service whenever a recipe is created, updated or deleted.
+ * Carries the state of the recipe before the change (null when created) and after the change (null when deleted),
+ * so that listeners can tell which categories and ingredients were touched.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RecipeChangedEvent {
+
+    private final RecipeChangeType changeType;
+
+    private final RecipeDetails previousRecipe;
+
+    private final RecipeDetails recipe;
+}
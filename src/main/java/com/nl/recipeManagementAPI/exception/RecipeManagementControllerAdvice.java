@@ -2,6 +2,7 @@ package com.nl.recipeManagementAPI.exception;
 
 import com.nl.recipeManagementAPI.model.ErrorDetails;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -23,8 +24,11 @@ import java.time.LocalDateTime;
  *     <li>MethodArgumentNotValidException - Handles validation errors</li>
  *     <li>RecipeExistsException - Handles the creation of an existing recipe</li>
  *     <li>RecipeNotFoundException - Handles missing resources</li>
+ *     <li>RecipeVersionMismatchException - Handles an update of a recipe changed since the If-Match ETag</li>
+ *     <li>ObjectOptimisticLockingFailureException - Handles concurrent updates of the same recipe</li>
  *     <li>Generic Exception - Catches all unhandled exceptions</li>
  * </ul>
+ * The client errors are logged at warn with their message only, the stack trace is logged for unhandled exceptions.
  *
  * @author Firoz
  * @version 0.0.1
@@ -38,19 +42,34 @@ public class RecipeManagementControllerAdvice {
     @ExceptionHandler(RecipeNotFoundException.class)
     public ResponseEntity<ErrorDetails> handleRecipeNotFoundException(RecipeNotFoundException exception,
                                                                       WebRequest webRequest) {
-        log.error(EXCEPTION_OCCURRED, exception.getMessage(), exception);
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
         return new ResponseEntity<>(getErrorDetails(exception.getMessage(), webRequest), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(RecipeExistsException.class)
     public ResponseEntity<ErrorDetails> handleRecipeExistsException(RecipeExistsException exception, WebRequest webRequest) {
-        log.error(EXCEPTION_OCCURRED, exception.getMessage(), exception);
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
         return new ResponseEntity<>(getErrorDetails(exception.getMessage(), webRequest), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(RecipeVersionMismatchException.class)
+    public ResponseEntity<ErrorDetails> handleRecipeVersionMismatchException(RecipeVersionMismatchException exception,
+                                                                             WebRequest webRequest) {
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
+        return new ResponseEntity<>(getErrorDetails(exception.getMessage(), webRequest), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorDetails> handleOptimisticLockingFailureException(ObjectOptimisticLockingFailureException exception,
+                                                                                WebRequest webRequest) {
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
+        return new ResponseEntity<>(getErrorDetails("Recipe was updated concurrently, retry with its latest version", webRequest),
+                HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorDetails> handleGlobalException(MethodArgumentNotValidException exception, WebRequest webRequest) {
-        log.error(EXCEPTION_OCCURRED, exception.getMessage(), exception);
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
         return ResponseEntity.badRequest().body(getErrorDetails(exception.getMessage(), webRequest));
     }
 
@@ -0,0 +1,14 @@
+package com.nl.recipeManagementAPI.exception;
+
+/**
+ * @author Firoz
+ *
+ * Type RecipeVersionMismatchException
+ *
+ * thrown when a recipe is updated with an If-Match version that is not the current version of the recipe.
+ */
+public class RecipeVersionMismatchException extends RuntimeException {
+    public RecipeVersionMismatchException(String message){
+        super(message);
+    }
+}
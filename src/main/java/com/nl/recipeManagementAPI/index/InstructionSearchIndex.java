@@ -0,0 +1,190 @@
+package com.nl.recipeManagementAPI.index;
+
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type InstructionSearchIndex
+ * Full-text search on the recipe instructions for the databases without one.
+ * On PostgreSQL the instructions are searched with the GIN indexed tsvector of the database, see
+ * {@link com.nl.recipeManagementAPI.repository.FullTextFunctionContributor}. On any other database this index keeps an
+ * embedded inverted index of the instruction tokens to their recipes, built once the application is ready and
+ * maintained from the {@link RecipeChangedEvent}s after their transaction commits.
+ * Every word of a query must match the prefix of a token of the instructions, the recipes are scored by how often and
+ * how rarely the matched tokens occur.
+ */
+@Slf4j
+@Component
+public class InstructionSearchIndex {
+
+    private final EntityManager entityManager;
+
+    private final boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Map<Long, Integer>> recipesByToken = new TreeMap<>();
+
+    private final Set<Long> indexedRecipes = new HashSet<>();
+
+    public InstructionSearchIndex(EntityManager entityManager, EntityManagerFactory entityManagerFactory) {
+        this.entityManager = entityManager;
+        this.enabled = !(entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                instanceof PostgreSQLDialect);
+    }
+
+    /**
+     * Splits a text into its lower case words.
+     *
+     * @param text the text to split
+     * @return the words of the text in order
+     */
+    public static List<String> tokenize(String text) {
+        if (null == text) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /**
+     * @return true when the instructions are searched with this index instead of the database.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads the instructions of all the recipes into the index, from the primary like {@link RecipeSearchIndex#build()}.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try (Stream<Object[]> rows = entityManager.createQuery("select r.id, r.instructions from Recipe r", Object[].class)
+                .getResultStream()) {
+            rows.forEach(row -> add((Long) row[0], (String) row[1]));
+            log.info("Instruction search index built with {} recipes and {} tokens", indexedRecipes.size(), recipesByToken.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change of a recipe to the index, before the cached searches are evicted.
+     *
+     * @param recipeChangedEvent the change made to the recipe
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent recipeChangedEvent) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Optional.ofNullable(recipeChangedEvent.getPreviousRecipe())
+                    .ifPresent(recipe -> remove(recipe.getId(), recipe.getInstructions()));
+            Optional.ofNullable(recipeChangedEvent.getRecipe())
+                    .ifPresent(recipe -> add(recipe.getId(), recipe.getInstructions()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scores the recipes whose instructions contain a token starting with every word of the query.
+     *
+     * @param query the words to search for
+     * @return the relevance of every matching recipe by recipe id
+     */
+    public Map<Long, Double> search(String query) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return Map.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String term : terms) {
+                Map<Long, Double> termScores = scoreTerm(term);
+                if (null == scores) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+            }
+            return scores;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sums the saturated term frequency weighted by the inverse document frequency of every token with the term as prefix.
+     */
+    private Map<Long, Double> scoreTerm(String term) {
+        Map<Long, Double> scores = new HashMap<>();
+        recipesByToken.subMap(term, true, term + Character.MAX_VALUE, false).values().forEach(recipes -> {
+            double inverseDocumentFrequency = Math.log(1 + (double) indexedRecipes.size() / recipes.size());
+            recipes.forEach((id, frequency) ->
+                    scores.merge(id, inverseDocumentFrequency * frequency / (frequency + 1.0), Double::sum));
+        });
+        return scores;
+    }
+
+    private void add(Long id, String instructions) {
+        indexedRecipes.add(id);
+        tokenize(instructions).stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.summingInt(token -> 1)))
+                .forEach((token, frequency) -> recipesByToken.computeIfAbsent(token, key -> new HashMap<>()).put(id, frequency));
+    }
+
+    private void remove(Long id, String instructions) {
+        indexedRecipes.remove(id);
+        new HashSet<>(tokenize(instructions)).forEach(token -> {
+            Map<Long, Integer> recipes = recipesByToken.get(token);
+            if (null != recipes) {
+                recipes.remove(id);
+                if (recipes.isEmpty()) {
+                    recipesByToken.remove(token);
+                }
+            }
+        });
+    }
+}
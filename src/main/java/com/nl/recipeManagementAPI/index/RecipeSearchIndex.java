@@ -0,0 +1,228 @@
+package com.nl.recipeManagementAPI.index;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeIngredientView;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import com.nl.recipeManagementAPI.repository.RecipeSearchSpecification;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeSearchIndex
+ * In-memory inverted index of the recipe ids by ingredient name, category and servings, kept in compressed bitmaps.
+ * When enabled, the index is built from the database once the application is ready and maintained from the
+ * {@link RecipeChangedEvent}s after their transaction commits. A search is answered with bitmap intersections and
+ * differences, the database is only queried afterwards to load the matching recipes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeSearchIndex {
+
+    private final RecipeManagementRepository recipeManagementRepository;
+
+    private final RecipeManagementProperties recipeManagementProperties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Roaring64Bitmap allRecipes = new Roaring64Bitmap();
+
+    private final Map<String, Roaring64Bitmap> recipesByIngredient = new HashMap<>();
+
+    private final Map<Category, Roaring64Bitmap> recipesByCategory = new EnumMap<>(Category.class);
+
+    private final Map<Integer, Roaring64Bitmap> recipesByServings = new HashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * Loads all the recipes into the index, the searches fall back to the database until the index is loaded.
+     * The recipes are read from the primary, the index is then only kept up to date by the committed changes, so it
+     * must not be built from a replica lagging behind them.
+     */
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!recipeManagementProperties.getSearchIndex().isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try (Stream<RecipeIngredientView> rows = recipeManagementRepository.streamRecipeIngredients()) {
+            rows.forEach(row -> add(row.getId(), row.getCategory(), row.getServings(), row.getIngredientName()));
+            ready = true;
+            log.info("Recipe search index built with {} recipes and {} ingredients", allRecipes.getLongCardinality(),
+                    recipesByIngredient.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed change of a recipe to the index, the previous state is removed and the new state is added.
+     * It runs before the {@link com.nl.recipeManagementAPI.cache.RecipeCacheInvalidator} evicts the cached searches,
+     * so that a search cached from the index before the change is applied is evicted as well.
+     *
+     * @param recipeChangedEvent the change made to the recipe
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent recipeChangedEvent) {
+        if (!recipeManagementProperties.getSearchIndex().isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Optional.ofNullable(recipeChangedEvent.getPreviousRecipe()).ifPresent(this::remove);
+            Optional.ofNullable(recipeChangedEvent.getRecipe()).ifPresent(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds a page of the ids of the recipes matching the filter, with the same semantics and ranking as
+     * {@link RecipeManagementRepository#findIds(RecipeFilterRequest, Pageable)}.
+     *
+     * @param recipeFilterRequest the search criteria
+     * @param pageable            the page of the results
+     * @return the matching ids in the order of their rank, or empty when the index is not ready or the filter searches
+     * the instructions
+     */
+    public Optional<List<Long>> findIds(RecipeFilterRequest recipeFilterRequest, Pageable pageable) {
+        if (!ready || isPresent(recipeFilterRequest.getInstruction()) || isPresent(recipeFilterRequest.getInstructionQuery())) {
+            return Optional.empty();
+        }
+        Set<String> requiredIngredients = RecipeSearchSpecification.requiredIngredients(recipeFilterRequest);
+        Set<String> optionalIngredients = RecipeSearchSpecification.optionalIngredients(recipeFilterRequest);
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap matches = allRecipes.clone();
+            if (null != recipeFilterRequest.getCategory()) {
+                matches.and(recipesByCategory.getOrDefault(recipeFilterRequest.getCategory(), new Roaring64Bitmap()));
+            }
+            if (null != recipeFilterRequest.getServings()) {
+                matches.and(recipesByServings.getOrDefault(recipeFilterRequest.getServings(), new Roaring64Bitmap()));
+            }
+            requiredIngredients.forEach(name -> matches.and(recipesWith(name)));
+            RecipeSearchSpecification.forbiddenIngredients(recipeFilterRequest).forEach(name -> matches.andNot(recipesWith(name)));
+            List<Roaring64Bitmap> optionalRecipes = optionalIngredients.stream().map(this::recipesWith).toList();
+            if (requiredIngredients.isEmpty() && !optionalRecipes.isEmpty()) {
+                Roaring64Bitmap anyOptional = new Roaring64Bitmap();
+                optionalRecipes.forEach(anyOptional::or);
+                matches.and(anyOptional);
+            }
+            return Optional.of(page(rank(matches, optionalRecipes), pageable));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void add(RecipeDetails recipeDetails) {
+        add(recipeDetails.getId(), recipeDetails.getCategory(), recipeDetails.getServings(), null);
+        if (null != recipeDetails.getIngredients()) {
+            recipeDetails.getIngredients().stream()
+                    .map(RecipeIngredient::getName)
+                    .forEach(name -> add(recipeDetails.getId(), null, null, name));
+        }
+    }
+
+    private void add(Long id, Category category, Integer servings, String ingredientName) {
+        allRecipes.addLong(id);
+        if (null != category) {
+            recipesByCategory.computeIfAbsent(category, key -> new Roaring64Bitmap()).addLong(id);
+        }
+        if (null != servings) {
+            recipesByServings.computeIfAbsent(servings, key -> new Roaring64Bitmap()).addLong(id);
+        }
+        if (null != ingredientName) {
+            recipesByIngredient.computeIfAbsent(ingredientName, key -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private void remove(RecipeDetails recipeDetails) {
+        long id = recipeDetails.getId();
+        allRecipes.removeLong(id);
+        removeFrom(recipesByCategory, recipeDetails.getCategory(), id);
+        removeFrom(recipesByServings, recipeDetails.getServings(), id);
+        if (null != recipeDetails.getIngredients()) {
+            recipeDetails.getIngredients()
+                    .forEach(ingredient -> removeFrom(recipesByIngredient, ingredient.getName(), id));
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Roaring64Bitmap> recipesByKey, K key, long id) {
+        Roaring64Bitmap recipes = null == key ? null : recipesByKey.get(key);
+        if (null != recipes) {
+            recipes.removeLong(id);
+            if (recipes.isEmpty()) {
+                recipesByKey.remove(key);
+            }
+        }
+    }
+
+    private Roaring64Bitmap recipesWith(String ingredientName) {
+        return recipesByIngredient.getOrDefault(ingredientName, new Roaring64Bitmap());
+    }
+
+    /**
+     * Orders the matching ids by the number of optional ingredients they contain, then by id.
+     */
+    private static List<Long> rank(Roaring64Bitmap matches, List<Roaring64Bitmap> optionalRecipes) {
+        List<Long> ids = new ArrayList<>((int) matches.getLongCardinality());
+        LongIterator iterator = matches.getLongIterator();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next());
+        }
+        if (!optionalRecipes.isEmpty()) {
+            Map<Long, Long> ranks = new HashMap<>();
+            ids.forEach(id -> ranks.put(id, optionalRecipes.stream().filter(recipes -> recipes.contains(id)).count()));
+            ids.sort(Comparator.<Long, Long>comparing(ranks::get, Comparator.reverseOrder()).thenComparing(Comparator.naturalOrder()));
+        }
+        return ids;
+    }
+
+    private static List<Long> page(List<Long> ids, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return ids;
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        return new ArrayList<>(ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size())));
+    }
+
+    private static boolean isPresent(String value) {
+        return null != value && !value.isEmpty();
+    }
+}
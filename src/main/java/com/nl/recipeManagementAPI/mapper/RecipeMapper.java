@@ -2,11 +2,16 @@ package com.nl.recipeManagementAPI.mapper;
 
 import com.nl.recipeManagementAPI.entity.Recipe;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeDetailsView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * @author Firoz
  *
@@ -19,7 +24,26 @@ public interface RecipeMapper {
     RecipeMapper INSTANCE = Mappers.getMapper(RecipeMapper.class);
 
     @Mapping(target = "recipeName", expression = "java(recipeDetails.getRecipeName().trim().toLowerCase())")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "lastModified", ignore = true)
     Recipe toRecipe(RecipeDetails recipeDetails);
 
     RecipeDetails fromRecipe(Recipe recipe);
+
+    /**
+     * Maps a projection read with its ingredients aggregated, the ingredient ids and names are at the same positions.
+     */
+    default RecipeDetails fromRecipeDetailsView(RecipeDetailsView recipeDetailsView) {
+        Set<RecipeIngredient> ingredients = new HashSet<>();
+        Long[] ingredientIds = recipeDetailsView.ingredientIds();
+        String[] ingredientNames = recipeDetailsView.ingredientNames();
+        for (int index = 0; null != ingredientIds && index < ingredientIds.length; index++) {
+            if (null != ingredientIds[index]) {
+                ingredients.add(new RecipeIngredient(ingredientIds[index], ingredientNames[index]));
+            }
+        }
+        return new RecipeDetails(recipeDetailsView.id(), recipeDetailsView.recipeName(), recipeDetailsView.category(),
+                recipeDetailsView.instructions(), recipeDetailsView.servings(), ingredients, recipeDetailsView.version(),
+                recipeDetailsView.lastModified());
+    }
 }
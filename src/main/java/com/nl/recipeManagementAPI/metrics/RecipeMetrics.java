@@ -0,0 +1,127 @@
+package com.nl.recipeManagementAPI.metrics;
+
+import com.nl.recipeManagementAPI.coalescing.SingleFlight;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.repository.RecipeSearchSpecification;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeMetrics
+ * Records the metrics of the recipe operations that depend on the request: the latency and the result size of the
+ * searches per combination of filters, the size of the pages and the number of SQL statements per request. The
+ * latency of every operation is timed with {@link #OPERATION_TIMER} on the service methods.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeMetrics {
+
+    public static final String OPERATION_TIMER = "recipe.operation";
+
+    public static final String SEARCH_TIMER = "recipe.search";
+
+    public static final String SEARCH_RESULTS = "recipe.search.results";
+
+    public static final String PAGE_RESULTS = "recipe.page.results";
+
+    public static final String REQUEST_STATEMENTS = "recipe.request.statements";
+
+    public static final String COALESCED_CALLS = "recipe.coalesced.calls";
+
+    public static final String NO_FILTERS = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Records the latency and the number of recipes found by a search, tagged with the filters it combined.
+     *
+     * @param filters the combination of filters of the search, see {@link #filters(RecipeFilterRequest)}
+     */
+    public void recordSearch(String filters, int results, long elapsedNanos) {
+        Timer.builder(SEARCH_TIMER)
+                .description("The latency of the recipe searches per combination of filters")
+                .tag("filters", filters)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder(SEARCH_RESULTS)
+                .description("The number of recipes found by the searches per combination of filters")
+                .tag("filters", filters)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(results);
+    }
+
+    public void recordPage(int results) {
+        DistributionSummary.builder(PAGE_RESULTS)
+                .description("The number of recipes in the pages of all the recipes")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(results);
+    }
+
+    /**
+     * @param method the http method of the request
+     * @param uri    the uri template the request was mapped to, which keeps the number of tags bounded
+     */
+    public void recordStatements(String method, String uri, int statements) {
+        DistributionSummary.builder(REQUEST_STATEMENTS)
+                .description("The number of SQL statements executed per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    /**
+     * Counts the calls of the operation that waited for the result of the same call instead of running it.
+     */
+    public void registerCoalescedCalls(String operation, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder(COALESCED_CALLS, singleFlight, SingleFlight::getCoalesced)
+                .description("The calls that waited for the result of the same call running instead of running it")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The filters set on the request in a fixed order joined with +, for example {@code category+requiredIngredients}.
+     * There are at most 2^7 combinations, so they can be used as a tag.
+     */
+    public static String filters(RecipeFilterRequest recipeFilterRequest) {
+        List<String> filters = new ArrayList<>();
+        if (null != recipeFilterRequest.getCategory()) {
+            filters.add("category");
+        }
+        if (null != recipeFilterRequest.getServings()) {
+            filters.add("servings");
+        }
+        if (StringUtils.isNotEmpty(recipeFilterRequest.getInstruction())) {
+            filters.add("instruction");
+        }
+        if (StringUtils.isNotBlank(recipeFilterRequest.getInstructionQuery())) {
+            filters.add("instructionQuery");
+        }
+        if (!RecipeSearchSpecification.requiredIngredients(recipeFilterRequest).isEmpty()) {
+            filters.add("requiredIngredients");
+        }
+        if (!RecipeSearchSpecification.optionalIngredients(recipeFilterRequest).isEmpty()) {
+            filters.add("optionalIngredients");
+        }
+        if (!RecipeSearchSpecification.forbiddenIngredients(recipeFilterRequest).isEmpty()) {
+            filters.add("forbiddenIngredients");
+        }
+        return filters.isEmpty() ? NO_FILTERS : String.join("+", filters);
+    }
+}
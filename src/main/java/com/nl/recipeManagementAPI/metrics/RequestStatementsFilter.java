@@ -0,0 +1,46 @@
+package com.nl.recipeManagementAPI.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RequestStatementsFilter
+ * Counts the SQL statements executed while serving a request and records them per uri template. The streamed
+ * responses are written on another thread once the request thread is released, so they are not counted.
+ */
+@RequiredArgsConstructor
+public class RequestStatementsFilter extends OncePerRequestFilter {
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final StatementCounter statementCounter;
+
+    private final RecipeMetrics recipeMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        statementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.stop();
+            if (!request.isAsyncStarted()) {
+                String uri = Optional.ofNullable(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                        .map(String::valueOf)
+                        .orElse(UNKNOWN_URI);
+                recipeMetrics.recordStatements(request.getMethod(), uri, statements);
+            }
+        }
+    }
+}
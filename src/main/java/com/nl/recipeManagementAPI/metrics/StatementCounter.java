@@ -0,0 +1,39 @@
+package com.nl.recipeManagementAPI.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type StatementCounter
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start()} and {@link #stop()},
+ * the statements of threads that are not counting are passed through untouched.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> count = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] statements = count.get();
+        if (null != statements) {
+            statements[0]++;
+        }
+        return sql;
+    }
+
+    public void start() {
+        count.set(new int[1]);
+    }
+
+    /**
+     * @return the number of statements since start, or 0 when the current thread is not counting
+     */
+    public int stop() {
+        int[] statements = count.get();
+        count.remove();
+        return null == statements ? 0 : statements[0];
+    }
+}
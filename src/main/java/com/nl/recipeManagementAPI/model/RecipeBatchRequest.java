@@ -0,0 +1,30 @@
+package com.nl.recipeManagementAPI.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Type RecipeBatchRequest
+ * <p>
+ * The ids and the names of the recipes to look up at once, either of them may be absent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeBatchRequest {
+
+    public static final int MAX_KEYS = 500;
+
+    @Schema(description = "The ids of the recipes", example = "[1, 2]")
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " ids can be looked up at once")
+    private List<Long> ids;
+
+    @Schema(description = "The names of the recipes", example = "[\"kip suate\", \"bread\"]")
+    @Size(max = MAX_KEYS, message = "At most " + MAX_KEYS + " names can be looked up at once")
+    private List<String> names;
+}
@@ -0,0 +1,25 @@
+package com.nl.recipeManagementAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Type RecipeBatchResult
+ * <p>
+ * The recipes found by a batch lookup in the order they were requested, ids first, each recipe once even when it was
+ * requested by both its id and its name, along with the requested ids and names no recipe was found for.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeBatchResult {
+
+    private List<RecipeDetails> recipes;
+
+    private List<Long> missingIds;
+
+    private List<String> missingNames;
+}
@@ -0,0 +1,38 @@
+package com.nl.recipeManagementAPI.model;
+
+import com.nl.recipeManagementAPI.enums.Category;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Type RecipeBulkRequest
+ * <p>
+ * The recipes a bulk update or delete applies to: the recipes of the ids, or when there are no ids all the recipes
+ * matching the criteria of the filter, regardless of its page. A filter without criteria selects no recipe. The
+ * category and the servings are the values set by a bulk update, an absent value is left unchanged.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeBulkRequest {
+
+    @Schema(description = "The ids of the recipes", example = "[1, 2]")
+    private List<Long> ids;
+
+    @Schema(description = "The criteria of the recipes, used when there are no ids")
+    @Valid
+    private RecipeFilterRequest filter;
+
+    @Schema(description = "The category set by a bulk update", example = "VEGAN", allowableValues = {"VEGETARIAN", "NON_VEGETARIAN", "VEGAN"})
+    private Category category;
+
+    @Schema(description = "The servings set by a bulk update", example = "4")
+    @Positive(message = "Servings must be positive")
+    private Integer servings;
+}
@@ -0,0 +1,27 @@
+package com.nl.recipeManagementAPI.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Type RecipeBulkResult
+ * <p>
+ * The summary of a bulk update or delete: the number of selected recipes that existed, the number of them changed,
+ * which leaves out the recipes a bulk update found with the values already, the selected ids no recipe was found for
+ * and the ids of the recipes of the chunks that failed.
+ */
+@Data
+@NoArgsConstructor
+public class RecipeBulkResult {
+
+    private int matched;
+
+    private int changed;
+
+    private List<Long> missingIds = new ArrayList<>();
+
+    private List<Long> failedIds = new ArrayList<>();
+}
@@ -0,0 +1,36 @@
+package com.nl.recipeManagementAPI.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Type RecipeChangeDetails
+ * <p>
+ * A change of the change feed, the recipe is the json stored in the outbox, written as is.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeChangeDetails {
+
+    @Schema(description = "The position of the change in the feed, pass the last one as since to continue after it")
+    private Long position;
+
+    private Long recipeId;
+
+    private String recipeName;
+
+    private RecipeChangeType changeType;
+
+    private Instant changedAt;
+
+    @JsonRawValue
+    @Schema(description = "The recipe after the change, absent when it was deleted", implementation = RecipeDetails.class)
+    private String recipe;
+}
@@ -10,6 +10,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.Set;
 
 @Data
@@ -33,4 +34,10 @@ public class RecipeDetails {
 
     @NotEmpty(message = "Ingredients list cannot be empty")
     private Set<RecipeIngredient> ingredients;
+
+    @Schema(description = "The version of the recipe, incremented on every change", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
+    @Schema(description = "The time of the last change of the recipe", accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant lastModified;
 }
@@ -1,12 +1,18 @@
 package com.nl.recipeManagementAPI.model;
 
 import com.nl.recipeManagementAPI.enums.Category;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * Type RecipeFilterRequest
  * <p>
  * The combinations on which the recipes can be filtered or searched.
+ * The single includesIngredient and excludesIngredient are combined with the required and forbidden ingredient lists.
  */
 @Data
 public class RecipeFilterRequest {
@@ -17,7 +23,27 @@ public class RecipeFilterRequest {
 
     private String instruction;
 
+    @Schema(description = "Full-text search on the instructions, every word must match the start of a word of the " +
+            "instructions and the recipes are ranked by relevance", example = "grill sal")
+    private String instructionQuery;
+
     private String includesIngredient;
 
     private String excludesIngredient;
+
+    @Schema(description = "Ingredients that must all be present in the recipe", example = "[\"chicken\", \"garlic\"]")
+    private List<String> requiredIngredients;
+
+    @Schema(description = "Ingredients that rank the recipes higher the more of them are present, " +
+            "at least one of them must be present when no ingredient is required", example = "[\"lemon\", \"thyme\"]")
+    private List<String> optionalIngredients;
+
+    @Schema(description = "Ingredients that must not be present in the recipe", example = "[\"peanuts\"]")
+    private List<String> forbiddenIngredients;
+
+    @PositiveOrZero(message = "Page cannot be negative")
+    private Integer page;
+
+    @Positive(message = "Page size must be positive")
+    private Integer pageSize;
 }
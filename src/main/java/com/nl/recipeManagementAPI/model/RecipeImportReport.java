@@ -0,0 +1,41 @@
+package com.nl.recipeManagementAPI.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Type RecipeImportReport
+ * <p>
+ * The per recipe results of a bulk import along with the number of recipes per outcome.
+ */
+@Data
+@NoArgsConstructor
+public class RecipeImportReport {
+
+    private int created;
+
+    private int conflicts;
+
+    private int invalid;
+
+    private int failed;
+
+    private List<RecipeImportResult> results = new ArrayList<>();
+
+    public void add(RecipeImportResult result) {
+        results.add(result);
+        switch (result.getStatus()) {
+            case CREATED -> created++;
+            case CONFLICT -> conflicts++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+
+    public int getTotal() {
+        return results.size();
+    }
+}
@@ -0,0 +1,28 @@
+package com.nl.recipeManagementAPI.model;
+
+import com.nl.recipeManagementAPI.enums.RecipeImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Type RecipeImportResult
+ * <p>
+ * The outcome of one recipe of a bulk import, index is the position of the recipe in the uploaded content and id is
+ * only set for the created recipes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeImportResult {
+
+    private int index;
+
+    private String recipeName;
+
+    private RecipeImportStatus status;
+
+    private Long id;
+
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.nl.recipeManagementAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Type RecipePage
+ * <p>
+ * A page of recipes fetched with keyset pagination, nextCursor is the id to continue from or null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipePage {
+
+    private List<RecipeDetails> recipes;
+
+    private Long nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.nl.recipeManagementAPI.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Type RecipeVersion
+ * <p>
+ * The version and the last modification time of a recipe, read without loading the recipe to answer the conditional
+ * requests. The lastModified is null for the recipes that were not changed since it was introduced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeVersion {
+
+    private Long id;
+
+    private Long version;
+
+    private Instant lastModified;
+}
@@ -0,0 +1,59 @@
+package com.nl.recipeManagementAPI.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nl.recipeManagementAPI.entity.RecipeChange;
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.repository.RecipeChangeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeChangeOutbox
+ * Writes every {@link RecipeChangedEvent} to the outbox while it is published, in the transaction of the change: the
+ * outbox entry is committed with the change or rolled back with it. The entries are made visible in the change feed
+ * by the {@link RecipeChangePublisher}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeChangeOutbox {
+
+    private final RecipeChangeRepository recipeChangeRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onRecipeChanged(RecipeChangedEvent recipeChangedEvent) {
+        RecipeDetails recipe = Optional.ofNullable(recipeChangedEvent.getRecipe())
+                .orElse(recipeChangedEvent.getPreviousRecipe());
+        RecipeChange recipeChange = new RecipeChange();
+        recipeChange.setRecipeId(recipe.getId());
+        recipeChange.setRecipeName(recipe.getRecipeName());
+        recipeChange.setChangeType(recipeChangedEvent.getChangeType());
+        recipeChange.setPayload(payload(recipeChangedEvent.getRecipe()));
+        recipeChange.setChangedAt(Instant.now());
+        recipeChangeRepository.save(recipeChange);
+    }
+
+    private String payload(RecipeDetails recipe) {
+        if (null == recipe) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(recipe);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.nl.recipeManagementAPI.outbox;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.entity.RecipeChange;
+import com.nl.recipeManagementAPI.repository.RecipeChangeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeChangePublisher
+ * Publishes the committed outbox entries to the change feed in batches, every batch in its own transaction: the
+ * entries get the positions following the highest published one in the order they were written. A change committed
+ * after a batch therefore always gets a higher position than the batch, even if its id is smaller. A batch locks the
+ * entries it numbers: the publisher of another node waits until the batch is committed and then numbers only the
+ * entries still pending, after the positions of the batch. Should two batches still pick the same positions, the
+ * unique positions make one of them fail and it retries on its next run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecipeChangePublisher {
+
+    private final RecipeChangeRepository recipeChangeRepository;
+
+    private final RecipeManagementProperties recipeManagementProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Publishes all the pending changes and deletes the published changes older than the retention.
+     */
+    @Scheduled(fixedDelayString = "${recipe-management.outbox.publish-interval:1s}",
+            initialDelayString = "${recipe-management.outbox.publish-interval:1s}")
+    public void publish() {
+        RecipeManagementProperties.Outbox outbox = recipeManagementProperties.getOutbox();
+        int batchSize = Math.max(1, outbox.getBatchSize());
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch(batchSize));
+            } while (published == batchSize);
+            int deleted = transactionTemplate.execute(status ->
+                    recipeChangeRepository.deletePublishedBefore(Instant.now().minus(outbox.getRetention())));
+            if (deleted > 0) {
+                log.info("Deleted {} published recipe changes", deleted);
+            }
+        } catch (DataIntegrityViolationException exception) {
+            log.info("Recipe changes published concurrently, retry on the next run: {}", exception.getMessage());
+        }
+    }
+
+    private int publishBatch(int batchSize) {
+        List<RecipeChange> recipeChanges = recipeChangeRepository.findByPositionIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (recipeChanges.isEmpty()) {
+            return 0;
+        }
+        long position = recipeChangeRepository.findMaxPosition();
+        Instant publishedAt = Instant.now();
+        for (RecipeChange recipeChange : recipeChanges) {
+            recipeChange.setPosition(++position);
+            recipeChange.setPublishedAt(publishedAt);
+        }
+        recipeChangeRepository.flush();
+        log.debug("Published {} recipe changes up to position {}", recipeChanges.size(), position);
+        return recipeChanges.size();
+    }
+}
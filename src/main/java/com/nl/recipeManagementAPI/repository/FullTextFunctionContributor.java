@@ -0,0 +1,59 @@
+package com.nl.recipeManagementAPI.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type FullTextFunctionContributor
+ * Registers the PostgreSQL full-text search functions used by the recipe search criteria queries.
+ * The functions repeat the expression of the GIN index on the instructions in the V2__search_indexes.sql migration, so
+ * that the database answers the match from the index instead of scanning the instructions of every recipe.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    public static final String FULL_TEXT_MATCHES = "full_text_matches";
+
+    public static final String FULL_TEXT_RANK = "full_text_rank";
+
+    private static final String INSTRUCTIONS_VECTOR = "to_tsvector('simple', coalesce(?1, ''))";
+
+    private static final String QUERY = "to_tsquery('simple', ?2)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        if (!(functionContributions.getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+        BasicTypeRegistry basicTypeRegistry = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder(FULL_TEXT_MATCHES, "(" + INSTRUCTIONS_VECTOR + " @@ " + QUERY + ")")
+                .setExactArgumentCount(2)
+                .setInvariantType(basicTypeRegistry.resolve(StandardBasicTypes.BOOLEAN))
+                .register();
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder(FULL_TEXT_RANK, "ts_rank(" + INSTRUCTIONS_VECTOR + ", " + QUERY + ")")
+                .setExactArgumentCount(2)
+                .setInvariantType(basicTypeRegistry.resolve(StandardBasicTypes.DOUBLE))
+                .register();
+    }
+
+    /**
+     * Builds a tsquery matching the recipes whose instructions contain a word starting with every word of the query.
+     *
+     * @param words the words of the query
+     * @return the tsquery text, for example {@code grill:* & sal:*}
+     */
+    public static String prefixQuery(List<String> words) {
+        return words.stream()
+                .map(word -> word + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
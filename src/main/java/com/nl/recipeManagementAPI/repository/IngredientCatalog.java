@@ -0,0 +1,114 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.config.CacheConfig;
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type IngredientCatalog
+ * Resolves ingredient names to the entries of the ingredient catalog. The ids of the known names are interned in the
+ * ingredient id cache, the names missing from it are looked up together in one query.
+ * An ingredient served from the cache is a detached instance carrying its id and name, which is all a recipe needs
+ * to reference it since the ingredients of a recipe are not cascaded.
+ */
+@Component
+@RequiredArgsConstructor
+public class IngredientCatalog {
+
+    private final IngredientRepository ingredientRepository;
+
+    private final CacheManager cacheManager;
+
+    /**
+     * Resolves the ingredients of the given names, the names that are not in the catalog yet are added to it.
+     * Joins the transaction of the caller, the ids of the added ingredients are interned once it commits.
+     * The names are added with insert on conflict do nothing and read back, so that a name added concurrently by
+     * another transaction resolves to its ingredient instead of failing on the unique name. They are added in the
+     * same order by every transaction, which then wait for each other instead of deadlocking.
+     *
+     * @param names the ingredient names, normalized before they are resolved
+     * @return the ingredients by their normalized name
+     */
+    @Transactional
+    public Map<String, Ingredient> resolve(Collection<String> names) {
+        Map<String, Ingredient> ingredients = new HashMap<>();
+        Set<String> misses = findCached(normalize(names), (name, id) -> ingredients.put(name, new Ingredient(id, name)));
+        if (!misses.isEmpty()) {
+            ingredientRepository.findByNameIn(misses).forEach(ingredient -> intern(ingredient, ingredients));
+            List<String> newNames = misses.stream()
+                    .filter(name -> !ingredients.containsKey(name))
+                    .sorted()
+                    .toList();
+            if (!newNames.isEmpty()) {
+                newNames.forEach(ingredientRepository::insertIfAbsent);
+                ingredientRepository.findByNameIn(newNames).forEach(ingredient -> intern(ingredient, ingredients));
+            }
+        }
+        return ingredients;
+    }
+
+    /**
+     * Finds the ids of the given ingredient names without adding anything to the catalog.
+     *
+     * @param names the ingredient names, normalized before they are looked up
+     * @return the ids by normalized name of the names that exist in the catalog
+     */
+    public Map<String, Long> findIds(Collection<String> names) {
+        Map<String, Long> ids = new HashMap<>();
+        Set<String> misses = findCached(normalize(names), ids::put);
+        if (!misses.isEmpty()) {
+            ingredientRepository.findByNameIn(misses).forEach(ingredient -> {
+                cache().put(ingredient.getName(), ingredient.getId());
+                ids.put(ingredient.getName(), ingredient.getId());
+            });
+        }
+        return ids;
+    }
+
+    private Set<String> findCached(Set<String> names, BiConsumer<String, Long> hit) {
+        Cache cache = cache();
+        Set<String> misses = new LinkedHashSet<>();
+        for (String name : names) {
+            Long id = cache.get(name, Long.class);
+            if (null != id) {
+                hit.accept(name, id);
+            } else {
+                misses.add(name);
+            }
+        }
+        return misses;
+    }
+
+    private void intern(Ingredient ingredient, Map<String, Ingredient> ingredients) {
+        cache().put(ingredient.getName(), ingredient.getId());
+        ingredients.put(ingredient.getName(), ingredient);
+    }
+
+    private Cache cache() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.INGREDIENT_ID_CACHE));
+    }
+
+    private static Set<String> normalize(Collection<String> names) {
+        return names.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(Ingredient::normalizeName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
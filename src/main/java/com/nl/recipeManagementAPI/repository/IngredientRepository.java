@@ -0,0 +1,39 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type IngredientRepository
+ * Repository of the ingredient catalog.
+ */
+public interface IngredientRepository extends JpaRepository<Ingredient, Long> {
+
+    /**
+     * Finds the catalog entries of the given names in one query.
+     *
+     * @param names the normalized names of the ingredients
+     * @return the ingredients that exist in the catalog
+     */
+    List<Ingredient> findByNameIn(Collection<String> names);
+
+    /**
+     * Adds an ingredient to the catalog unless the name is in it, also when a concurrent transaction added it first,
+     * in which case the insert waits for that transaction and adds nothing. The id is drawn from the sequence
+     * directly, outside of the blocks of ids allocated by hibernate.
+     *
+     * @param name the normalized name of the ingredient
+     * @return the number of ingredients added, 0 when the name was in the catalog
+     */
+    @Modifying
+    @Query(value = "insert into ingredient (id, name) values (nextval('ingredient_seq'), :name) on conflict do nothing",
+            nativeQuery = true)
+    int insertIfAbsent(String name);
+}
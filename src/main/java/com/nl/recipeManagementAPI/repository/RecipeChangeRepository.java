@@ -0,0 +1,50 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.entity.RecipeChange;
+import com.nl.recipeManagementAPI.model.RecipeChangeDetails;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeChangeRepository
+ * Repository of the outbox of the recipe changes and of the change feed read from it.
+ */
+public interface RecipeChangeRepository extends JpaRepository<RecipeChange, Long> {
+
+    /**
+     * The changes not published yet in the order they were written, locked until the end of the transaction. A
+     * concurrent publisher waits on the first of them and reads them again once the lock is released, so it skips
+     * the changes published in between instead of numbering them a second time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<RecipeChange> findByPositionIsNullOrderByIdAsc(Limit limit);
+
+    @Query("select coalesce(max(c.position), 0) from RecipeChange c")
+    long findMaxPosition();
+
+    /**
+     * The published changes after the given position, in the order of the feed.
+     */
+    @Query("select new com.nl.recipeManagementAPI.model.RecipeChangeDetails(c.position, c.recipeId, c.recipeName, " +
+            "c.changeType, c.changedAt, c.payload) from RecipeChange c where c.position > :since order by c.position")
+    List<RecipeChangeDetails> findChangesAfter(@Param("since") long since, Limit limit);
+
+    /**
+     * Deletes the changes published before the given time, except the last published one: the positions continue
+     * after the highest one left in the outbox.
+     */
+    @Modifying
+    @Query("delete from RecipeChange c where c.publishedAt < :before " +
+            "and c.position < (select max(p.position) from RecipeChange p)")
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,16 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.enums.Category;
+
+import java.time.Instant;
+
+/**
+ * Type RecipeDetailsView
+ * <p>
+ * Read-only projection of a recipe with its ingredients aggregated into arrays of the same order, one row per recipe.
+ * It is built from the result set without managed entities, so the persistence context keeps no snapshots of it.
+ * A recipe without ingredients has arrays holding a single null.
+ */
+public record RecipeDetailsView(Long id, String recipeName, Category category, String instructions, int servings,
+                                Long version, Instant lastModified, Long[] ingredientIds, String[] ingredientNames) {
+}
@@ -0,0 +1,19 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.enums.Category;
+
+/**
+ * Type RecipeIngredientView
+ * <p>
+ * Projection of a recipe row joined with one of its ingredients, a recipe without ingredients has a null ingredientName.
+ */
+public interface RecipeIngredientView {
+
+    Long getId();
+
+    Category getCategory();
+
+    Integer getServings();
+
+    String getIngredientName();
+}
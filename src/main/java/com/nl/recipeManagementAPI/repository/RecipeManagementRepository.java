@@ -1,10 +1,26 @@
 package com.nl.recipeManagementAPI.repository;
 
 import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeVersion;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * @author Firoz
@@ -12,7 +28,156 @@ import java.util.Optional;
  * Type RecipeManagementRepository
  * Repository to manage the recipes connecting to pesristent systems.
  * Extends the JpaSpecificationExecutor and enables to filter or search the recipes based on the custom filters in combination.
+ * The read queries that are mapped to RecipeDetails fetch the ingredients along with the recipes, so that mapping a
+ * list of recipes does not load the ingredients recipe by recipe. The pages and the search results are read as
+ * {@link RecipeDetailsView} projections instead of entities.
+ * The bulk changes are set based statements on the locked recipes of a chunk, they bypass the persistence context so
+ * they set the version and the last modified of the recipes themselves.
  */
-public interface RecipeManagementRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe> {
+public interface RecipeManagementRepository extends JpaRepository<Recipe, Long>, JpaSpecificationExecutor<Recipe>,
+        RecipeSearchRepository {
+
+    String RECIPE_DETAILS_VIEW = "select new com.nl.recipeManagementAPI.repository.RecipeDetailsView(r.id, r.recipeName, " +
+            "r.category, r.instructions, r.servings, r.version, r.lastModified, array_agg(i.id) within group (order by i.id), " +
+            "array_agg(i.name) within group (order by i.id)) from Recipe r left join r.ingredients i ";
+
+    String GROUP_BY_RECIPE = "group by r.id, r.recipeName, r.category, r.instructions, r.servings, r.version, r.lastModified";
+
     Optional<Recipe> findByRecipeName(String recipeName);
+
+    /**
+     * Set based existence check of the recipe names, used by the bulk import to find the name collisions of a chunk of
+     * recipes in one query.
+     *
+     * @param recipeNames the normalized names of the recipes
+     * @return the names that are already taken
+     */
+    @Query("select r.recipeName from Recipe r where r.recipeName in :recipeNames")
+    Set<String> findExistingRecipeNames(Collection<String> recipeNames);
+
+    /**
+     * Reads the version of the recipe without loading the recipe or its ingredients.
+     *
+     * @param recipeName the name of the recipe
+     * @return the version of the recipe if found
+     */
+    @Query("select new com.nl.recipeManagementAPI.model.RecipeVersion(r.id, r.version, r.lastModified) " +
+            "from Recipe r where r.recipeName = :recipeName")
+    Optional<RecipeVersion> findVersionByRecipeName(String recipeName);
+
+    /**
+     * Keyset pagination on the recipe id like {@link #findDetailsAfter(Long, Limit)}, reads only the versions of the
+     * recipes of the page.
+     *
+     * @param id    the last id of the previous page
+     * @param limit the page size
+     * @return the versions of the recipes in the order of their id
+     */
+    @Query("select new com.nl.recipeManagementAPI.model.RecipeVersion(r.id, r.version, r.lastModified) " +
+            "from Recipe r where r.id > :id order by r.id")
+    List<RecipeVersion> findVersionsAfter(Long id, Limit limit);
+
+    /**
+     * Finds the recipe by name along with its ingredients in a single query.
+     *
+     * @param recipeName the name of the recipe
+     * @return the recipe if found
+     */
+    @EntityGraph(attributePaths = "ingredients")
+    Optional<Recipe> findWithIngredientsByRecipeName(String recipeName);
+
+    /**
+     * Reads the recipes of the given ids as projections, their ingredients are aggregated in the same query.
+     *
+     * @param ids the ids of the recipes
+     * @return the recipes in no particular order
+     */
+    @Query(RECIPE_DETAILS_VIEW + "where r.id in :ids " + GROUP_BY_RECIPE)
+    List<RecipeDetailsView> findDetailsByIdIn(Collection<Long> ids);
+
+    /**
+     * Reads the recipes of the given ids or names as projections in one query, their ingredients are aggregated in the
+     * same query. Either of the lists may be empty.
+     *
+     * @param ids         the ids of the recipes
+     * @param recipeNames the normalized names of the recipes
+     * @return the recipes in no particular order
+     */
+    @Query(RECIPE_DETAILS_VIEW + "where r.id in :ids or r.recipeName in :recipeNames " + GROUP_BY_RECIPE)
+    List<RecipeDetailsView> findDetailsByIdInOrRecipeNameIn(Collection<Long> ids, Collection<String> recipeNames);
+
+    /**
+     * Keyset pagination on the recipe id, reads the next page of recipes after the given id as projections. The
+     * ingredients are aggregated to one row per recipe, so the limit is applied by the database and not in memory as
+     * it would be for a query fetching the ingredients of the entities.
+     *
+     * @param id    the last id of the previous page
+     * @param limit the page size
+     * @return the recipes in the order of their id
+     */
+    @Query(RECIPE_DETAILS_VIEW + "where r.id > :id " + GROUP_BY_RECIPE + " order by r.id")
+    List<RecipeDetailsView> findDetailsAfter(Long id, Limit limit);
+
+    /**
+     * Streams all the recipes along with their ingredients ordered by id, rows are fetched from the database in chunks
+     * of the fetch size. Must be consumed inside a transaction and closed after use.
+     *
+     * @return stream of all the recipes
+     */
+    @EntityGraph(attributePaths = "ingredients")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Recipe> streamAllByOrderByIdAsc();
+
+    /**
+     * Streams the searchable attributes of all the recipes, one row per recipe and ingredient.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return stream of the recipe and ingredient rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select r.id as id, r.category as category, r.servings as servings, i.name as ingredientName " +
+            "from Recipe r left join r.ingredients i")
+    Stream<RecipeIngredientView> streamRecipeIngredients();
+
+    /**
+     * Locks the rows of the recipes of the given ids until the end of the transaction, so that a bulk change reads and
+     * changes them without a concurrent update in between.
+     *
+     * @param ids the ids of the recipes
+     * @return the ids of the recipes that exist
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r.id from Recipe r where r.id in :ids")
+    List<Long> lockByIdIn(Collection<Long> ids);
+
+    /**
+     * Sets the category and the servings of the recipes of the given ids in one statement, a null value keeps the
+     * current one. The version of the recipes is incremented like an update of the entities would.
+     *
+     * @return the number of recipes updated
+     */
+    @Modifying
+    @Query("update Recipe r set r.category = coalesce(:category, r.category), r.servings = coalesce(:servings, r.servings), " +
+            "r.version = r.version + 1, r.lastModified = :lastModified where r.id in :ids")
+    int updateByIdIn(Collection<Long> ids, Category category, Integer servings, Instant lastModified);
+
+    /**
+     * Deletes the recipe_ingredient rows of the recipes of the given ids in one statement, the ingredients stay in the
+     * catalog.
+     */
+    @Modifying
+    @Query(value = "delete from recipe_ingredient where recipe_id in :ids", nativeQuery = true)
+    int deleteIngredientsByRecipeIdIn(Collection<Long> ids);
+
+    /**
+     * Deletes the recipes of the given ids in one statement, their recipe_ingredient rows must be deleted before.
+     *
+     * @return the number of recipes deleted
+     */
+    @Modifying
+    @Query("delete from Recipe r where r.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,30 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeSearchRepository
+ * Custom repository fragment for the search queries that are not expressible as derived or annotated queries.
+ */
+public interface RecipeSearchRepository {
+
+    /**
+     * Finds a page of the ids of the recipes that satisfy the filter in a single query.
+     * The ingredient criteria are evaluated on one join of the recipe with its ingredients grouped by recipe: every
+     * required ingredient must be counted, no forbidden ingredient may be counted and the recipes are ranked by the
+     * number of optional ingredients they contain, then by id. When no ingredient is required, at least one optional
+     * ingredient must be present.
+     * Selecting only the ids keeps the search free of fetch joins, the recipes are then read with their ingredients
+     * in a single query with {@link RecipeManagementRepository#findDetailsByIdIn(java.util.Collection)}.
+     *
+     * @param recipeFilterRequest the search criteria
+     * @param pageable            the page of the results
+     * @return the ids of the matching recipes in the order of their rank
+     */
+    List<Long> findIds(RecipeFilterRequest recipeFilterRequest, Pageable pageable);
+}
@@ -0,0 +1,195 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.index.InstructionSearchIndex;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type RecipeSearchRepositoryImpl
+ * Criteria api implementation of the {@link RecipeSearchRepository}.
+ * The full-text search on the instructions is evaluated by PostgreSQL, on other databases the matches and their
+ * relevance come from the {@link InstructionSearchIndex} and the page is ordered in memory.
+ * The ingredient names are translated to their catalog ids up front, so the ingredient criteria are evaluated on the
+ * ids of the recipe_ingredient rows; a required ingredient that is not in the catalog matches no recipe.
+ */
+@RequiredArgsConstructor
+public class RecipeSearchRepositoryImpl implements RecipeSearchRepository {
+
+    private static final String ID = "id";
+
+    private static final String RANK = "rank";
+
+    private final EntityManager entityManager;
+
+    private final InstructionSearchIndex instructionSearchIndex;
+
+    private final IngredientCatalog ingredientCatalog;
+
+    @Override
+    public List<Long> findIds(RecipeFilterRequest recipeFilterRequest, Pageable pageable) {
+        Set<String> requiredIngredients = RecipeSearchSpecification.requiredIngredients(recipeFilterRequest);
+        Set<String> optionalIngredients = RecipeSearchSpecification.optionalIngredients(recipeFilterRequest);
+        Set<String> forbiddenIngredients = RecipeSearchSpecification.forbiddenIngredients(recipeFilterRequest);
+        List<String> instructionWords = InstructionSearchIndex.tokenize(recipeFilterRequest.getInstructionQuery());
+        Map<Long, Double> relevance = instructionWords.isEmpty() || !instructionSearchIndex.isEnabled()
+                ? null : instructionSearchIndex.search(recipeFilterRequest.getInstructionQuery());
+        if (null != relevance && relevance.isEmpty()) {
+            return List.of();
+        }
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Recipe> root = query.from(Recipe.class);
+        List<Predicate> where = new ArrayList<>();
+        where.add(RecipeSearchSpecification.filterByRecipeAttributes(recipeFilterRequest).toPredicate(root, query, criteriaBuilder));
+        List<Order> orders = new ArrayList<>();
+        Expression<? extends Number> rank = criteriaBuilder.literal(0);
+
+        if (!requiredIngredients.isEmpty() || !optionalIngredients.isEmpty() || !forbiddenIngredients.isEmpty()) {
+            Map<String, Long> ingredientIds = ingredientCatalog.findIds(union(requiredIngredients, optionalIngredients, forbiddenIngredients));
+            Set<Long> requiredIds = idsOf(requiredIngredients, ingredientIds);
+            Set<Long> optionalIds = idsOf(optionalIngredients, ingredientIds);
+            Set<Long> forbiddenIds = idsOf(forbiddenIngredients, ingredientIds);
+            if (requiredIds.size() < requiredIngredients.size() || (requiredIngredients.isEmpty() && !optionalIngredients.isEmpty() && optionalIds.isEmpty())) {
+                return List.of();
+            }
+            Set<Long> candidateIds = requiredIds.isEmpty() ? optionalIds : requiredIds;
+            if (!candidateIds.isEmpty()) {
+                where.add(root.get(ID).in(recipeIdsWithIngredientIds(query, candidateIds)));
+            }
+            Join<Recipe, Ingredient> ingredient = root.join("ingredients", JoinType.LEFT);
+            Expression<Long> ingredientId = ingredient.get(ID);
+            List<Predicate> having = new ArrayList<>();
+            if (!requiredIds.isEmpty()) {
+                Expression<Long> requiredId = criteriaBuilder.<Long>selectCase()
+                        .when(ingredientId.in(requiredIds), ingredientId)
+                        .otherwise(criteriaBuilder.nullLiteral(Long.class));
+                having.add(criteriaBuilder.equal(criteriaBuilder.countDistinct(requiredId), (long) requiredIds.size()));
+            }
+            if (!forbiddenIds.isEmpty()) {
+                having.add(criteriaBuilder.equal(countMatches(criteriaBuilder, ingredientId, forbiddenIds), 0));
+            }
+            if (!optionalIds.isEmpty()) {
+                Expression<Integer> optionalMatches = countMatches(criteriaBuilder, ingredientId, optionalIds);
+                if (requiredIds.isEmpty()) {
+                    having.add(criteriaBuilder.greaterThan(optionalMatches, 0));
+                }
+                rank = optionalMatches;
+                orders.add(criteriaBuilder.desc(optionalMatches));
+            }
+            query.groupBy(root.get(ID));
+            query.having(having.toArray(new Predicate[0]));
+        }
+
+        if (!instructionWords.isEmpty() && null == relevance) {
+            String textQuery = FullTextFunctionContributor.prefixQuery(instructionWords);
+            where.add(criteriaBuilder.isTrue(criteriaBuilder.function(FullTextFunctionContributor.FULL_TEXT_MATCHES,
+                    Boolean.class, root.get("instructions"), criteriaBuilder.literal(textQuery))));
+            orders.add(criteriaBuilder.desc(criteriaBuilder.function(FullTextFunctionContributor.FULL_TEXT_RANK,
+                    Double.class, root.get("instructions"), criteriaBuilder.literal(textQuery))));
+        }
+        if (null != relevance) {
+            where.add(root.get(ID).in(relevance.keySet()));
+        }
+        orders.add(criteriaBuilder.asc(root.get(ID)));
+        query.multiselect(root.get(ID).alias(ID), rank.alias(RANK))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (null == relevance) {
+            if (pageable.isPaged()) {
+                typedQuery.setFirstResult((int) pageable.getOffset());
+                typedQuery.setMaxResults(pageable.getPageSize());
+            }
+            return typedQuery.getResultList().stream()
+                    .map(tuple -> tuple.get(ID, Long.class))
+                    .toList();
+        }
+        return orderByRelevance(typedQuery.getResultList(), relevance, pageable);
+    }
+
+    /**
+     * Orders the matches by the number of optional ingredients, then by the relevance of the instructions and id,
+     * then takes the requested page.
+     */
+    private static List<Long> orderByRelevance(List<Tuple> matches, Map<Long, Double> relevance, Pageable pageable) {
+        Comparator<Tuple> byRank = Comparator.comparingLong(tuple -> tuple.get(RANK, Number.class).longValue());
+        Comparator<Tuple> byRelevance = Comparator.comparingDouble(tuple -> relevance.get(tuple.get(ID, Long.class)));
+        List<Long> ids = matches.stream()
+                .sorted(byRank.reversed()
+                        .thenComparing(byRelevance.reversed())
+                        .thenComparing(tuple -> tuple.get(ID, Long.class)))
+                .map(tuple -> tuple.get(ID, Long.class))
+                .toList();
+        if (pageable.isUnpaged()) {
+            return ids;
+        }
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        return ids.subList(from, Math.min(from + pageable.getPageSize(), ids.size()));
+    }
+
+    /**
+     * The ids of the recipes containing at least one of the given ingredients. Every recipe that can satisfy the
+     * required ingredients, or the optional ones when none is required, is among them, so the grouped query only
+     * reads the recipe_ingredient rows of these candidates through the ingredient index instead of every recipe.
+     */
+    private static Subquery<Long> recipeIdsWithIngredientIds(CriteriaQuery<?> query, Collection<Long> ingredientIds) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<Recipe> subRoot = subquery.from(Recipe.class);
+        Join<Recipe, Ingredient> ingredient = subRoot.join("ingredients");
+        return subquery.select(subRoot.get(ID)).where(ingredient.get(ID).in(ingredientIds));
+    }
+
+    /**
+     * Counts the joined ingredient rows of a recipe whose id is one of the given ids.
+     */
+    private static Expression<Integer> countMatches(CriteriaBuilder criteriaBuilder, Expression<Long> ingredientId,
+                                                    Collection<Long> ids) {
+        return criteriaBuilder.sum(criteriaBuilder.<Integer>selectCase()
+                .when(ingredientId.in(ids), 1)
+                .otherwise(0));
+    }
+
+    /**
+     * The catalog ids of the given names, the names missing from the catalog are left out.
+     */
+    private static Set<Long> idsOf(Set<String> names, Map<String, Long> ingredientIds) {
+        return names.stream()
+                .map(ingredientIds::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    @SafeVarargs
+    private static Set<String> union(Set<String>... names) {
+        return Stream.of(names).flatMap(Set::stream).collect(Collectors.toSet());
+    }
+}
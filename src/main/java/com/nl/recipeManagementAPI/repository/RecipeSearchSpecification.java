@@ -5,24 +5,30 @@ import com.nl.recipeManagementAPI.entity.Recipe;
 import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
-import jakarta.persistence.criteria.Subquery;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 
 /**
  * @author Firoz
  * <p>
  * Type RecipeSearchSpecification
  * <p>
- * builds custom specifications based on the filter criteria provided.
- * creates a predicate based on the filter request like category, includes ingredient, excludes ingredient,
- * servings amd in their combinations
+ * builds the predicates on the recipe attributes of the filter criteria provided and normalizes the ingredient
+ * lists of the filter, the ingredient predicates are built by {@link RecipeSearchRepositoryImpl} on the catalog ids
  */
 public class RecipeSearchSpecification {
-    public static Specification<Recipe> filterByCriteria(RecipeFilterRequest recipeFilterRequest) {
+    /**
+     * Builds the predicates on the columns of the recipe itself: category, servings and instruction.
+     */
+    public static Specification<Recipe> filterByRecipeAttributes(RecipeFilterRequest recipeFilterRequest) {
 
         return (Root<Recipe> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) -> {
             Predicate predicate = criteriaBuilder.conjunction();
@@ -33,21 +39,43 @@ public class RecipeSearchSpecification {
             if (null != recipeFilterRequest.getServings()) {
                 predicate = criteriaBuilder.and(predicate, criteriaBuilder.equal(root.get("servings"), recipeFilterRequest.getServings()));
             }
-            if (null != recipeFilterRequest.getIncludesIngredient() && !recipeFilterRequest.getIncludesIngredient().isEmpty()) {
-                Join<Recipe, Ingredient> includeIngredientsJoin = root.join("ingredients");
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.equal(includeIngredientsJoin.get("name"), recipeFilterRequest.getIncludesIngredient()));
-            }
-            if (null != recipeFilterRequest.getExcludesIngredient() && !recipeFilterRequest.getExcludesIngredient().isEmpty()) {
-                Subquery<Long> subquery = query.subquery(Long.class);
-                Root<Recipe> subRoot = subquery.from(Recipe.class);
-                Join<Recipe, Ingredient> excludeIngredientsJoin = subRoot.join("ingredients");
-                subquery.select(subRoot.get("id")).where(criteriaBuilder.equal(excludeIngredientsJoin.get("name"), recipeFilterRequest.getExcludesIngredient()));
-                predicate = criteriaBuilder.and(predicate, criteriaBuilder.not(root.get("id").in(subquery)));
-            }
             if (null != recipeFilterRequest.getInstruction() && !recipeFilterRequest.getInstruction().isEmpty()) {
                 predicate = criteriaBuilder.and(predicate, criteriaBuilder.like(criteriaBuilder.lower(root.get("instructions")), "%" + recipeFilterRequest.getInstruction().toLowerCase() + "%"));
             }
             return predicate;
         };
     }
+
+    /**
+     * @return the normalized includesIngredient along with the requiredIngredients of the filter
+     */
+    public static Set<String> requiredIngredients(RecipeFilterRequest recipeFilterRequest) {
+        return ingredientNames(recipeFilterRequest.getIncludesIngredient(), recipeFilterRequest.getRequiredIngredients());
+    }
+
+    /**
+     * @return the normalized optionalIngredients of the filter
+     */
+    public static Set<String> optionalIngredients(RecipeFilterRequest recipeFilterRequest) {
+        return ingredientNames(null, recipeFilterRequest.getOptionalIngredients());
+    }
+
+    /**
+     * @return the normalized excludesIngredient along with the forbiddenIngredients of the filter
+     */
+    public static Set<String> forbiddenIngredients(RecipeFilterRequest recipeFilterRequest) {
+        return ingredientNames(recipeFilterRequest.getExcludesIngredient(), recipeFilterRequest.getForbiddenIngredients());
+    }
+
+    private static Set<String> ingredientNames(String ingredientName, List<String> ingredientNames) {
+        Set<String> names = new LinkedHashSet<>();
+        if (StringUtils.isNotBlank(ingredientName)) {
+            names.add(Ingredient.normalizeName(ingredientName));
+        }
+        Optional.ofNullable(ingredientNames).ifPresent(list -> list.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(Ingredient::normalizeName)
+                .forEach(names::add));
+        return names;
+    }
 }
@@ -0,0 +1,17 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.model.RecipeBulkRequest;
+import com.nl.recipeManagementAPI.model.RecipeBulkResult;
+
+/**
+ * @author Firoz
+ * Type RecipeBulkService
+ * <p>
+ * Enables the bulk updates and deletes of recipes.
+ */
+public interface RecipeBulkService {
+
+    RecipeBulkResult updateRecipes(RecipeBulkRequest recipeBulkRequest);
+
+    RecipeBulkResult deleteRecipes(RecipeBulkRequest recipeBulkRequest);
+}
@@ -0,0 +1,186 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import com.nl.recipeManagementAPI.mapper.RecipeMapper;
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
+import com.nl.recipeManagementAPI.model.RecipeBulkRequest;
+import com.nl.recipeManagementAPI.model.RecipeBulkResult;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.repository.RecipeDetailsView;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * @author Firoz
+ * Type RecipeBulkServiceImpl
+ * Provides the implementation for RecipeBulkService.
+ * <p>
+ * The ids of the selected recipes are changed in chunks of the configured size, each chunk in its own transaction:
+ * the recipes of the chunk are locked and read with their ingredients in two queries, then updated or deleted with
+ * set based statements instead of being loaded and changed one by one. Every changed recipe is published as a
+ * {@link RecipeChangedEvent} within the transaction of its chunk, so the outbox, the caches and the search indexes
+ * follow the bulk changes like the single ones. A failing chunk is rolled back and reported, the other chunks are
+ * still changed.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class RecipeBulkServiceImpl implements RecipeBulkService {
+
+    private final RecipeManagementRepository recipeManagementRepository;
+
+    private final RecipeManagementProperties recipeManagementProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Sets the category and the servings of the selected recipes, the recipes that have the values already are left
+     * untouched and keep their version.
+     *
+     * @param recipeBulkRequest the selected recipes and the values to set
+     * @return the summary of the update
+     */
+    @Override
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "bulkUpdate"}, histogram = true)
+    public RecipeBulkResult updateRecipes(RecipeBulkRequest recipeBulkRequest) {
+        Category category = recipeBulkRequest.getCategory();
+        Integer servings = recipeBulkRequest.getServings();
+        if (null == category && null == servings) {
+            log.info("Bulk update without a category or servings, nothing to update");
+            return new RecipeBulkResult();
+        }
+        return changeInChunks("update", recipeBulkRequest, recipes -> updateChunk(recipes, category, servings));
+    }
+
+    /**
+     * Deletes the selected recipes along with their recipe_ingredient rows.
+     *
+     * @param recipeBulkRequest the selected recipes
+     * @return the summary of the delete
+     */
+    @Override
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "bulkDelete"}, histogram = true)
+    public RecipeBulkResult deleteRecipes(RecipeBulkRequest recipeBulkRequest) {
+        return changeInChunks("delete", recipeBulkRequest, this::deleteChunk);
+    }
+
+    private RecipeBulkResult changeInChunks(String operation, RecipeBulkRequest recipeBulkRequest,
+                                            ToIntFunction<List<RecipeDetailsView>> change) {
+        List<Long> ids = selectIds(recipeBulkRequest);
+        RecipeBulkResult result = new RecipeBulkResult();
+        int chunkSize = Math.max(1, recipeManagementProperties.getBulkChange().getChunkSize());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            try {
+                ChunkResult chunkResult = transactionTemplate.execute(status -> changeChunk(chunk, change));
+                result.setMatched(result.getMatched() + chunkResult.matched());
+                result.setChanged(result.getChanged() + chunkResult.changed());
+                result.getMissingIds().addAll(chunkResult.missingIds());
+            } catch (DataAccessException exception) {
+                log.error("Bulk {} of the recipes from id {} failed", operation, chunk.get(0), exception);
+                result.getFailedIds().addAll(chunk);
+            }
+        }
+        log.info("Bulk {} of {} recipes completed: matched {}, changed {}, missing {}, failed {}", operation, ids.size(),
+                result.getMatched(), result.getChanged(), result.getMissingIds().size(), result.getFailedIds().size());
+        return result;
+    }
+
+    /**
+     * Locks the recipes of the chunk that still exist, reads them with their ingredients and changes them.
+     */
+    private ChunkResult changeChunk(List<Long> chunk, ToIntFunction<List<RecipeDetailsView>> change) {
+        Set<Long> existingIds = new HashSet<>(recipeManagementRepository.lockByIdIn(chunk));
+        List<Long> missingIds = chunk.stream()
+                .filter(id -> !existingIds.contains(id))
+                .toList();
+        if (existingIds.isEmpty()) {
+            return new ChunkResult(0, 0, missingIds);
+        }
+        int changed = change.applyAsInt(recipeManagementRepository.findDetailsByIdIn(existingIds));
+        return new ChunkResult(existingIds.size(), changed, missingIds);
+    }
+
+    private int updateChunk(List<RecipeDetailsView> recipes, Category category, Integer servings) {
+        List<RecipeDetailsView> changedRecipes = recipes.stream()
+                .filter(recipe -> (null != category && category != recipe.category())
+                        || (null != servings && servings != recipe.servings()))
+                .toList();
+        if (changedRecipes.isEmpty()) {
+            return 0;
+        }
+        Instant lastModified = Instant.now();
+        int updated = recipeManagementRepository.updateByIdIn(changedRecipes.stream().map(RecipeDetailsView::id).toList(),
+                category, servings, lastModified);
+        for (RecipeDetailsView recipe : changedRecipes) {
+            RecipeDetails updatedRecipe = RecipeMapper.INSTANCE.fromRecipeDetailsView(recipe);
+            if (null != category) {
+                updatedRecipe.setCategory(category);
+            }
+            if (null != servings) {
+                updatedRecipe.setServings(servings);
+            }
+            updatedRecipe.setVersion(recipe.version() + 1);
+            updatedRecipe.setLastModified(lastModified);
+            applicationEventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangeType.UPDATED,
+                    RecipeMapper.INSTANCE.fromRecipeDetailsView(recipe), updatedRecipe));
+        }
+        return updated;
+    }
+
+    private int deleteChunk(List<RecipeDetailsView> recipes) {
+        List<Long> ids = recipes.stream().map(RecipeDetailsView::id).toList();
+        recipeManagementRepository.deleteIngredientsByRecipeIdIn(ids);
+        int deleted = recipeManagementRepository.deleteByIdIn(ids);
+        for (RecipeDetailsView recipe : recipes) {
+            applicationEventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangeType.DELETED,
+                    RecipeMapper.INSTANCE.fromRecipeDetailsView(recipe), null));
+        }
+        return deleted;
+    }
+
+    /**
+     * The distinct ids of the request, or the ids of all the recipes matching the filter when there are none. The
+     * matching ids are read from the database once, before the first chunk.
+     */
+    private List<Long> selectIds(RecipeBulkRequest recipeBulkRequest) {
+        if (!CollectionUtils.isEmpty(recipeBulkRequest.getIds())) {
+            return recipeBulkRequest.getIds().stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+        }
+        RecipeFilterRequest filter = recipeBulkRequest.getFilter();
+        if (null == filter || RecipeMetrics.NO_FILTERS.equals(RecipeMetrics.filters(filter))) {
+            return List.of();
+        }
+        return recipeManagementRepository.findIds(filter, Pageable.unpaged());
+    }
+
+    /**
+     * The outcome of one chunk, only added to the result once its transaction committed.
+     */
+    private record ChunkResult(int matched, int changed, List<Long> missingIds) {
+    }
+}
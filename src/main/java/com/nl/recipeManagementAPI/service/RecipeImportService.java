@@ -0,0 +1,17 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeImportReport;
+
+import java.util.Iterator;
+
+/**
+ * @author Firoz
+ * Type RecipeImportService
+ * <p>
+ * Enables the bulk import of recipes.
+ */
+public interface RecipeImportService {
+
+    RecipeImportReport importRecipes(Iterator<RecipeDetails> recipes);
+}
@@ -0,0 +1,210 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.enums.RecipeImportStatus;
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import com.nl.recipeManagementAPI.mapper.RecipeMapper;
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeImportReport;
+import com.nl.recipeManagementAPI.model.RecipeImportResult;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author Firoz
+ * Type RecipeImportServiceImpl
+ * Provides the implementation for RecipeImportService.
+ * <p>
+ * The recipes are read one by one and imported in chunks of the configured size, each chunk in its own transaction:
+ * the recipes of the chunk are validated, their names are checked against the database in one query and the new
+ * recipes are inserted with jdbc batching. The persistence context is cleared at the end of the transaction of every
+ * chunk, so the memory stays flat regardless of the size of the import.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class RecipeImportServiceImpl implements RecipeImportService {
+
+    private final RecipeManagementRepository recipeManagementRepository;
+
+    private final RecipeManagementProperties recipeManagementProperties;
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final IngredientCatalog ingredientCatalog;
+
+    /**
+     * Imports the recipes and reports the outcome of each of them in the order they were read.
+     * A recipe that cannot be read ends the import, the recipes read before it are still imported.
+     *
+     * @param recipes the recipes to be imported
+     * @return the per recipe results of the import
+     */
+    @Override
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "import"}, histogram = true)
+    public RecipeImportReport importRecipes(Iterator<RecipeDetails> recipes) {
+        RecipeImportReport report = new RecipeImportReport();
+        Set<String> importedNames = new HashSet<>();
+        int chunkSize = Math.max(1, recipeManagementProperties.getBulkImport().getChunkSize());
+        List<ImportItem> chunk = new ArrayList<>(chunkSize);
+        RecipeImportResult unreadable = null;
+        for (int index = 0; ; index++) {
+            try {
+                if (!recipes.hasNext()) {
+                    break;
+                }
+                chunk.add(new ImportItem(index, recipes.next()));
+            } catch (RuntimeException exception) {
+                log.warn("Unreadable recipe at index {}, ending the import", index, exception);
+                unreadable = new RecipeImportResult(index, null, RecipeImportStatus.INVALID, null,
+                        "Recipe could not be read, the remaining content is skipped: " + exception.getMessage());
+                break;
+            }
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, importedNames, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, importedNames, report);
+        }
+        if (null != unreadable) {
+            report.add(unreadable);
+        }
+        log.info("Import of {} recipes completed: created {}, conflicts {}, invalid {}, failed {}", report.getTotal(),
+                report.getCreated(), report.getConflicts(), report.getInvalid(), report.getFailed());
+        return report;
+    }
+
+    private void importChunk(List<ImportItem> chunk, Set<String> importedNames, RecipeImportReport report) {
+        RecipeImportResult[] results = new RecipeImportResult[chunk.size()];
+        List<ImportItem> candidates = new ArrayList<>(chunk.size());
+        for (int position = 0; position < chunk.size(); position++) {
+            ImportItem item = chunk.get(position);
+            String violations = validate(item.recipeDetails());
+            if (null != violations) {
+                results[position] = item.result(RecipeImportStatus.INVALID, null, violations);
+            } else if (!importedNames.add(item.recipeName())) {
+                results[position] = item.result(RecipeImportStatus.CONFLICT, null, "Recipe is repeated in the import with the name: " + item.recipeName());
+            } else {
+                candidates.add(item);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertChunk(chunk, candidates, results));
+        } catch (DataAccessException exception) {
+            log.error("Import of the recipes from index {} failed", chunk.get(0).index(), exception);
+            candidates.forEach(item -> results[item.index() - chunk.get(0).index()] = item.result(RecipeImportStatus.FAILED, null, exception.getMessage()));
+        }
+        for (RecipeImportResult result : results) {
+            report.add(result);
+        }
+    }
+
+    /**
+     * Checks the names of the candidates in one query and inserts the rest, the inserts are flushed in jdbc batches.
+     * The ingredients of the whole chunk are resolved against the ingredient catalog together. A recipe is always
+     * imported as a new recipe, any ids in the content are ignored.
+     */
+    private void insertChunk(List<ImportItem> chunk, List<ImportItem> candidates, RecipeImportResult[] results) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+        Set<String> existingNames = recipeManagementRepository.findExistingRecipeNames(candidates.stream()
+                .map(ImportItem::recipeName)
+                .collect(Collectors.toSet()));
+        List<ImportItem> newItems = new ArrayList<>(candidates.size());
+        for (ImportItem item : candidates) {
+            if (existingNames.contains(item.recipeName())) {
+                results[item.index() - chunk.get(0).index()] = item.result(RecipeImportStatus.CONFLICT, null, "Recipe already exists with the name: " + item.recipeName());
+            } else {
+                newItems.add(item);
+            }
+        }
+        Map<String, Ingredient> ingredients = ingredientCatalog.resolve(newItems.stream()
+                .flatMap(item -> item.recipeDetails().getIngredients().stream())
+                .map(RecipeIngredient::getName)
+                .toList());
+        List<Recipe> newRecipes = new ArrayList<>(newItems.size());
+        for (ImportItem item : newItems) {
+            Recipe recipe = RecipeMapper.INSTANCE.toRecipe(item.recipeDetails());
+            recipe.setId(null);
+            recipe.setIngredients(item.recipeDetails().getIngredients().stream()
+                    .map(RecipeIngredient::getName)
+                    .filter(StringUtils::isNotBlank)
+                    .map(name -> ingredients.get(Ingredient.normalizeName(name)))
+                    .collect(Collectors.toCollection(LinkedHashSet::new)));
+            newRecipes.add(recipe);
+        }
+        List<Recipe> savedRecipes = recipeManagementRepository.saveAll(newRecipes);
+        recipeManagementRepository.flush();
+        for (int position = 0; position < savedRecipes.size(); position++) {
+            ImportItem item = newItems.get(position);
+            RecipeDetails createdRecipe = RecipeMapper.INSTANCE.fromRecipe(savedRecipes.get(position));
+            results[item.index() - chunk.get(0).index()] = item.result(RecipeImportStatus.CREATED, createdRecipe.getId(), null);
+            applicationEventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangeType.CREATED, null, createdRecipe));
+        }
+        // the outbox entries of the chunk are written before its persistence context is released
+        recipeManagementRepository.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * The bean validation messages of the recipe, or null when it is valid.
+     */
+    private String validate(RecipeDetails recipeDetails) {
+        if (null == recipeDetails) {
+            return "Recipe is missing";
+        }
+        Set<ConstraintViolation<RecipeDetails>> violations = validator.validate(recipeDetails);
+        return violations.isEmpty() ? null : violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * A recipe of the import along with its position in the uploaded content.
+     */
+    private record ImportItem(int index, RecipeDetails recipeDetails) {
+
+        String recipeName() {
+            return recipeDetails.getRecipeName().trim().toLowerCase();
+        }
+
+        RecipeImportResult result(RecipeImportStatus status, Long id, String message) {
+            return new RecipeImportResult(index, null == recipeDetails ? null : recipeDetails.getRecipeName(), status, id, message);
+        }
+    }
+}
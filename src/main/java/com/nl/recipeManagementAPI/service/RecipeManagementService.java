@@ -1,9 +1,15 @@
 package com.nl.recipeManagementAPI.service;
 
+import com.nl.recipeManagementAPI.model.RecipeBatchRequest;
+import com.nl.recipeManagementAPI.model.RecipeBatchResult;
+import com.nl.recipeManagementAPI.model.RecipeChangeDetails;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
 import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipePage;
+import com.nl.recipeManagementAPI.model.RecipeVersion;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author Firoz
@@ -15,13 +21,23 @@ public interface RecipeManagementService {
 
     RecipeDetails createRecipe(RecipeDetails recipeDetails);
 
-    RecipeDetails updateRecipe(Long id, RecipeDetails recipeDetails);
+    RecipeDetails updateRecipe(Long id, RecipeDetails recipeDetails, Long expectedVersion);
 
     void deleteRecipe(Long recipeId);
 
     List<RecipeDetails> filterRecipes(RecipeFilterRequest recipeFilterRequest);
 
-    List<RecipeDetails> getAllRecipes();
+    RecipePage getAllRecipes(Long afterId, Integer pageSize);
+
+    void streamAllRecipes(Consumer<RecipeDetails> consumer);
 
     RecipeDetails getRecipe(String recipeName);
+
+    RecipeBatchResult getRecipes(RecipeBatchRequest recipeBatchRequest);
+
+    RecipeVersion getRecipeVersion(String recipeName);
+
+    List<RecipeVersion> getPageVersions(Long afterId, Integer pageSize);
+
+    List<RecipeChangeDetails> getChanges(Long since, Integer pageSize);
 }
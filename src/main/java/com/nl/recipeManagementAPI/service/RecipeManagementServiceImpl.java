@@ -1,28 +1,64 @@
 package com.nl.recipeManagementAPI.service;
 
+import com.nl.recipeManagementAPI.cache.RecipeSearchKey;
+import com.nl.recipeManagementAPI.coalescing.Coalesced;
+import com.nl.recipeManagementAPI.config.CacheConfig;
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.datasource.ReadYourWrites;
 import com.nl.recipeManagementAPI.entity.Ingredient;
 import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
 import com.nl.recipeManagementAPI.exception.RecipeExistsException;
 import com.nl.recipeManagementAPI.exception.RecipeNotFoundException;
+import com.nl.recipeManagementAPI.exception.RecipeVersionMismatchException;
+import com.nl.recipeManagementAPI.index.RecipeSearchIndex;
 import com.nl.recipeManagementAPI.mapper.RecipeMapper;
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
+import com.nl.recipeManagementAPI.model.RecipeBatchRequest;
+import com.nl.recipeManagementAPI.model.RecipeBatchResult;
+import com.nl.recipeManagementAPI.model.RecipeChangeDetails;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
 import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
 import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.model.RecipePage;
+import com.nl.recipeManagementAPI.model.RecipeVersion;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
+import com.nl.recipeManagementAPI.repository.RecipeChangeRepository;
+import com.nl.recipeManagementAPI.repository.RecipeDetailsView;
 import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
-import com.nl.recipeManagementAPI.repository.RecipeSearchSpecification;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.jpa.domain.Specification;
+import org.apache.commons.lang3.StringUtils;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -38,119 +74,417 @@ public class RecipeManagementServiceImpl implements RecipeManagementService {
 
     private final RecipeManagementRepository recipeManagementRepository;
 
+    private final RecipeManagementProperties recipeManagementProperties;
+
+    private final EntityManager entityManager;
+
+    private final CacheManager cacheManager;
+
+    private final RecipeSearchIndex recipeSearchIndex;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final IngredientCatalog ingredientCatalog;
+
+    private final RecipeMetrics recipeMetrics;
+
+    private final RecipeChangeRepository recipeChangeRepository;
+
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
+
     /**
      * Adds a recipe to the database
      *
      * @param recipeDetails the recipe to be saved
      * @return the created recipeDetails.
      */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "create"}, histogram = true)
     @Override
+    @Transactional
     public RecipeDetails createRecipe(RecipeDetails recipeDetails) {
-        log.info("Create recipe {}", recipeDetails);
+        log.info("Create recipe {} with {} ingredients", recipeDetails.getRecipeName(), ingredientCount(recipeDetails));
+        log.debug("Create recipe {}", recipeDetails);
         Optional<Recipe> recipe = recipeManagementRepository.findByRecipeName(recipeDetails.getRecipeName().trim().toLowerCase());
         if (recipe.isPresent()) {
             throw new RecipeExistsException("Recipe already exists with the name: " + recipeDetails.getRecipeName());
         }
         Recipe newRecipe = RecipeMapper.INSTANCE.toRecipe(recipeDetails);
+        newRecipe.setIngredients(resolveIngredients(recipeDetails.getIngredients()));
         Recipe savedRecipe = recipeManagementRepository.save(newRecipe);
-        return RecipeMapper.INSTANCE.fromRecipe(savedRecipe);
+        RecipeDetails createdRecipe = RecipeMapper.INSTANCE.fromRecipe(savedRecipe);
+        applicationEventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangeType.CREATED, null, createdRecipe));
+        return createdRecipe;
     }
 
     /**
      * Updates a Recipe, Gets the existing recipe by id compares the ingredients and other values updates the recipe
      * with the latest details.
+     * The update is rejected when the recipe is not at the expected version, a concurrent update of the same version
+     * fails on commit with an optimistic locking failure instead of overwriting it.
+     * A rename to the name of another recipe, which the unique index of the names rejects regardless of its case, fails
+     * with a {@link RecipeExistsException} like the creation of an existing recipe, the other violations propagate.
      *
      * @param newRecipeDetails The recipe to be updated.
+     * @param expectedVersion  the version the update is based on, null to update any version
      * @return
      */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "update"}, histogram = true)
     @Override
-    public RecipeDetails updateRecipe(Long id, RecipeDetails newRecipeDetails) {
-        log.info("Update recipe: {},{}", id, newRecipeDetails);
+    @Transactional
+    public RecipeDetails updateRecipe(Long id, RecipeDetails newRecipeDetails, Long expectedVersion) {
+        log.info("Update recipe {} with {} ingredients", id, ingredientCount(newRecipeDetails));
+        log.debug("Update recipe {}: {}", id, newRecipeDetails);
         Optional<Recipe> recipe = recipeManagementRepository.findById(id);
         if (recipe.isPresent()) {
-            log.info("Recipe found, updating the recipe");
+            log.debug("Recipe found, updating the recipe");
             Recipe recipeTobeUpdated = recipe.get();
+            if (null != expectedVersion && !expectedVersion.equals(recipeTobeUpdated.getVersion())) {
+                throw new RecipeVersionMismatchException("Recipe " + id + " is at version " + recipeTobeUpdated.getVersion()
+                        + " instead of " + expectedVersion);
+            }
+            RecipeDetails previousRecipe = RecipeMapper.INSTANCE.fromRecipe(recipeTobeUpdated);
             if (!CollectionUtils.isEmpty(newRecipeDetails.getIngredients())) {
-                recipeTobeUpdated.setIngredients(getDistinctIngredients(recipeTobeUpdated.getIngredients(), newRecipeDetails.getIngredients()));
+                addIngredients(recipeTobeUpdated.getIngredients(), newRecipeDetails.getIngredients());
             }
             recipeTobeUpdated.setRecipeName(newRecipeDetails.getRecipeName());
             recipeTobeUpdated.setCategory(Optional.ofNullable(newRecipeDetails.getCategory()).orElse(recipeTobeUpdated.getCategory()));
             recipeTobeUpdated.setInstructions(Optional.ofNullable(newRecipeDetails.getInstructions()).orElse(recipeTobeUpdated.getInstructions()));
             recipeTobeUpdated.setServings(Optional.ofNullable(newRecipeDetails.getServings()).orElse(recipeTobeUpdated.getServings()));
-            Recipe updatedRecipe = recipeManagementRepository.save(recipeTobeUpdated);
-            return RecipeMapper.INSTANCE.fromRecipe(updatedRecipe);
+            Recipe updatedRecipe;
+            try {
+                // flushed so that the updated recipe has the version and last modified of the change
+                updatedRecipe = recipeManagementRepository.saveAndFlush(recipeTobeUpdated);
+            } catch (DataIntegrityViolationException exception) {
+                if (isRecipeNameViolation(exception)) {
+                    throw new RecipeExistsException("Recipe already exists with the name: " + newRecipeDetails.getRecipeName());
+                }
+                throw exception;
+            }
+            RecipeDetails updatedRecipeDetails = RecipeMapper.INSTANCE.fromRecipe(updatedRecipe);
+            applicationEventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangeType.UPDATED, previousRecipe, updatedRecipeDetails));
+            return updatedRecipeDetails;
         } else {
             throw new RecipeNotFoundException("Recipe not found with the name: " + newRecipeDetails.getRecipeName());
         }
     }
 
     /**
-     * Deletes the recipe by id.
+     * Deletes the recipe by id, the recipe loaded for the change event is the one deleted so it is not looked up again.
      *
      * @param recipeId The recipe Id to be deleted.
      */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "delete"}, histogram = true)
     @Override
+    @Transactional
     public void deleteRecipe(Long recipeId) {
-        recipeManagementRepository.findById(recipeId).orElseThrow(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId));
-        recipeManagementRepository.deleteById(recipeId);
-        log.info("delete recipe" + recipeId);
+        Recipe recipe = recipeManagementRepository.findById(recipeId).orElseThrow(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId));
+        RecipeDetails deletedRecipe = RecipeMapper.INSTANCE.fromRecipe(recipe);
+        recipeManagementRepository.delete(recipe);
+        applicationEventPublisher.publishEvent(new RecipeChangedEvent(RecipeChangeType.DELETED, deletedRecipe, null));
+        log.info("Deleted recipe {}", recipeId);
     }
 
     /**
-     * Fetches all the recipes that satisfy the filter criteria.
-     * The search can be in the combination of Category, servings, include ingredients and exclude ingredients.
+     * Fetches a page of the recipes that satisfy the filter criteria.
+     * The search can be in the combination of Category, servings, instruction, required, optional and forbidden
+     * ingredients, the recipes containing more of the optional ingredients come first.
+     * The matching ids come from the in-memory search index when it is enabled and loaded, otherwise from the database.
+     * The latency and the number of recipes found are recorded per combination of filters.
+     * The matching ids of the page are cached by the normalized filters until a change of a recipe that may match them
+     * or they expire, the recipes themselves are always read.
+     * The concurrent searches with the same criteria are run once and share the recipes found.
      *
      * @param recipeFilterRequest The search criteria
      * @return
      */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "search"}, histogram = true)
+    @Coalesced("search")
     @Override
+    @Transactional(readOnly = true)
     public List<RecipeDetails> filterRecipes(RecipeFilterRequest recipeFilterRequest) {
-        log.info("filter recipe with criteria {}", recipeFilterRequest);
-        Specification<Recipe> specification = RecipeSearchSpecification.filterByCriteria(recipeFilterRequest);
-        List<Recipe> recipes = recipeManagementRepository.findAll(specification);
-        log.info("Recipes found with the criteria: " + recipes.size());
-        return recipes.stream()
-                .map(recipe -> RecipeMapper.INSTANCE.fromRecipe(recipe))
+        log.debug("filter recipe with criteria {}", recipeFilterRequest);
+        long start = System.nanoTime();
+        Pageable pageable = PageRequest.of(Optional.ofNullable(recipeFilterRequest.getPage()).orElse(0),
+                pageSize(recipeFilterRequest.getPageSize()));
+        List<Long> ids = findIds(recipeFilterRequest, pageable);
+        Map<Long, RecipeDetailsView> recipesById = findDetails(ids).stream()
+                .collect(Collectors.toMap(RecipeDetailsView::id, Function.identity()));
+        List<RecipeDetails> recipes = ids.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .map(RecipeMapper.INSTANCE::fromRecipeDetailsView)
                 .collect(Collectors.toList());
+        String filters = RecipeMetrics.filters(recipeFilterRequest);
+        recipeMetrics.recordSearch(filters, recipes.size(), System.nanoTime() - start);
+        log.info("Search by {} found {} recipes", filters, recipes.size());
+        return recipes;
     }
 
     /**
-     * Gets all the available recipes in the system
+     * Gets a page of the available recipes in the system using keyset pagination on the recipe id.
+     * The page size falls back to the configured default and is capped by the configured maximum.
+     * The recipes and their ingredients are read in one query as projections, without loading the entities.
      *
-     * @return lis to recipes found.
+     * @param afterId  the id of the last recipe of the previous page, null for the first page
+     * @param pageSize the number of recipes in the page
+     * @return the page of recipes and the cursor for the next page.
      */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "getAll"}, histogram = true)
     @Override
-    public List<RecipeDetails> getAllRecipes() {
-        List<Recipe> recipes = recipeManagementRepository.findAll();
-        log.info("get all recipes: total recipes found: " + recipes.size());
-        return recipes.stream()
-                .map(recipe -> RecipeMapper.INSTANCE.fromRecipe(recipe))
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public RecipePage getAllRecipes(Long afterId, Integer pageSize) {
+        int size = pageSize(pageSize);
+        List<RecipeDetailsView> recipes = recipeManagementRepository.findDetailsAfter(Optional.ofNullable(afterId).orElse(0L),
+                Limit.of(size));
+        log.info("get all recipes after id {}: recipes found: {}", afterId, recipes.size());
+        recipeMetrics.recordPage(recipes.size());
+        Long nextCursor = recipes.size() < size ? null : recipes.get(recipes.size() - 1).id();
+        return new RecipePage(recipes.stream()
+                .map(RecipeMapper.INSTANCE::fromRecipeDetailsView)
+                .collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Walks through all the available recipes in the system and hands each mapped recipe to the consumer as it is read.
+     * Every recipe is detached from the persistence context once mapped, so the memory stays flat regardless of the
+     * number of recipes.
+     *
+     * @param consumer receives the recipes in the order of their id
+     */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "stream"}, histogram = true)
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllRecipes(Consumer<RecipeDetails> consumer) {
+        try (Stream<Recipe> recipes = recipeManagementRepository.streamAllByOrderByIdAsc()) {
+            recipes.forEach(recipe -> {
+                consumer.accept(RecipeMapper.INSTANCE.fromRecipe(recipe));
+                entityManager.detach(recipe);
+            });
+        }
     }
 
     /**
      * Gets recipe by the given name
      * or throws RecipeNotFoundException if not found.
+     * The found recipes are served from the recipe by name cache until they are changed, deleted or expire.
+     * A miss is cached as it is loaded rather than once the transaction commits, and not at all when the cache was
+     * evicted while it was loading, so that the recipe read before a change committed in the meantime is not cached.
+     * The miss is loaded outside the lock of the cache, see {@link com.nl.recipeManagementAPI.cache.SingleFlightCaffeineCache},
+     * and from the primary: a replica lagging behind a change would otherwise cache the recipe before the change for
+     * all the clients once the change evicted it.
+     * The concurrent lookups of the same name are run once and share the recipe or the RecipeNotFoundException, so
+     * that a miss is read from the database once however many requests look it up at the same time.
      *
      * @param recipeName
      * @return
      */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "get"}, histogram = true)
+    @Coalesced("get")
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.RECIPE_BY_NAME_CACHE, key = "#recipeName", sync = true)
     public RecipeDetails getRecipe(String recipeName) {
-        return RecipeMapper.INSTANCE.fromRecipe(getRecipeByName(recipeName));
+        return onPrimary(() -> RecipeMapper.INSTANCE.fromRecipe(getRecipeByName(recipeName)));
+    }
+
+    /**
+     * Gets the recipes of the given ids and names with one query, the recipes and their ingredients are read as
+     * projections. The names are looked up normalized like the names of the created recipes, the ids and names no
+     * recipe was found for are returned as they were requested.
+     *
+     * @param recipeBatchRequest the ids and the names of the recipes
+     * @return the recipes found in the order they were requested and the missing ids and names
+     */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "batch"}, histogram = true)
+    @Override
+    @Transactional(readOnly = true)
+    public RecipeBatchResult getRecipes(RecipeBatchRequest recipeBatchRequest) {
+        List<Long> ids = Optional.ofNullable(recipeBatchRequest.getIds()).orElse(List.of()).stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        List<String> names = Optional.ofNullable(recipeBatchRequest.getNames()).orElse(List.of()).stream()
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .toList();
+        if (ids.isEmpty() && names.isEmpty()) {
+            return new RecipeBatchResult(List.of(), List.of(), List.of());
+        }
+        List<RecipeDetailsView> found = recipeManagementRepository.findDetailsByIdInOrRecipeNameIn(ids, names.stream()
+                .map(name -> name.trim().toLowerCase())
+                .collect(Collectors.toSet()));
+        Map<Long, RecipeDetailsView> recipesById = found.stream()
+                .collect(Collectors.toMap(RecipeDetailsView::id, Function.identity()));
+        Map<String, RecipeDetailsView> recipesByName = found.stream()
+                .collect(Collectors.toMap(RecipeDetailsView::recipeName, Function.identity()));
+        Map<Long, RecipeDetails> recipes = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            RecipeDetailsView recipe = recipesById.get(id);
+            if (null == recipe) {
+                missingIds.add(id);
+            } else {
+                recipes.computeIfAbsent(recipe.id(), recipeId -> RecipeMapper.INSTANCE.fromRecipeDetailsView(recipe));
+            }
+        }
+        List<String> missingNames = new ArrayList<>();
+        for (String name : names) {
+            RecipeDetailsView recipe = recipesByName.get(name.trim().toLowerCase());
+            if (null == recipe) {
+                missingNames.add(name);
+            } else {
+                recipes.computeIfAbsent(recipe.id(), recipeId -> RecipeMapper.INSTANCE.fromRecipeDetailsView(recipe));
+            }
+        }
+        log.info("Batch of {} ids and {} names found {} recipes", ids.size(), names.size(), recipes.size());
+        return new RecipeBatchResult(new ArrayList<>(recipes.values()), missingIds, missingNames);
+    }
+
+    /**
+     * Reads the version of the recipe by the given name without loading the recipe,
+     * or throws RecipeNotFoundException if not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public RecipeVersion getRecipeVersion(String recipeName) {
+        return recipeManagementRepository.findVersionByRecipeName(recipeName)
+                .orElseThrow(() -> new RecipeNotFoundException("No Recipe found with the name: " + recipeName));
+    }
+
+    /**
+     * Reads the versions of the recipes of the same page as {@link #getAllRecipes(Long, Integer)} without loading them.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeVersion> getPageVersions(Long afterId, Integer pageSize) {
+        return recipeManagementRepository.findVersionsAfter(Optional.ofNullable(afterId).orElse(0L), Limit.of(pageSize(pageSize)));
+    }
+
+    /**
+     * Reads the published changes of the recipes after the given position of the change feed, in the order of the feed.
+     *
+     * @param since    the position of the last change the consumer has seen, null or 0 to start from the oldest change
+     * @param pageSize the maximum number of changes, defaults to the configured page size
+     * @return the changes after the position
+     */
+    @Timed(value = RecipeMetrics.OPERATION_TIMER, extraTags = {"operation", "changes"}, histogram = true)
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeChangeDetails> getChanges(Long since, Integer pageSize) {
+        return recipeChangeRepository.findChangesAfter(Optional.ofNullable(since).orElse(0L), Limit.of(pageSize(pageSize)));
+    }
+
+    /**
+     * First phase of the filtered reads, the ids of the page of matching recipes from the search cache or, on a miss,
+     * from the in-memory search index when it is enabled and loaded, otherwise from the database. The ids of a miss are
+     * read from the primary, like the recipes by name they are cached for every client.
+     */
+    private List<Long> findIds(RecipeFilterRequest recipeFilterRequest, Pageable pageable) {
+        Supplier<List<Long>> search = () -> recipeSearchIndex.findIds(recipeFilterRequest, pageable)
+                .orElseGet(() -> recipeManagementRepository.findIds(recipeFilterRequest, pageable));
+        Cache cache = cacheManager.getCache(CacheConfig.RECIPE_SEARCH_CACHE);
+        if (null == cache) {
+            return search.get();
+        }
+        try {
+            return cache.get(RecipeSearchKey.of(recipeFilterRequest, pageable).toString(), () -> onPrimary(search));
+        } catch (Cache.ValueRetrievalException exception) {
+            throw exception.getCause() instanceof RuntimeException cause ? cause : exception;
+        }
+    }
+
+    /**
+     * Runs the read on the primary when the reads are routed to a replica.
+     */
+    private <T> T onPrimary(Supplier<T> read) {
+        ReadYourWrites primary = readYourWrites.getIfAvailable();
+        return null == primary ? read.get() : primary.onPrimary(read);
     }
 
     private Recipe getRecipeByName(String name) {
-        return recipeManagementRepository.findByRecipeName(name)
+        return recipeManagementRepository.findWithIngredientsByRecipeName(name)
                 .orElseThrow(() -> new RecipeNotFoundException("No Recipe found with the name: " + name));
     }
 
-    private Set<Ingredient> getDistinctIngredients(Set<Ingredient> ingredients, Set<RecipeIngredient> newIngredients) {
-        Set<Ingredient> newIngredientSet = newIngredients.stream()
-                .map(recipeIngredient -> new Ingredient(recipeIngredient.getId(), recipeIngredient.getName()))
-                .collect(Collectors.toSet());
-        return new LinkedHashSet<>(Stream.of(ingredients, newIngredientSet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toCollection(() -> new TreeSet<>(Comparator.comparing(Ingredient::getName)))));
+    /**
+     * The requested page size, or the configured default when absent, capped by the configured maximum.
+     */
+    private int pageSize(Integer pageSize) {
+        RecipeManagementProperties.Pagination pagination = recipeManagementProperties.getPagination();
+        return Math.min(Optional.ofNullable(pageSize).filter(value -> value > 0).orElse(pagination.getDefaultPageSize()),
+                pagination.getMaxPageSize());
+    }
+
+    /**
+     * The number of ingredients of the recipe, logged instead of the whole recipe.
+     */
+    /**
+     * Whether the violation is the one of the unique recipe names. The flush of an update also writes the other columns
+     * and the ingredients of the recipe, their violations are no name conflicts.
+     */
+    private static boolean isRecipeNameViolation(DataIntegrityViolationException exception) {
+        if (!(exception.getCause() instanceof ConstraintViolationException constraintViolation)
+                || null == constraintViolation.getConstraintName()) {
+            return false;
+        }
+        String constraintName = constraintViolation.getConstraintName().toLowerCase();
+        return constraintName.contains(Recipe.NAME_CONSTRAINT) || constraintName.contains(Recipe.NAME_LOWER_INDEX);
+    }
+
+    private static int ingredientCount(RecipeDetails recipeDetails) {
+        return null == recipeDetails.getIngredients() ? 0 : recipeDetails.getIngredients().size();
+    }
+
+    /**
+     * Second phase of the filtered reads, reads the recipes of the already selected ids along with their ingredients
+     * in one query, as projections that are not managed by the persistence context.
+     */
+    private List<RecipeDetailsView> findDetails(List<Long> ids) {
+        return ids.isEmpty() ? List.of() : recipeManagementRepository.findDetailsByIdIn(ids);
+    }
+
+    /**
+     * The catalog entries of the ingredients of a recipe, resolved with one lookup for all the names.
+     */
+    private Set<Ingredient> resolveIngredients(Set<RecipeIngredient> recipeIngredients) {
+        if (CollectionUtils.isEmpty(recipeIngredients)) {
+            return new LinkedHashSet<>();
+        }
+        return new LinkedHashSet<>(ingredientCatalog.resolve(recipeIngredients.stream()
+                .map(RecipeIngredient::getName)
+                .toList()).values());
+    }
+
+    /**
+     * Adds the ingredients the recipe does not have yet to its managed collection in place, the existing ingredients
+     * are left untouched so that only the recipe_ingredient rows of the added ingredients are inserted. Only the new
+     * names are resolved against the ingredient catalog.
+     */
+    private void addIngredients(Set<Ingredient> ingredients, Set<RecipeIngredient> newIngredients) {
+        List<String> newNames = newIngredientNames(ingredients, newIngredients);
+        if (!newNames.isEmpty()) {
+            ingredients.addAll(ingredientCatalog.resolve(newNames).values());
+        }
+    }
+
+    /**
+     * The normalized names of the new ingredients that are not among the ingredients yet, package private for the
+     * benchmarks. A single set of the known names, sized up front, is used to find them.
+     */
+    static List<String> newIngredientNames(Set<Ingredient> ingredients, Collection<RecipeIngredient> newIngredients) {
+        Set<String> names = new HashSet<>((int) ((ingredients.size() + newIngredients.size()) / 0.75f) + 1);
+        for (Ingredient ingredient : ingredients) {
+            names.add(ingredient.getName());
+        }
+        List<String> newNames = new ArrayList<>();
+        for (RecipeIngredient newIngredient : newIngredients) {
+            if (StringUtils.isNotBlank(newIngredient.getName())) {
+                String name = Ingredient.normalizeName(newIngredient.getName());
+                if (names.add(name)) {
+                    newNames.add(name);
+                }
+            }
+        }
+        return newNames;
     }
 }
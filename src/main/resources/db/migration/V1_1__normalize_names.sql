@@ -0,0 +1,84 @@
+-- Normalizes the ingredient names of a database created by ddl-auto the way the application stores them, trimmed and
+-- in lower case, before the unique indexes of the names are created. A new database has no rows and nothing to change.
+
+-- The recipes whose names only differ by their case cannot keep them under the unique index, and which of them keeps
+-- the name is for their owners to decide. The migration fails listing them, nothing is changed, rename or delete all
+-- but one of every group and start the application again.
+DO
+$$
+    DECLARE
+        conflicts TEXT;
+    BEGIN
+        SELECT string_agg(duplicates.recipe_name || ' (ids ' || duplicates.ids || ')', ', ' ORDER BY duplicates.recipe_name)
+        INTO conflicts
+        FROM (SELECT lower(recipe_name) AS recipe_name, string_agg(id::TEXT, ', ' ORDER BY id) AS ids
+              FROM recipe
+              GROUP BY lower(recipe_name)
+              HAVING count(*) > 1) duplicates;
+        IF conflicts IS NOT NULL THEN
+            RAISE EXCEPTION 'Recipe names that only differ by their case, rename all but one recipe of each: %', conflicts;
+        END IF;
+    END
+$$;
+
+-- The ingredients of the same normalized name are merged into the one with the lowest id.
+CREATE TEMPORARY TABLE ingredient_merge ON COMMIT DROP AS
+SELECT id, kept_id
+FROM (SELECT id, min(id) OVER (PARTITION BY lower(btrim(name))) AS kept_id FROM ingredient) ingredients
+WHERE id <> kept_id;
+
+INSERT INTO recipe_ingredient (recipe_id, ingredient_id)
+SELECT DISTINCT recipe_ingredient.recipe_id, ingredient_merge.kept_id
+FROM recipe_ingredient
+         JOIN ingredient_merge ON ingredient_merge.id = recipe_ingredient.ingredient_id
+ON CONFLICT DO NOTHING;
+
+DELETE FROM recipe_ingredient USING ingredient_merge WHERE recipe_ingredient.ingredient_id = ingredient_merge.id;
+
+DELETE FROM ingredient USING ingredient_merge WHERE ingredient.id = ingredient_merge.id;
+
+UPDATE ingredient SET name = lower(btrim(name)) WHERE name <> lower(btrim(name));
+
+-- A table created by an older ddl-auto may lack the unique constraint V1 declares on the ingredient name.
+DO
+$$
+    BEGIN
+        IF NOT EXISTS (SELECT 1
+                       FROM pg_index
+                                JOIN pg_attribute ON pg_attribute.attrelid = pg_index.indrelid
+                           AND pg_attribute.attnum = pg_index.indkey[0]
+                       WHERE pg_index.indrelid = 'ingredient'::regclass
+                         AND pg_index.indisunique
+                         AND pg_index.indnatts = 1
+                         AND pg_attribute.attname = 'name') THEN
+            ALTER TABLE ingredient ADD CONSTRAINT ingredient_name_key UNIQUE (name);
+        END IF;
+    END
+$$;
+
+-- The unique constraint of the recipe names gets the name V1 gives it, the application recognizes a rename conflict by
+-- it. A table created by ddl-auto has a generated name instead.
+DO
+$$
+    DECLARE
+        name_constraint TEXT;
+    BEGIN
+        SELECT pg_constraint.conname
+        INTO name_constraint
+        FROM pg_constraint
+                 JOIN pg_attribute ON pg_attribute.attrelid = pg_constraint.conrelid
+            AND pg_constraint.conkey = ARRAY [pg_attribute.attnum]
+        WHERE pg_constraint.conrelid = 'recipe'::regclass
+          AND pg_constraint.contype = 'u'
+          AND pg_attribute.attname = 'recipe_name'
+        LIMIT 1;
+        IF name_constraint IS NULL THEN
+            ALTER TABLE recipe ADD CONSTRAINT recipe_recipe_name_key UNIQUE (recipe_name);
+        ELSIF name_constraint <> 'recipe_recipe_name_key' THEN
+            EXECUTE format('ALTER TABLE recipe RENAME CONSTRAINT %I TO recipe_recipe_name_key', name_constraint);
+        END IF;
+    END
+$$;
+
+-- The recipe names are unique regardless of their case from here on, V2 finds the index in place.
+CREATE UNIQUE INDEX IF NOT EXISTS recipe_name_lower_idx ON recipe (lower(recipe_name));
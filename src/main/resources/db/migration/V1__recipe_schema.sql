@@ -0,0 +1,31 @@
+-- The schema of the Recipe and Ingredient entities, as it was generated by ddl-auto=update.
+-- Every statement is idempotent, so a database created by ddl-auto is baselined at version 0 and brought to it.
+CREATE SEQUENCE IF NOT EXISTS recipe_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS ingredient_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS recipe
+(
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    recipe_name   VARCHAR(255) NOT NULL UNIQUE,
+    category      VARCHAR(255) CHECK (category IN ('VEGETARIAN', 'NON_VEGETARIAN', 'VEGAN')),
+    instructions  VARCHAR(255),
+    servings      INTEGER      NOT NULL,
+    version       BIGINT       DEFAULT 0 NOT NULL,
+    last_modified TIMESTAMP(6) WITH TIME ZONE
+);
+
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE recipe ADD COLUMN IF NOT EXISTS last_modified TIMESTAMP(6) WITH TIME ZONE;
+
+CREATE TABLE IF NOT EXISTS ingredient
+(
+    id   BIGINT       NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS recipe_ingredient
+(
+    recipe_id     BIGINT NOT NULL REFERENCES recipe,
+    ingredient_id BIGINT NOT NULL REFERENCES ingredient,
+    PRIMARY KEY (recipe_id, ingredient_id)
+);
@@ -0,0 +1,21 @@
+-- Indexes of the search predicates of RecipeSearchRepositoryImpl and RecipeSearchSpecification.
+
+-- category, optionally with servings; the id is included for index only scans of the id search
+CREATE INDEX IF NOT EXISTS recipe_category_servings_idx ON recipe (category, servings) INCLUDE (id);
+
+-- servings without category
+CREATE INDEX IF NOT EXISTS recipe_servings_idx ON recipe (servings) INCLUDE (id);
+
+-- the recipes of an ingredient; the primary key (recipe_id, ingredient_id) only serves the ingredients of a recipe
+CREATE INDEX IF NOT EXISTS recipe_ingredient_ingredient_idx ON recipe_ingredient (ingredient_id, recipe_id);
+
+-- the recipe names are unique regardless of their case
+CREATE UNIQUE INDEX IF NOT EXISTS recipe_name_lower_idx ON recipe (lower(recipe_name));
+
+-- instruction: lower(instructions) like '%...%'
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS recipe_instructions_trgm_idx ON recipe USING GIN (lower(instructions) gin_trgm_ops);
+
+-- instructionQuery: full-text search, the expression must match FullTextFunctionContributor
+CREATE INDEX IF NOT EXISTS recipe_instructions_fts_idx
+    ON recipe USING GIN (to_tsvector('simple', coalesce(instructions, '')));
@@ -0,0 +1,20 @@
+-- The outbox of the recipe changes, the changes are numbered with their position in the change feed once published.
+CREATE SEQUENCE IF NOT EXISTS recipe_change_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS recipe_change
+(
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    position     BIGINT UNIQUE,
+    recipe_id    BIGINT       NOT NULL,
+    recipe_name  VARCHAR(255) NOT NULL,
+    change_type  VARCHAR(255) NOT NULL CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED')),
+    payload      TEXT,
+    changed_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+-- The publisher reads the pending changes in the order they were written
+CREATE INDEX IF NOT EXISTS recipe_change_pending_idx ON recipe_change (id) WHERE position IS NULL;
+
+-- The retention deletes the published changes by age
+CREATE INDEX IF NOT EXISTS recipe_change_published_at_idx ON recipe_change (published_at);
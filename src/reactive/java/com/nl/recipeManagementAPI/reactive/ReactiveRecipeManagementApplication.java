@@ -0,0 +1,38 @@
+package com.nl.recipeManagementAPI.reactive;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.redis.RedisRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type ReactiveRecipeManagementApplication
+ * Runs the non-blocking variant of the recipe management api on WebFlux and R2DBC. It serves the same /recipe,
+ * /recipes and /recipe/search contract over the same tables as the servlet application, whose JPA and JDBC setup is
+ * left out. All the beans of the variant belong to the reactive profile, so the component scan of the servlet
+ * application skips them. The variant has no shared cache, so the redis connection is left out as well.
+ */
+@Profile(ReactiveRecipeManagementApplication.PROFILE)
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class, RedisAutoConfiguration.class, RedisReactiveAutoConfiguration.class,
+        RedisRepositoriesAutoConfiguration.class})
+@EnableConfigurationProperties(RecipeManagementProperties.class)
+public class ReactiveRecipeManagementApplication {
+
+    public static final String PROFILE = "reactive";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveRecipeManagementApplication.class)
+                .profiles(PROFILE)
+                .run(args);
+    }
+}
@@ -0,0 +1,108 @@
+package com.nl.recipeManagementAPI.reactive.controller;
+
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.reactive.ReactiveRecipeManagementApplication;
+import com.nl.recipeManagementAPI.reactive.service.ReactiveRecipeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static com.nl.recipeManagementAPI.controller.RecipeManagementController.NEXT_CURSOR_HEADER;
+
+/**
+ * @author Firoz
+ * @version 0.0.1
+ * <p>
+ * Type ReactiveRecipeController
+ * Exposes the same end points as the RecipeManagementController on WebFlux. The streamed and searched recipes are
+ * written as they are emitted, requested from the database only as fast as the client reads them.
+ */
+@RestController
+@RequiredArgsConstructor
+@Profile(ReactiveRecipeManagementApplication.PROFILE)
+public class ReactiveRecipeController {
+
+    private final ReactiveRecipeService reactiveRecipeService;
+
+    @Operation(summary = "Create a new recipe", description = "Adds a new recipe to the system with category." +
+            "Allowed Categories: VEGETARIAN,NON_VEGETARIAN,VEGAN")
+    @ApiResponse(responseCode = "201", description = "Recipe created successfully")
+    @PostMapping(path = "/recipe", consumes = "application/json", produces = "application/json")
+    public Mono<ResponseEntity<RecipeDetails>> addRecipe(@Valid @RequestBody final RecipeDetails recipeDetails) {
+        return reactiveRecipeService.createRecipe(recipeDetails)
+                .map(createdRecipe -> new ResponseEntity<>(createdRecipe, HttpStatus.CREATED));
+    }
+
+    @Operation(summary = "Update a Recipe", description = "Updates an existing Recipe details.")
+    @PutMapping(path = "/recipe/{id}", consumes = "application/json", produces = "application/json")
+    public Mono<RecipeDetails> updateRecipe(@PathVariable("id") Long id, @Valid @RequestBody final RecipeDetails newRecipeDetails) {
+        return reactiveRecipeService.updateRecipe(id, newRecipeDetails);
+    }
+
+    /**
+     * Retrieves a page of the available Recipes ordered by id, the id to continue from is returned in the
+     * X-Next-Cursor header, which is absent on the last page.
+     */
+    @Operation(summary = "Get all Recipes", description = "Retrieves the available recipes in the system page by page, " +
+            "pass the X-Next-Cursor response header as afterId to fetch the next page.")
+    @GetMapping(path = "/recipes", produces = "application/json")
+    public Mono<ResponseEntity<List<RecipeDetails>>> getAllRecipes(@RequestParam(name = "afterId", required = false) final Long afterId,
+                                                                   @RequestParam(name = "pageSize", required = false) final Integer pageSize) {
+        return reactiveRecipeService.getAllRecipes(afterId, pageSize)
+                .map(recipePage -> {
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                    if (null != recipePage.getNextCursor()) {
+                        response.header(NEXT_CURSOR_HEADER, String.valueOf(recipePage.getNextCursor()));
+                    }
+                    return response.body(recipePage.getRecipes());
+                });
+    }
+
+    @Operation(summary = "Stream all Recipes", description = "Streams all the recipes in the system as newline delimited json.")
+    @GetMapping(path = "/recipes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<RecipeDetails> streamAllRecipes() {
+        return reactiveRecipeService.streamAllRecipes();
+    }
+
+    @Operation(summary = "Get Recipe by name", description = "Retrieves a specific recipe based on its name.")
+    @GetMapping(path = "/recipe/{recipeName}", produces = "application/json")
+    public Mono<RecipeDetails> getRecipe(@PathVariable("recipeName") final String recipeName) {
+        return reactiveRecipeService.getRecipe(recipeName);
+    }
+
+    @Operation(summary = "Delete a recipe", description = "Removes a recipe from the system.")
+    @DeleteMapping(path = "/recipe/{recipeId}", produces = "application/json")
+    public Mono<ResponseEntity<Void>> deleteRecipe(@PathVariable("recipeId") final Long recipeId) {
+        return reactiveRecipeService.deleteRecipe(recipeId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Searches the recipes, a json array by default or one recipe per line when newline delimited json is accepted.
+     */
+    @Operation(summary = "Search for recipes based on criteria recipe", description = "Search can be combination of servings,category,includesIngredient,excludesIngredient," +
+            "requiredIngredients,optionalIngredients,forbiddenIngredients. Results are ranked by the number of optional ingredients " +
+            "matched and paginated with page and pageSize. Allowed Categories: VEGETARIAN,NON_VEGETARIAN,VEGAN")
+    @PostMapping(path = "/recipe/search", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RecipeDetails> filterRecipes(@RequestBody @Valid final RecipeFilterRequest recipeFilterRequest) {
+        return reactiveRecipeService.filterRecipes(recipeFilterRequest);
+    }
+}
@@ -0,0 +1,60 @@
+package com.nl.recipeManagementAPI.reactive.exception;
+
+import com.nl.recipeManagementAPI.exception.RecipeExistsException;
+import com.nl.recipeManagementAPI.exception.RecipeNotFoundException;
+import com.nl.recipeManagementAPI.model.ErrorDetails;
+import com.nl.recipeManagementAPI.reactive.ReactiveRecipeManagementApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exception Handler for the reactive variant of the recipe management api, maps the exceptions to the same
+ * responses as the RecipeManagementControllerAdvice.
+ *
+ * @author Firoz
+ * @version 0.0.1
+ */
+@Slf4j
+@RestControllerAdvice
+@Profile(ReactiveRecipeManagementApplication.PROFILE)
+public class ReactiveRecipeControllerAdvice {
+
+    private static final String EXCEPTION_OCCURRED = "Exception occurred :{}";
+
+    @ExceptionHandler(RecipeNotFoundException.class)
+    public ResponseEntity<ErrorDetails> handleRecipeNotFoundException(RecipeNotFoundException exception,
+                                                                      ServerWebExchange exchange) {
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
+        return new ResponseEntity<>(getErrorDetails(exception.getMessage(), exchange), HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(RecipeExistsException.class)
+    public ResponseEntity<ErrorDetails> handleRecipeExistsException(RecipeExistsException exception, ServerWebExchange exchange) {
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
+        return new ResponseEntity<>(getErrorDetails(exception.getMessage(), exchange), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorDetails> handleGlobalException(WebExchangeBindException exception, ServerWebExchange exchange) {
+        log.warn(EXCEPTION_OCCURRED, exception.getMessage());
+        return ResponseEntity.badRequest().body(getErrorDetails(exception.getMessage(), exchange));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorDetails> handleGlobalException(Exception exception, ServerWebExchange exchange) {
+        log.error(EXCEPTION_OCCURRED, exception.getMessage(), exception);
+        return new ResponseEntity<>(getErrorDetails(exception.getMessage(), exchange), HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private ErrorDetails getErrorDetails(String message, ServerWebExchange exchange) {
+        return new ErrorDetails(LocalDateTime.now(), message, "uri=" + exchange.getRequest().getPath());
+    }
+}
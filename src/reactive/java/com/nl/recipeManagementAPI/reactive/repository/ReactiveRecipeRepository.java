@@ -0,0 +1,324 @@
+package com.nl.recipeManagementAPI.reactive.repository;
+
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.index.InstructionSearchIndex;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.reactive.ReactiveRecipeManagementApplication;
+import com.nl.recipeManagementAPI.repository.FullTextFunctionContributor;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author Firoz
+ * <p>
+ * Type ReactiveRecipeRepository
+ * Non-blocking access to the recipe, ingredient and recipe_ingredient tables through R2DBC. The recipes are read with
+ * their ingredients in one query ordered by the recipe id, and the rows of a recipe are folded into one RecipeDetails
+ * as they arrive, so a long result is streamed at the pace of the subscriber instead of being collected first.
+ * The ids come from the same sequences as the servlet application, each call to nextval reserves a whole block of
+ * the pooled allocation so the ids of both variants never collide.
+ */
+@Profile(ReactiveRecipeManagementApplication.PROFILE)
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRecipeRepository {
+
+    /**
+     * The number of rows the driver fetches per round trip while streaming.
+     */
+    private static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_RECIPES = "select r.id, r.recipe_name, r.category, r.instructions, r.servings, " +
+            "r.version, r.last_modified, i.id as ingredient_id, i.name as ingredient_name from ";
+
+    private static final String JOIN_INGREDIENTS = " left join recipe_ingredient ri on ri.recipe_id = r.id " +
+            "left join ingredient i on i.id = ri.ingredient_id";
+
+    private static final String INSTRUCTIONS_VECTOR = "to_tsvector('simple', coalesce(r.instructions, ''))";
+
+    private static final String INSTRUCTIONS_QUERY = "to_tsquery('simple', :instructionQuery)";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<RecipeDetails> findById(Long id) {
+        return recipes(databaseClient.sql(SELECT_RECIPES + "recipe r" + JOIN_INGREDIENTS + " where r.id = :id")
+                .bind("id", id))
+                .next();
+    }
+
+    public Mono<RecipeDetails> findByRecipeName(String recipeName) {
+        return recipes(databaseClient.sql(SELECT_RECIPES + "recipe r" + JOIN_INGREDIENTS + " where r.recipe_name = :recipeName")
+                .bind("recipeName", recipeName))
+                .next();
+    }
+
+    public Mono<Boolean> existsByRecipeName(String recipeName) {
+        return databaseClient.sql("select count(*) from recipe where recipe_name = :recipeName")
+                .bind("recipeName", recipeName)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    /**
+     * The recipes after the given id ordered by id, the ids of the page are selected first so that the limit applies
+     * to the recipes and not to their ingredient rows.
+     */
+    public Flux<RecipeDetails> findAfter(long afterId, int limit) {
+        return recipes(databaseClient.sql(SELECT_RECIPES + "(select id from recipe where id > :afterId order by id limit :limit) page " +
+                        "join recipe r on r.id = page.id" + JOIN_INGREDIENTS + " order by r.id")
+                .bind("afterId", afterId)
+                .bind("limit", limit));
+    }
+
+    public Flux<RecipeDetails> findByIdIn(Collection<Long> ids) {
+        return recipes(databaseClient.sql(SELECT_RECIPES + "recipe r" + JOIN_INGREDIENTS + " where r.id in (:ids) order by r.id")
+                .bind("ids", ids));
+    }
+
+    /**
+     * All the recipes ordered by id, fetched from the database in rounds of {@value #FETCH_SIZE} rows as they are
+     * requested downstream.
+     */
+    public Flux<RecipeDetails> findAll() {
+        return recipes(databaseClient.sql(SELECT_RECIPES + "recipe r" + JOIN_INGREDIENTS + " order by r.id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE)));
+    }
+
+    /**
+     * First phase of the search, selects the ids of a page of the recipes matching the filter. The ingredient
+     * conditions are checked on the aggregated ingredient rows of a recipe: all the required names present, none of
+     * the forbidden names and at least one optional name when nothing is required. The recipes with more optional
+     * ingredients come first, then the more relevant ones for an instruction query, then by id.
+     */
+    public Flux<Long> findIds(RecipeFilterRequest recipeFilterRequest, Set<String> requiredIngredients,
+                              Set<String> optionalIngredients, Set<String> forbiddenIngredients, long offset, int limit) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("select r.id from recipe r");
+        boolean byIngredients = !requiredIngredients.isEmpty() || !optionalIngredients.isEmpty() || !forbiddenIngredients.isEmpty();
+        if (byIngredients) {
+            sql.append(JOIN_INGREDIENTS);
+        }
+        sql.append(" where 1 = 1");
+        if (null != recipeFilterRequest.getCategory()) {
+            sql.append(" and r.category = :category");
+            bindings.put("category", recipeFilterRequest.getCategory().name());
+        }
+        if (null != recipeFilterRequest.getServings()) {
+            sql.append(" and r.servings = :servings");
+            bindings.put("servings", recipeFilterRequest.getServings());
+        }
+        if (StringUtils.isNotEmpty(recipeFilterRequest.getInstruction())) {
+            sql.append(" and lower(r.instructions) like :instruction");
+            bindings.put("instruction", "%" + recipeFilterRequest.getInstruction().toLowerCase(Locale.ROOT) + "%");
+        }
+        List<String> instructionWords = InstructionSearchIndex.tokenize(recipeFilterRequest.getInstructionQuery());
+        if (!instructionWords.isEmpty()) {
+            sql.append(" and ").append(INSTRUCTIONS_VECTOR).append(" @@ ").append(INSTRUCTIONS_QUERY);
+            bindings.put("instructionQuery", FullTextFunctionContributor.prefixQuery(instructionWords));
+        }
+        List<String> orders = new ArrayList<>();
+        if (byIngredients) {
+            sql.append(" group by r.id having 1 = 1");
+            if (!requiredIngredients.isEmpty()) {
+                sql.append(" and count(distinct case when i.name in (:required) then i.name end) = :requiredCount");
+                bindings.put("required", requiredIngredients);
+                bindings.put("requiredCount", (long) requiredIngredients.size());
+            }
+            if (!forbiddenIngredients.isEmpty()) {
+                sql.append(" and count(case when i.name in (:forbidden) then 1 end) = 0");
+                bindings.put("forbidden", forbiddenIngredients);
+            }
+            if (!optionalIngredients.isEmpty()) {
+                if (requiredIngredients.isEmpty()) {
+                    sql.append(" and count(case when i.name in (:optional) then 1 end) > 0");
+                }
+                orders.add("count(case when i.name in (:optional) then 1 end) desc");
+                bindings.put("optional", optionalIngredients);
+            }
+        }
+        if (!instructionWords.isEmpty()) {
+            orders.add("ts_rank(" + INSTRUCTIONS_VECTOR + ", " + INSTRUCTIONS_QUERY + ") desc");
+        }
+        orders.add("r.id");
+        sql.append(" order by ").append(String.join(", ", orders)).append(" limit :limit offset :offset");
+        bindings.put("limit", limit);
+        bindings.put("offset", offset);
+        return databaseClient.sql(sql.toString())
+                .bindValues(bindings)
+                .map(row -> row.get(0, Long.class))
+                .all();
+    }
+
+    /**
+     * Inserts the recipe with a normalized name and returns its id.
+     */
+    public Mono<Long> insertRecipe(RecipeDetails recipeDetails) {
+        return nextId("recipe_seq")
+                .flatMap(id -> databaseClient.sql("insert into recipe (id, recipe_name, category, instructions, servings, " +
+                                "version, last_modified) values (:id, :recipeName, :category, :instructions, :servings, 0, :lastModified)")
+                        .bind("id", id)
+                        .bind("recipeName", recipeDetails.getRecipeName().trim().toLowerCase())
+                        .bindValues(recipeColumns(recipeDetails))
+                        .then()
+                        .thenReturn(id));
+    }
+
+    /**
+     * Updates the columns of the recipe and increments its version like the optimistic locking of the Recipe entity,
+     * so that the ETags of the servlet application change with the updates made here.
+     */
+    public Mono<Void> updateRecipe(Long id, RecipeDetails recipeDetails) {
+        return databaseClient.sql("update recipe set recipe_name = :recipeName, category = :category, " +
+                        "instructions = :instructions, servings = :servings, version = version + 1, " +
+                        "last_modified = :lastModified where id = :id")
+                .bind("id", id)
+                .bind("recipeName", recipeDetails.getRecipeName())
+                .bindValues(recipeColumns(recipeDetails))
+                .then();
+    }
+
+    /**
+     * Deletes the recipe along with its recipe_ingredient rows, the shared ingredients stay in the catalog.
+     */
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("delete from recipe_ingredient where recipe_id = :id")
+                .bind("id", id)
+                .then()
+                .then(databaseClient.sql("delete from recipe where id = :id")
+                        .bind("id", id)
+                        .then());
+    }
+
+    /**
+     * Writes a change of a recipe to the outbox in the current transaction, the publisher of the servlet application
+     * publishes it to the change feed.
+     *
+     * @param payload the json of the recipe after the change, null when it was deleted
+     */
+    public Mono<Void> insertRecipeChange(RecipeChangeType changeType, RecipeDetails recipeDetails, String payload) {
+        return nextId("recipe_change_seq")
+                .flatMap(id -> databaseClient.sql("insert into recipe_change (id, recipe_id, recipe_name, change_type, " +
+                                "payload, changed_at) values (:id, :recipeId, :recipeName, :changeType, :payload, :changedAt)")
+                        .bind("id", id)
+                        .bind("recipeId", recipeDetails.getId())
+                        .bind("recipeName", recipeDetails.getRecipeName())
+                        .bind("changeType", changeType.name())
+                        .bind("payload", Parameter.fromOrEmpty(payload, String.class))
+                        .bind("changedAt", OffsetDateTime.now(ZoneOffset.UTC))
+                        .then());
+    }
+
+    /**
+     * The catalog ids of the given normalized ingredient names, the names missing from the catalog are inserted first.
+     * An ingredient inserted concurrently by another request is skipped and read back like an existing one.
+     */
+    public Mono<Map<String, Long>> resolveIngredients(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return findIngredientIds(names)
+                .flatMap(existing -> Flux.fromIterable(names)
+                        .filter(name -> !existing.containsKey(name))
+                        .concatMap(name -> nextId("ingredient_seq")
+                                .flatMap(id -> databaseClient.sql("insert into ingredient (id, name) values (:id, :name) on conflict do nothing")
+                                        .bind("id", id)
+                                        .bind("name", name)
+                                        .then()))
+                        .then(Mono.defer(() -> existing.size() == names.size() ? Mono.just(existing) : findIngredientIds(names))));
+    }
+
+    public Mono<Void> addIngredients(Long recipeId, Collection<Long> ingredientIds) {
+        return Flux.fromIterable(ingredientIds)
+                .concatMap(ingredientId -> databaseClient.sql("insert into recipe_ingredient (recipe_id, ingredient_id) values (:recipeId, :ingredientId)")
+                        .bind("recipeId", recipeId)
+                        .bind("ingredientId", ingredientId)
+                        .then())
+                .then();
+    }
+
+    private Mono<Map<String, Long>> findIngredientIds(Collection<String> names) {
+        return databaseClient.sql("select id, name from ingredient where name in (:names)")
+                .bind("names", names)
+                .map(row -> Map.entry(row.get("name", String.class), row.get("id", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Long> nextId(String sequence) {
+        return databaseClient.sql("select nextval('" + sequence + "')")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static Map<String, Object> recipeColumns(RecipeDetails recipeDetails) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        columns.put("category", Parameter.fromOrEmpty(null == recipeDetails.getCategory() ? null : recipeDetails.getCategory().name(), String.class));
+        columns.put("instructions", Parameter.fromOrEmpty(recipeDetails.getInstructions(), String.class));
+        columns.put("servings", recipeDetails.getServings());
+        columns.put("lastModified", OffsetDateTime.now(ZoneOffset.UTC));
+        return columns;
+    }
+
+    /**
+     * Folds the consecutive rows of a recipe into one RecipeDetails, the query must be ordered by the recipe id.
+     */
+    private static Flux<RecipeDetails> recipes(DatabaseClient.GenericExecuteSpec query) {
+        return query.map(RecipeRow::of)
+                .all()
+                .bufferUntilChanged(RecipeRow::id)
+                .map(ReactiveRecipeRepository::toRecipeDetails);
+    }
+
+    private static RecipeDetails toRecipeDetails(List<RecipeRow> rows) {
+        RecipeRow recipe = rows.get(0);
+        Set<RecipeIngredient> ingredients = rows.stream()
+                .filter(row -> null != row.ingredientId())
+                .map(row -> new RecipeIngredient(row.ingredientId(), row.ingredientName()))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return RecipeDetails.builder()
+                .id(recipe.id())
+                .recipeName(recipe.recipeName())
+                .category(null == recipe.category() ? null : Category.valueOf(recipe.category()))
+                .instructions(recipe.instructions())
+                .servings(null == recipe.servings() ? 0 : recipe.servings())
+                .ingredients(ingredients)
+                .version(recipe.version())
+                .lastModified(null == recipe.lastModified() ? null : recipe.lastModified().toInstant())
+                .build();
+    }
+
+    private record RecipeRow(Long id, String recipeName, String category, String instructions, Integer servings,
+                             Long version, OffsetDateTime lastModified, Long ingredientId, String ingredientName) {
+
+        static RecipeRow of(Readable row) {
+            return new RecipeRow(row.get("id", Long.class), row.get("recipe_name", String.class),
+                    row.get("category", String.class), row.get("instructions", String.class),
+                    row.get("servings", Integer.class), row.get("version", Long.class),
+                    row.get("last_modified", OffsetDateTime.class), row.get("ingredient_id", Long.class),
+                    row.get("ingredient_name", String.class));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.nl.recipeManagementAPI.reactive.service;
+
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipePage;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author Firoz
+ * Type ReactiveRecipeService
+ * <p>
+ * Enables the management operations on the recipes without blocking the calling thread.
+ */
+public interface ReactiveRecipeService {
+
+    Mono<RecipeDetails> createRecipe(RecipeDetails recipeDetails);
+
+    Mono<RecipeDetails> updateRecipe(Long id, RecipeDetails recipeDetails);
+
+    Mono<Void> deleteRecipe(Long recipeId);
+
+    Flux<RecipeDetails> filterRecipes(RecipeFilterRequest recipeFilterRequest);
+
+    Mono<RecipePage> getAllRecipes(Long afterId, Integer pageSize);
+
+    Flux<RecipeDetails> streamAllRecipes();
+
+    Mono<RecipeDetails> getRecipe(String recipeName);
+}
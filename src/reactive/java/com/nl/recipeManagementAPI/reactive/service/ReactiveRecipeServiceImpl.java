@@ -0,0 +1,234 @@
+package com.nl.recipeManagementAPI.reactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.exception.RecipeExistsException;
+import com.nl.recipeManagementAPI.exception.RecipeNotFoundException;
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.model.RecipePage;
+import com.nl.recipeManagementAPI.reactive.ReactiveRecipeManagementApplication;
+import com.nl.recipeManagementAPI.reactive.repository.ReactiveRecipeRepository;
+import com.nl.recipeManagementAPI.repository.RecipeSearchSpecification;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author Firoz
+ * Type ReactiveRecipeServiceImpl
+ * Provides the implementation for ReactiveRecipeService, with the same behaviour as the RecipeManagementServiceImpl
+ * of the servlet application. The recipe by name cache and the in-memory search indexes of the servlet application
+ * are not part of this variant, every read goes to the database.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+@Profile(ReactiveRecipeManagementApplication.PROFILE)
+public class ReactiveRecipeServiceImpl implements ReactiveRecipeService {
+
+    private final ReactiveRecipeRepository reactiveRecipeRepository;
+
+    private final RecipeManagementProperties recipeManagementProperties;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Adds a recipe to the database along with the catalog entries of its ingredients.
+     *
+     * @param recipeDetails the recipe to be saved
+     * @return the created recipeDetails.
+     */
+    @Override
+    @Transactional
+    public Mono<RecipeDetails> createRecipe(RecipeDetails recipeDetails) {
+        log.info("Create recipe {} with {} ingredients", recipeDetails.getRecipeName(), ingredientCount(recipeDetails));
+        log.debug("Create recipe {}", recipeDetails);
+        return reactiveRecipeRepository.existsByRecipeName(recipeDetails.getRecipeName().trim().toLowerCase())
+                .flatMap(exists -> exists
+                        ? Mono.<Long>error(new RecipeExistsException("Recipe already exists with the name: " + recipeDetails.getRecipeName()))
+                        : reactiveRecipeRepository.insertRecipe(recipeDetails))
+                .flatMap(id -> addIngredients(id, ingredientNames(recipeDetails.getIngredients()))
+                        .then(reactiveRecipeRepository.findById(id)))
+                .flatMap(recipe -> writeChange(RecipeChangeType.CREATED, recipe, recipe));
+    }
+
+    /**
+     * Updates a Recipe, adds the ingredients it does not have yet and updates the other values with the latest details.
+     *
+     * @param newRecipeDetails The recipe to be updated.
+     * @return the updated recipeDetails.
+     */
+    @Override
+    @Transactional
+    public Mono<RecipeDetails> updateRecipe(Long id, RecipeDetails newRecipeDetails) {
+        log.info("Update recipe {} with {} ingredients", id, ingredientCount(newRecipeDetails));
+        log.debug("Update recipe {}: {}", id, newRecipeDetails);
+        return reactiveRecipeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new RecipeNotFoundException("Recipe not found with the name: " + newRecipeDetails.getRecipeName())))
+                .flatMap(recipe -> {
+                    Set<String> newNames = ingredientNames(newRecipeDetails.getIngredients());
+                    recipe.getIngredients().forEach(ingredient -> newNames.remove(ingredient.getName()));
+                    recipe.setRecipeName(newRecipeDetails.getRecipeName());
+                    recipe.setCategory(Optional.ofNullable(newRecipeDetails.getCategory()).orElse(recipe.getCategory()));
+                    recipe.setInstructions(Optional.ofNullable(newRecipeDetails.getInstructions()).orElse(recipe.getInstructions()));
+                    recipe.setServings(newRecipeDetails.getServings());
+                    return addIngredients(id, newNames)
+                            .then(reactiveRecipeRepository.updateRecipe(id, recipe));
+                })
+                .then(Mono.defer(() -> reactiveRecipeRepository.findById(id)))
+                .flatMap(recipe -> writeChange(RecipeChangeType.UPDATED, recipe, recipe));
+    }
+
+    /**
+     * Deletes the recipe by id.
+     *
+     * @param recipeId The recipe Id to be deleted.
+     */
+    @Override
+    @Transactional
+    public Mono<Void> deleteRecipe(Long recipeId) {
+        return reactiveRecipeRepository.findById(recipeId)
+                .switchIfEmpty(Mono.error(() -> new RecipeNotFoundException("Recipe not found with id: " + recipeId)))
+                .flatMap(recipe -> reactiveRecipeRepository.deleteById(recipeId)
+                        .then(writeChange(RecipeChangeType.DELETED, recipe, null)))
+                .then()
+                .doOnSuccess(deleted -> log.info("Deleted recipe {}", recipeId));
+    }
+
+    /**
+     * Fetches a page of the recipes that satisfy the filter criteria in the order of their ranking, the ids of the
+     * page are selected first and the recipes are then read with their ingredients.
+     *
+     * @param recipeFilterRequest The search criteria
+     * @return the matching recipes
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RecipeDetails> filterRecipes(RecipeFilterRequest recipeFilterRequest) {
+        log.info("Search by {}", RecipeMetrics.filters(recipeFilterRequest));
+        log.debug("filter recipe with criteria {}", recipeFilterRequest);
+        int size = pageSize(recipeFilterRequest.getPageSize());
+        long offset = (long) Optional.ofNullable(recipeFilterRequest.getPage()).orElse(0) * size;
+        return reactiveRecipeRepository.findIds(recipeFilterRequest,
+                        RecipeSearchSpecification.requiredIngredients(recipeFilterRequest),
+                        RecipeSearchSpecification.optionalIngredients(recipeFilterRequest),
+                        RecipeSearchSpecification.forbiddenIngredients(recipeFilterRequest), offset, size)
+                .collectList()
+                .flatMapMany(ids -> ids.isEmpty() ? Flux.empty() : reactiveRecipeRepository.findByIdIn(ids)
+                        .collectMap(RecipeDetails::getId, Function.identity())
+                        .flatMapIterable(recipesById -> ids.stream()
+                                .map(recipesById::get)
+                                .filter(recipe -> null != recipe)
+                                .toList()));
+    }
+
+    /**
+     * Gets a page of the available recipes in the system using keyset pagination on the recipe id.
+     *
+     * @param afterId  the id of the last recipe of the previous page, null for the first page
+     * @param pageSize the number of recipes in the page
+     * @return the page of recipes and the cursor for the next page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<RecipePage> getAllRecipes(Long afterId, Integer pageSize) {
+        int size = pageSize(pageSize);
+        return reactiveRecipeRepository.findAfter(Optional.ofNullable(afterId).orElse(0L), size)
+                .collectList()
+                .map(recipes -> new RecipePage(recipes, recipes.size() < size ? null : recipes.get(recipes.size() - 1).getId()));
+    }
+
+    /**
+     * Streams all the available recipes in the order of their id, the rows are read from the database as the
+     * subscriber requests more recipes.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<RecipeDetails> streamAllRecipes() {
+        return reactiveRecipeRepository.findAll();
+    }
+
+    /**
+     * Gets recipe by the given name or signals RecipeNotFoundException if not found.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<RecipeDetails> getRecipe(String recipeName) {
+        return reactiveRecipeRepository.findByRecipeName(recipeName)
+                .switchIfEmpty(Mono.error(() -> new RecipeNotFoundException("No Recipe found with the name: " + recipeName)));
+    }
+
+    /**
+     * Writes the change to the outbox in the transaction of the change, like the RecipeChangeOutbox of the servlet
+     * application.
+     *
+     * @param recipe the recipe after the change, null when it was deleted
+     * @return the recipe after the change
+     */
+    private Mono<RecipeDetails> writeChange(RecipeChangeType changeType, RecipeDetails changedRecipe, RecipeDetails recipe) {
+        try {
+            String payload = null == recipe ? null : objectMapper.writeValueAsString(recipe);
+            return reactiveRecipeRepository.insertRecipeChange(changeType, changedRecipe, payload)
+                    .then(Mono.justOrEmpty(recipe));
+        } catch (JsonProcessingException exception) {
+            return Mono.error(exception);
+        }
+    }
+
+    /**
+     * The requested page size, or the configured default when absent, capped by the configured maximum.
+     */
+    private int pageSize(Integer pageSize) {
+        RecipeManagementProperties.Pagination pagination = recipeManagementProperties.getPagination();
+        return Math.min(Optional.ofNullable(pageSize).filter(value -> value > 0).orElse(pagination.getDefaultPageSize()),
+                pagination.getMaxPageSize());
+    }
+
+    /**
+     * Links the recipe to the catalog entries of the given ingredient names, resolved with one lookup for all names.
+     */
+    private Mono<Void> addIngredients(Long recipeId, Collection<String> names) {
+        if (names.isEmpty()) {
+            return Mono.empty();
+        }
+        return reactiveRecipeRepository.resolveIngredients(names)
+                .map(Map::values)
+                .flatMap(ingredientIds -> reactiveRecipeRepository.addIngredients(recipeId, ingredientIds));
+    }
+
+    private static Set<String> ingredientNames(Set<RecipeIngredient> recipeIngredients) {
+        if (CollectionUtils.isEmpty(recipeIngredients)) {
+            return new LinkedHashSet<>();
+        }
+        return recipeIngredients.stream()
+                .map(RecipeIngredient::getName)
+                .filter(StringUtils::isNotBlank)
+                .map(Ingredient::normalizeName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static int ingredientCount(RecipeDetails recipeDetails) {
+        return null == recipeDetails.getIngredients() ? 0 : recipeDetails.getIngredients().size();
+    }
+}
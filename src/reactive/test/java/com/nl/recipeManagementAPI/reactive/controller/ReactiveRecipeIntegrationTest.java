@@ -0,0 +1,191 @@
+package com.nl.recipeManagementAPI.reactive.controller;
+
+import com.nl.recipeManagementAPI.controller.RecipeManagementController;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.reactive.ReactiveRecipeManagementApplication;
+import com.nl.recipeManagementAPI.reactive.service.ReactiveRecipeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ReactiveRecipeManagementApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive-${random.uuid};MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:reactive-schema.sql"
+        })
+@ActiveProfiles(ReactiveRecipeManagementApplication.PROFILE)
+class ReactiveRecipeIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveRecipeService reactiveRecipeService;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("delete from recipe_change").then()
+                .then(databaseClient.sql("delete from recipe_ingredient").then())
+                .then(databaseClient.sql("delete from recipe").then())
+                .then(reactiveRecipeService.createRecipe(recipeDetails("Salmon Platter", Category.NON_VEGETARIAN, 4,
+                        "Grill the salmon", "salmon", "potato", "salt")))
+                .then(reactiveRecipeService.createRecipe(recipeDetails("Frites", Category.VEGETARIAN, 6,
+                        "deep fry in the oil", "potato", "oil", "salt")))
+                .block();
+    }
+
+    @Test
+    @DisplayName("testAddRecipe : GIVEN a Request with RecipeDetails to create a Recipe THEN creates a new Recipe sharing the catalog ingredients")
+    void testAddRecipe() {
+        webTestClient.post().uri("/recipe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipeDetails("Salmon with Salad", Category.NON_VEGETARIAN, 2, "Grill", "Salmon ", "lettuce"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.recipeName").isEqualTo("salmon with salad")
+                .jsonPath("$.ingredients.length()").isEqualTo(2);
+        webTestClient.post().uri("/recipe")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipeDetails("Frites", Category.VEGETARIAN, 6, "fry", "potato"))
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        assertThat(databaseClient.sql("select count(*) from ingredient where name = 'salmon'")
+                .map(row -> row.get(0, Long.class)).one().block()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("testUpdateRecipe : GIVEN new RecipeDetails THEN updates the recipe and adds the new ingredients")
+    void testUpdateRecipe() {
+        RecipeDetails recipe = reactiveRecipeService.getRecipe("frites").block();
+        webTestClient.put().uri("/recipe/" + recipe.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipeDetails("frites", null, 8, null, "potato", "Mayo"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(RecipeDetails.class)
+                .value(updated -> {
+                    assertThat(updated.getServings()).isEqualTo(8);
+                    assertThat(updated.getCategory()).isEqualTo(Category.VEGETARIAN);
+                    assertThat(updated.getIngredients()).extracting(RecipeIngredient::getName)
+                            .containsExactlyInAnyOrder("potato", "oil", "salt", "mayo");
+                });
+        webTestClient.put().uri("/recipe/0")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipeDetails("frites", null, 8, null, "potato"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("testDeleteRecipe : GIVEN a request to delete a Recipe THEN deletes the recipe")
+    void testDeleteRecipe() {
+        RecipeDetails recipe = reactiveRecipeService.getRecipe("frites").block();
+        webTestClient.delete().uri("/recipe/" + recipe.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.get().uri("/recipe/frites")
+                .exchange()
+                .expectStatus().isNotFound();
+        assertThat(databaseClient.sql("select change_type from recipe_change where recipe_id = :id order by id")
+                .bind("id", recipe.getId())
+                .map(row -> row.get(0, String.class)).all().collectList().block()).containsExactly("CREATED", "DELETED");
+    }
+
+    @Test
+    @DisplayName("testGetAllRecipesPaginated : GIVEN a request to fetch recipes page by page THEN follows the cursor until the last page")
+    void testGetAllRecipesPaginated() {
+        String nextCursor = webTestClient.get().uri("/recipes?pageSize=1")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(RecipeDetails.class).hasSize(1)
+                .returnResult().getResponseHeaders().getFirst(RecipeManagementController.NEXT_CURSOR_HEADER);
+        assertThat(nextCursor).isNotNull();
+        webTestClient.get().uri("/recipes?pageSize=2&afterId=" + nextCursor)
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(RecipeManagementController.NEXT_CURSOR_HEADER)
+                .expectBodyList(RecipeDetails.class).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("testStreamAllRecipes : GIVEN a request to stream all recipes THEN emits the recipes one by one as requested")
+    void testStreamAllRecipes() {
+        StepVerifier.create(webTestClient.get().uri("/recipes")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .returnResult(RecipeDetails.class)
+                        .getResponseBody()
+                        .map(RecipeDetails::getRecipeName), 1)
+                .expectNext("salmon platter")
+                .thenRequest(1)
+                .expectNext("frites")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("testFilterRecipesByIngredients : GIVEN required, optional and forbidden ingredients THEN returns the matching recipes ranked by optional matches")
+    void testFilterRecipesByIngredients() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setRequiredIngredients(List.of("potato", "Salt"));
+        recipeFilterRequest.setOptionalIngredients(List.of("oil"));
+        assertThat(search(recipeFilterRequest)).containsExactly("frites", "salmon platter");
+
+        recipeFilterRequest.setForbiddenIngredients(List.of("oil"));
+        assertThat(search(recipeFilterRequest)).containsExactly("salmon platter");
+
+        RecipeFilterRequest byAttributes = new RecipeFilterRequest();
+        byAttributes.setCategory(Category.VEGETARIAN);
+        byAttributes.setInstruction("FRY");
+        assertThat(search(byAttributes)).containsExactly("frites");
+
+        RecipeFilterRequest unknownIngredient = new RecipeFilterRequest();
+        unknownIngredient.setIncludesIngredient("truffle");
+        assertThat(search(unknownIngredient)).isEmpty();
+    }
+
+    private List<String> search(RecipeFilterRequest recipeFilterRequest) {
+        return webTestClient.post().uri("/recipe/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(recipeFilterRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(RecipeDetails.class)
+                .returnResult().getResponseBody().stream()
+                .map(RecipeDetails::getRecipeName)
+                .toList();
+    }
+
+    private static RecipeDetails recipeDetails(String name, Category category, int servings, String instructions, String... ingredients) {
+        Set<RecipeIngredient> recipeIngredients = Stream.of(ingredients)
+                .map(ingredient -> new RecipeIngredient(null, ingredient))
+                .collect(Collectors.toSet());
+        return new RecipeDetails(null, name, category, instructions, servings, recipeIngredients, null, null);
+    }
+}
@@ -0,0 +1,7 @@
+create sequence if not exists recipe_seq start with 1 increment by 50;
+create sequence if not exists ingredient_seq start with 1 increment by 50;
+create table if not exists recipe (id bigint primary key, recipe_name varchar(255), category varchar(255), instructions varchar(255), servings integer not null, version bigint default 0 not null, last_modified timestamp(6) with time zone);
+create table if not exists ingredient (id bigint primary key, name varchar(255) not null unique);
+create table if not exists recipe_ingredient (recipe_id bigint not null references recipe, ingredient_id bigint not null references ingredient, primary key (recipe_id, ingredient_id));
+create sequence if not exists recipe_change_seq start with 1 increment by 50;
+create table if not exists recipe_change (id bigint primary key, position bigint unique, recipe_id bigint not null, recipe_name varchar(255) not null, change_type varchar(255) not null, payload text, changed_at timestamp(6) with time zone not null, published_at timestamp(6) with time zone);
@@ -0,0 +1,55 @@
+package com.nl.recipeManagementAPI.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in of the redis tier: the caches are concurrent maps and the invalidations are delivered to the
+ * listeners synchronously. The caches managers of several simulated nodes can share one instance.
+ */
+public class EmbeddedSharedCacheTier implements SharedCacheTier {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    private final List<CacheInvalidation> invalidations = new CopyOnWriteArrayList<>();
+
+    public EmbeddedSharedCacheTier() {
+        cacheManager.setAllowNullValues(false);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return cacheManager.getCache(name);
+    }
+
+    @Override
+    public Collection<?> keys(String name) {
+        return List.copyOf(((ConcurrentMapCache) cacheManager.getCache(name)).getNativeCache().keySet());
+    }
+
+    @Override
+    public void publish(CacheInvalidation cacheInvalidation) {
+        invalidations.add(cacheInvalidation);
+        listeners.forEach(listener -> listener.accept(cacheInvalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * The invalidations published so far.
+     */
+    public List<CacheInvalidation> getInvalidations() {
+        return invalidations;
+    }
+}
@@ -0,0 +1,79 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.utils.RecipeFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeSearchKeyTest {
+
+    @Test
+    @DisplayName("of : GIVEN the same filters written differently THEN the keys are the same")
+    void canonicalKey() {
+        RecipeFilterRequest first = new RecipeFilterRequest();
+        first.setCategory(Category.VEGAN);
+        first.setIncludesIngredient(" Salt");
+        first.setRequiredIngredients(List.of("Garlic"));
+        first.setInstruction("Grill");
+        first.setInstructionQuery("sal grill");
+        RecipeFilterRequest second = new RecipeFilterRequest();
+        second.setCategory(Category.VEGAN);
+        second.setRequiredIngredients(List.of("garlic ", "salt"));
+        second.setInstruction("grill");
+        second.setInstructionQuery("Grill, SAL");
+
+        String key = RecipeSearchKey.of(first, PageRequest.of(0, 50)).toString();
+
+        assertThat(RecipeSearchKey.of(second, PageRequest.of(0, 50)).toString()).isEqualTo(key);
+        assertThat(key).isEqualTo("category=VEGAN&instruction=grill&instructionQuery=grill,sal&required=garlic,salt&page=0&pageSize=50");
+    }
+
+    @Test
+    @DisplayName("parse : GIVEN a key with encoded ingredients THEN it is read back to the same key")
+    void parse() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setServings(4);
+        recipeFilterRequest.setOptionalIngredients(List.of("salt & pepper", "olive oil,extra virgin"));
+        recipeFilterRequest.setForbiddenIngredients(List.of("nuts"));
+        RecipeSearchKey recipeSearchKey = RecipeSearchKey.of(recipeFilterRequest, PageRequest.of(2, 10));
+
+        assertThat(RecipeSearchKey.parse(recipeSearchKey.toString())).isEqualTo(recipeSearchKey);
+    }
+
+    @Test
+    @DisplayName("mayMatch : GIVEN a recipe THEN only the searches it may be found by match it")
+    void mayMatch() {
+        RecipeDetails bread = RecipeFactory.recipeDetails();
+
+        assertThat(key(request -> request.setCategory(Category.VEGETARIAN)).mayMatch(bread)).isTrue();
+        assertThat(key(request -> request.setCategory(Category.VEGAN)).mayMatch(bread)).isFalse();
+        assertThat(key(request -> request.setServings(4)).mayMatch(bread)).isFalse();
+        assertThat(key(request -> request.setInstruction("OVEN")).mayMatch(bread)).isTrue();
+        assertThat(key(request -> request.setInstruction("grill")).mayMatch(bread)).isFalse();
+        assertThat(key(request -> request.setRequiredIngredients(List.of("Flour", "yeast"))).mayMatch(bread)).isTrue();
+        assertThat(key(request -> request.setRequiredIngredients(List.of("flour", "salt"))).mayMatch(bread)).isFalse();
+        assertThat(key(request -> request.setOptionalIngredients(List.of("salt", "yeast"))).mayMatch(bread)).isTrue();
+        assertThat(key(request -> request.setOptionalIngredients(List.of("salt"))).mayMatch(bread)).isFalse();
+        assertThat(key(request -> request.setForbiddenIngredients(List.of("yeast"))).mayMatch(bread)).isFalse();
+        assertThat(key(request -> request.setInstructionQuery("grill")).mayMatch(bread)).isTrue();
+
+        bread.setIngredients(Set.of(new RecipeIngredient(null, " Salt ")));
+        assertThat(key(request -> request.setIncludesIngredient("salt")).mayMatch(bread)).isTrue();
+    }
+
+    private static RecipeSearchKey key(Consumer<RecipeFilterRequest> filters) {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        filters.accept(recipeFilterRequest);
+        return RecipeSearchKey.of(recipeFilterRequest, PageRequest.of(0, 50));
+    }
+}
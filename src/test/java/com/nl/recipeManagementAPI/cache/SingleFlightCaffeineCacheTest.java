@@ -0,0 +1,92 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCaffeineCacheTest {
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SingleFlightCaffeineCache("recipes", Caffeine.newBuilder().build(), true);
+    }
+
+    @Test
+    @DisplayName("get : GIVEN concurrent misses of the same key THEN it is loaded once and every caller gets the value")
+    void singleFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int caller = 0; caller < 8; caller++) {
+                results.add(executor.submit(() -> cache.get("bread", () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return "bread";
+                })));
+            }
+            assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("bread");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("bread", String.class)).isEqualTo("bread");
+    }
+
+    @Test
+    @DisplayName("evict : GIVEN a key being loaded THEN the eviction does not wait for the load and the loaded value is not cached")
+    void evictWhileLoading() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> load = CompletableFuture.supplyAsync(() -> cache.get("bread", () -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "stale bread";
+        }));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture.runAsync(() -> cache.evict("bread")).get(1, TimeUnit.SECONDS);
+        cache.put("pizza", "pizza");
+        release.countDown();
+
+        assertThat(load.get(10, TimeUnit.SECONDS)).isEqualTo("stale bread");
+        assertThat(cache.get("bread")).isNull();
+        assertThat(cache.get("pizza", String.class)).isEqualTo("pizza");
+    }
+
+    @Test
+    @DisplayName("get : GIVEN a failing load THEN the failure is thrown, nothing is cached and the next get loads again")
+    void failedLoad() {
+        assertThatThrownBy(() -> cache.get("bread", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("bread")).isNull();
+        assertThat(cache.get("bread", () -> "bread")).isEqualTo("bread");
+    }
+}
@@ -0,0 +1,116 @@
+package com.nl.recipeManagementAPI.cache;
+
+import com.nl.recipeManagementAPI.config.CacheConfig;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import com.nl.recipeManagementAPI.service.RecipeManagementService;
+import com.nl.recipeManagementAPI.utils.RecipeFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs the api with the embedded shared tier in place of redis, the invalidations it records are the ones the other
+ * nodes would receive.
+ */
+@SpringBootTest
+class TwoLevelCacheIntegrationTest {
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private EmbeddedSharedCacheTier sharedCacheTier;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+        cacheManager.getCache(CacheConfig.RECIPE_BY_NAME_CACHE).clear();
+        cacheManager.getCache(CacheConfig.RECIPE_SEARCH_CACHE).clear();
+        sharedCacheTier.getInvalidations().clear();
+    }
+
+    @Test
+    @DisplayName("getRecipe : GIVEN a recipe fetched by name THEN it is cached in the shared tier and counted as a hit once cached")
+    void getRecipeShared() {
+        recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+        double hits = cacheGets("hit");
+
+        RecipeDetails recipe = recipeManagementService.getRecipe("bread");
+
+        assertThat(sharedCacheTier.getCache(CacheConfig.RECIPE_BY_NAME_CACHE).get("bread", RecipeDetails.class))
+                .isEqualTo(recipe);
+        assertThat(recipeManagementService.getRecipe("bread")).isSameAs(recipe);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("updateRecipe : GIVEN a cached recipe and searches THEN the update invalidates the recipe and the searches it matched on every node")
+    void updateRecipeInvalidates() {
+        RecipeDetails created = recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+        recipeManagementService.getRecipe("bread");
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setServings(created.getServings());
+        recipeManagementService.filterRecipes(recipeFilterRequest);
+        RecipeFilterRequest otherServings = new RecipeFilterRequest();
+        otherServings.setServings(created.getServings() + 1);
+        recipeManagementService.filterRecipes(otherServings);
+        String searchKey = sharedCacheTier.keys(CacheConfig.RECIPE_SEARCH_CACHE).stream()
+                .map(String::valueOf)
+                .filter(key -> key.contains("servings=" + created.getServings() + "&"))
+                .findFirst()
+                .orElseThrow();
+        sharedCacheTier.getInvalidations().clear();
+
+        RecipeDetails update = RecipeFactory.recipeDetails();
+        update.setServings(12);
+        recipeManagementService.updateRecipe(created.getId(), update, null);
+
+        assertThat(sharedCacheTier.getInvalidations())
+                .extracting(CacheInvalidation::cacheName, CacheInvalidation::keys)
+                .containsExactlyInAnyOrder(
+                        tuple(CacheConfig.RECIPE_BY_NAME_CACHE, List.of("bread")),
+                        tuple(CacheConfig.RECIPE_SEARCH_CACHE, List.of(searchKey)));
+        assertThat(sharedCacheTier.getCache(CacheConfig.RECIPE_BY_NAME_CACHE).get("bread")).isNull();
+        assertThat(recipeManagementService.getRecipe("bread").getServings()).isEqualTo(12);
+        assertThat(recipeManagementService.filterRecipes(recipeFilterRequest)).isEmpty();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheConfig.RECIPE_BY_NAME_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    @TestConfiguration
+    static class EmbeddedSharedCacheTierConfig {
+
+        @Bean
+        EmbeddedSharedCacheTier sharedCacheTier() {
+            return new EmbeddedSharedCacheTier();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.nl.recipeManagementAPI.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs two nodes, each with its own near caches, over one embedded shared tier.
+ */
+class TwoLevelCacheTest {
+
+    private static final String CACHE = "recipes";
+
+    private EmbeddedSharedCacheTier sharedCacheTier;
+
+    private Cache node1;
+
+    private Cache node2;
+
+    @BeforeEach
+    void setUp() {
+        sharedCacheTier = new EmbeddedSharedCacheTier();
+        node1 = node(sharedCacheTier);
+        node2 = node(sharedCacheTier);
+    }
+
+    @Test
+    @DisplayName("get : GIVEN an entry loaded by one node THEN the other node reads it from the shared tier without loading it")
+    void sharedHit() {
+        assertThat(node1.get("bread", () -> "loaded by node 1")).isEqualTo("loaded by node 1");
+
+        assertThat(node2.get("bread", () -> "loaded by node 2")).isEqualTo("loaded by node 1");
+        assertThat(((TwoLevelCache) node2).getSharedHits()).isEqualTo(1);
+        assertThat(node2.get("bread", String.class)).isEqualTo("loaded by node 1");
+        assertThat(((TwoLevelCache) node2).getNearHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("evict : GIVEN an entry cached by both nodes and evicted by one THEN the other node no longer has it")
+    void evictOtherNodes() {
+        node1.put("bread", "bread");
+        node2.get("bread");
+
+        node1.evict("bread");
+
+        assertThat(node2.get("bread")).isNull();
+        assertThat(sharedCacheTier.getInvalidations())
+                .extracting(CacheInvalidation::cacheName, CacheInvalidation::keys)
+                .containsExactly(tuple(CACHE, List.of("bread")));
+    }
+
+    @Test
+    @DisplayName("clear : GIVEN entries cached by both nodes and cleared by one THEN the other node no longer has them")
+    void clearOtherNodes() {
+        node1.put("bread", "bread");
+        node1.put("pizza", "pizza");
+        node2.get("bread");
+        node2.get("pizza");
+
+        node1.clear();
+
+        assertThat(node2.get("bread")).isNull();
+        assertThat(node2.get("pizza")).isNull();
+    }
+
+    @Test
+    @DisplayName("get : GIVEN concurrent misses of the same key THEN it is loaded once and every caller gets the value")
+    void singleFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int caller = 0; caller < 8; caller++) {
+                results.add(executor.submit(() -> node1.get("bread", () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return "bread";
+                })));
+            }
+            assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("bread");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("get : GIVEN a failing load THEN the failure is thrown, nothing is cached and the next get loads again")
+    void failedLoad() {
+        assertThatThrownBy(() -> node1.get("bread", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+
+        assertThat(node1.get("bread")).isNull();
+        assertThat(node1.get("bread", () -> "bread")).isEqualTo("bread");
+    }
+
+    @Test
+    @DisplayName("get : GIVEN an eviction while an entry is loaded THEN the loaded value is returned but not cached")
+    void evictedWhileLoading() {
+        assertThat(node1.get("bread", () -> {
+            node2.evict("bread");
+            return "stale bread";
+        })).isEqualTo("stale bread");
+
+        assertThat(node1.get("bread")).isNull();
+        assertThat(node2.get("bread")).isNull();
+    }
+
+    private static Cache node(SharedCacheTier sharedCacheTier) {
+        CaffeineCacheManager nearCacheManager = new CaffeineCacheManager(CACHE);
+        return new TwoLevelCacheManager(nearCacheManager, sharedCacheTier, Set.of(CACHE)).getCache(CACHE);
+    }
+}
@@ -0,0 +1,175 @@
+package com.nl.recipeManagementAPI.coalescing;
+
+import com.nl.recipeManagementAPI.datasource.ReadYourWrites;
+import com.nl.recipeManagementAPI.exception.RecipeNotFoundException;
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CoalescingAspectTest {
+
+    private static final int CALLERS = 8;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private RecipeLookup recipeLookup;
+
+    private Lookups lookups;
+
+    @BeforeEach
+    void setUp() {
+        recipeLookup = new RecipeLookup(release);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(recipeLookup);
+        proxyFactory.addAspect(new CoalescingAspect(new RecipeMetrics(meterRegistry),
+                new DefaultListableBeanFactory().getBeanProvider(ReadYourWrites.class)));
+        lookups = proxyFactory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("coalesce : GIVEN concurrent calls with the same arguments THEN it runs once and every caller gets the result")
+    void concurrentCalls() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> lookups.get("bread"));
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("bread");
+        }
+        assertThat(recipeLookup.calls).hasValue(1);
+        assertThat(coalescedCalls()).isEqualTo(CALLERS - 1);
+        assertThat(lookups.get("bread")).isEqualTo("bread");
+        assertThat(recipeLookup.calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("coalesce : GIVEN concurrent calls of a failing call THEN every caller gets its exception")
+    void failedCall() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> lookups.get("unknown"));
+        awaitCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RecipeNotFoundException.class);
+        }
+        assertThat(recipeLookup.calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("coalesce : GIVEN concurrent calls within transactions or with other arguments THEN each of them runs")
+    void notCoalesced() throws Exception {
+        CountDownLatch running = new CountDownLatch(3);
+        recipeLookup.running = running;
+        List<Future<String>> results = new ArrayList<>();
+        for (String name : List.of("bread", "pizza")) {
+            results.add(executor.submit(() -> lookups.get(name)));
+        }
+        results.add(executor.submit(() -> {
+            TransactionSynchronizationManager.setActualTransactionActive(true);
+            try {
+                return lookups.get("bread");
+            } finally {
+                TransactionSynchronizationManager.setActualTransactionActive(false);
+            }
+        }));
+
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        for (Future<String> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(recipeLookup.calls).hasValue(3);
+        assertThat(coalescedCalls()).isZero();
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int caller = 0; caller < CALLERS; caller++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    /**
+     * Waits for the callers to wait for the running call, which runs until it is released.
+     */
+    private void awaitCoalesced(int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescedCalls() < callers && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(coalescedCalls()).isEqualTo(callers);
+    }
+
+    private double coalescedCalls() {
+        return meterRegistry.find(RecipeMetrics.COALESCED_CALLS).tag("operation", "get").functionCounters().stream()
+                .mapToDouble(FunctionCounter::count)
+                .sum();
+    }
+
+    interface Lookups {
+
+        String get(String recipeName);
+    }
+
+    static class RecipeLookup implements Lookups {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private final CountDownLatch release;
+
+        private CountDownLatch running = new CountDownLatch(1);
+
+        RecipeLookup(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        @Coalesced("get")
+        public String get(String recipeName) {
+            calls.incrementAndGet();
+            running.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            if ("unknown".equals(recipeName)) {
+                throw new RecipeNotFoundException("No Recipe found with the name: " + recipeName);
+            }
+            return recipeName;
+        }
+    }
+}
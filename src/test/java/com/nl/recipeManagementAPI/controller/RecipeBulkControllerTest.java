@@ -0,0 +1,63 @@
+package com.nl.recipeManagementAPI.controller;
+
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeBulkRequest;
+import com.nl.recipeManagementAPI.model.RecipeBulkResult;
+import com.nl.recipeManagementAPI.service.RecipeBulkService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(RecipeBulkController.class)
+class RecipeBulkControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @MockitoBean
+    RecipeBulkService recipeBulkService;
+
+    @Test
+    @DisplayName("updateRecipes : GIVEN ids and the values to set THEN updates the recipes and returns the summary")
+    void updateRecipes() throws Exception {
+        RecipeBulkResult result = new RecipeBulkResult();
+        result.setMatched(1);
+        result.setChanged(1);
+        result.setMissingIds(List.of(2L));
+        when(recipeBulkService.updateRecipes(argThat(request -> request.getCategory() == Category.VEGAN
+                && request.getIds().equals(List.of(1L, 2L))))).thenReturn(result);
+        mockMvc.perform(post("/recipes/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[1,2],\"category\":\"VEGAN\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(2));
+    }
+
+    @Test
+    @DisplayName("deleteRecipes : GIVEN a filter with a negative page THEN returns bad request")
+    void deleteRecipesInvalidFilter() throws Exception {
+        mockMvc.perform(post("/recipes/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"page\":-1}}"))
+                .andExpect(status().isBadRequest());
+        verify(recipeBulkService, never()).deleteRecipes(any(RecipeBulkRequest.class));
+    }
+}
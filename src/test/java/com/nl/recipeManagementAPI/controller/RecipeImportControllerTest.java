@@ -0,0 +1,81 @@
+package com.nl.recipeManagementAPI.controller;
+
+import com.nl.recipeManagementAPI.enums.RecipeImportStatus;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeImportReport;
+import com.nl.recipeManagementAPI.model.RecipeImportResult;
+import com.nl.recipeManagementAPI.service.RecipeImportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(RecipeImportController.class)
+class RecipeImportControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @MockitoBean
+    RecipeImportService recipeImportService;
+
+    private final List<RecipeDetails> importedRecipes = new ArrayList<>();
+
+    @Test
+    @DisplayName("importRecipes : GIVEN a json array of recipes THEN imports the recipes and returns the report")
+    void importRecipesJsonArray() throws Exception {
+        mockImport();
+        mockMvc.perform(post("/recipes/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"recipeName\":\"soup\",\"ingredients\":[{\"name\":\"water\"}]}," +
+                                "{\"recipeName\":\"bread\",\"ingredients\":[{\"name\":\"flour\"}]}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.results[1].recipeName").value("bread"));
+        assertThat(importedRecipes).extracting(RecipeDetails::getRecipeName).containsExactly("soup", "bread");
+    }
+
+    @Test
+    @DisplayName("importRecipes : GIVEN newline delimited json recipes THEN imports the recipes and returns the report")
+    void importRecipesNdjson() throws Exception {
+        mockImport();
+        mockMvc.perform(post("/recipes/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"recipeName\":\"soup\",\"ingredients\":[{\"name\":\"water\"}]}\n" +
+                                "{\"recipeName\":\"bread\",\"ingredients\":[{\"name\":\"flour\"}]}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"));
+        assertThat(importedRecipes).extracting(RecipeDetails::getRecipeName).containsExactly("soup", "bread");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockImport() {
+        when(recipeImportService.importRecipes(any(Iterator.class))).thenAnswer(invocation -> {
+            Iterator<RecipeDetails> recipes = invocation.getArgument(0);
+            RecipeImportReport report = new RecipeImportReport();
+            for (int index = 0; recipes.hasNext(); index++) {
+                RecipeDetails recipeDetails = recipes.next();
+                importedRecipes.add(recipeDetails);
+                report.add(new RecipeImportResult(index, recipeDetails.getRecipeName(), RecipeImportStatus.CREATED, (long) index, null));
+            }
+            return report;
+        });
+    }
+}
@@ -1,12 +1,21 @@
 package com.nl.recipeManagementAPI.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.nl.recipeManagementAPI.config.ContentNegotiationConfig;
 import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
 import com.nl.recipeManagementAPI.exception.RecipeExistsException;
 import com.nl.recipeManagementAPI.exception.RecipeNotFoundException;
+import com.nl.recipeManagementAPI.model.RecipeBatchRequest;
+import com.nl.recipeManagementAPI.model.RecipeBatchResult;
+import com.nl.recipeManagementAPI.model.RecipeChangeDetails;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
 import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
 import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.model.RecipePage;
+import com.nl.recipeManagementAPI.model.RecipeVersion;
 import com.nl.recipeManagementAPI.service.RecipeManagementService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,26 +23,43 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
-@WebMvcTest
+@WebMvcTest(RecipeManagementController.class)
 class RecipeManagementControllerTest {
 
     @Autowired
@@ -41,6 +67,8 @@ class RecipeManagementControllerTest {
     @MockitoBean
     RecipeManagementService recipeManagementService;
 
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-03-01T10:15:30Z");
+
     RecipeDetails recipeDetails;
 
     @BeforeEach
@@ -56,22 +84,167 @@ class RecipeManagementControllerTest {
                 .build();
     }
 
+    private RecipeDetails recipeDetails(Long version, Instant lastModified) {
+        recipeDetails.setId(222L);
+        recipeDetails.setVersion(version);
+        recipeDetails.setLastModified(lastModified);
+        return recipeDetails;
+    }
+
     @Test
     @DisplayName("getAllRecipes : GIVEN a request to fetch all recipes THEN returns a list of Recipes")
     void getAllRecipes() throws Exception {
-        when(recipeManagementService.getAllRecipes()).thenReturn(List.of(recipeDetails));
+        when(recipeManagementService.getAllRecipes(isNull(), isNull())).thenReturn(new RecipePage(List.of(recipeDetails), null));
         mockMvc.perform(get("/recipes"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(RecipeManagementController.NEXT_CURSOR_HEADER))
+                .andExpect(header().exists(HttpHeaders.ETAG))
                 .andExpect(jsonPath("$.length()").value(1));
+        verify(recipeManagementService, never()).getPageVersions(any(), any());
+    }
+
+    @Test
+    @DisplayName("getAllRecipesChangedSinceVersions : GIVEN a recipe changed between the versions and the page being read THEN returns the ETag of the page returned")
+    void getAllRecipesChangedSinceVersions() throws Exception {
+        when(recipeManagementService.getPageVersions(isNull(), isNull())).thenReturn(List.of(new RecipeVersion(222L, 3L, LAST_MODIFIED)));
+        when(recipeManagementService.getAllRecipes(isNull(), isNull()))
+                .thenReturn(new RecipePage(List.of(recipeDetails(4L, LAST_MODIFIED.plusSeconds(60))), null));
+        String eTag = mockMvc.perform(get("/recipes").header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].version").value(4))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        when(recipeManagementService.getPageVersions(isNull(), isNull()))
+                .thenReturn(List.of(new RecipeVersion(222L, 4L, LAST_MODIFIED.plusSeconds(60))));
+        mockMvc.perform(get("/recipes").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("getAllRecipesPage : GIVEN a request to fetch a page of recipes after a cursor THEN returns the page and the next cursor")
+    void getAllRecipesPage() throws Exception {
+        when(recipeManagementService.getAllRecipes(10L, 1)).thenReturn(new RecipePage(List.of(recipeDetails), 12L));
+        mockMvc.perform(get("/recipes").param("afterId", "10").param("pageSize", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RecipeManagementController.NEXT_CURSOR_HEADER, "12"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("getChanges : GIVEN a request for the changes after a position THEN returns the changes and the last position")
+    void getChanges() throws Exception {
+        when(recipeManagementService.getChanges(4L, null)).thenReturn(List.of(
+                new RecipeChangeDetails(5L, 1L, "kip suate", RecipeChangeType.CREATED, LAST_MODIFIED, "{\"recipeName\":\"kip suate\"}"),
+                new RecipeChangeDetails(6L, 1L, "kip suate", RecipeChangeType.DELETED, LAST_MODIFIED, null)));
+        mockMvc.perform(get("/recipes/changes").param("since", "4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RecipeManagementController.NEXT_CURSOR_HEADER, "6"))
+                .andExpect(jsonPath("$[0].changeType").value("CREATED"))
+                .andExpect(jsonPath("$[0].recipe.recipeName").value("kip suate"))
+                .andExpect(jsonPath("$[1].recipe").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("getChanges : GIVEN no changes after the position THEN returns the same position as the next cursor")
+    void getChangesNone() throws Exception {
+        when(recipeManagementService.getChanges(6L, null)).thenReturn(List.of());
+        mockMvc.perform(get("/recipes/changes").param("since", "6"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RecipeManagementController.NEXT_CURSOR_HEADER, "6"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("getAllRecipesFields : GIVEN a request with fields THEN returns only those properties of the recipes")
+    void getAllRecipesFields() throws Exception {
+        when(recipeManagementService.getAllRecipes(isNull(), isNull())).thenReturn(new RecipePage(List.of(recipeDetails), null));
+        mockMvc.perform(get("/recipes").param("fields", "id,recipeName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipeName").value(recipeDetails.getRecipeName()))
+                .andExpect(jsonPath("$[0].instructions").doesNotExist())
+                .andExpect(jsonPath("$[0].ingredients").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("filterRecipesSmile : GIVEN a search accepting smile THEN returns the recipes in the smile encoding")
+    void filterRecipesSmile() throws Exception {
+        when(recipeManagementService.filterRecipes(any(RecipeFilterRequest.class))).thenReturn(List.of(recipeDetails));
+        byte[] body = mockMvc.perform(post("/recipe/search")
+                        .accept(ContentNegotiationConfig.APPLICATION_SMILE_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ContentNegotiationConfig.APPLICATION_SMILE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<RecipeDetails> recipes = new ObjectMapper(new SmileFactory()).readValue(body, new TypeReference<>() {
+        });
+        assertThat(recipes).containsExactly(recipeDetails);
+    }
+
+    @Test
+    @DisplayName("streamAllRecipes : GIVEN a request to stream all recipes THEN returns the recipes as newline delimited json")
+    void streamAllRecipes() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<RecipeDetails> consumer = invocation.getArgument(0);
+            consumer.accept(recipeDetails);
+            consumer.accept(recipeDetails);
+            return null;
+        }).when(recipeManagementService).streamAllRecipes(any());
+        MvcResult mvcResult = mockMvc.perform(get("/recipes").accept("application/x-ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.split("\n")).hasSize(2)
+                .allSatisfy(line -> assertThat(line).contains("\"recipeName\":\"kip suate\""));
     }
 
     @Test
     @DisplayName("getRecipe : GIVEN a Request to get a recipe by name THEN returns the recipe details")
     void getRecipe() throws Exception {
-        when(recipeManagementService.getRecipe(any(String.class))).thenReturn(recipeDetails);
+        when(recipeManagementService.getRecipe(any(String.class))).thenReturn(recipeDetails(3L, LAST_MODIFIED));
         mockMvc.perform(get("/recipe/kip suate"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.recipeName").value(recipeDetails.getRecipeName()));
+                .andExpect(header().string(HttpHeaders.ETAG, "\"222-3\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()))
+                .andExpect(jsonPath("$.recipeName").value(recipeDetails.getRecipeName()))
+                .andExpect(jsonPath("$.version").value(3));
+        verify(recipeManagementService, never()).getRecipeVersion(any(String.class));
+    }
+
+    @Test
+    @DisplayName("getRecipeChangedSinceCached : GIVEN a cached recipe older than its current version THEN returns the ETag and Last-Modified of the returned recipe")
+    void getRecipeChangedSinceCached() throws Exception {
+        when(recipeManagementService.getRecipeVersion("kip suate"))
+                .thenReturn(new RecipeVersion(222L, 4L, LAST_MODIFIED.plusSeconds(60)));
+        when(recipeManagementService.getRecipe(any(String.class))).thenReturn(recipeDetails(3L, LAST_MODIFIED));
+        mockMvc.perform(get("/recipe/kip suate").header(HttpHeaders.IF_NONE_MATCH, "\"222-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"222-3\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED.toEpochMilli()))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    @DisplayName("getRecipeNotModified : GIVEN the ETag of the current version of a recipe THEN returns NOT_MODIFIED without loading the recipe")
+    void getRecipeNotModified() throws Exception {
+        when(recipeManagementService.getRecipeVersion("kip suate")).thenReturn(new RecipeVersion(222L, 3L, LAST_MODIFIED));
+        mockMvc.perform(get("/recipe/kip suate").header(HttpHeaders.IF_NONE_MATCH, "\"222-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(recipeManagementService, never()).getRecipe(any(String.class));
+    }
+
+    @Test
+    @DisplayName("getRecipeNotModifiedSince : GIVEN the Last-Modified of the current version of a recipe THEN returns NOT_MODIFIED without loading the recipe")
+    void getRecipeNotModifiedSince() throws Exception {
+        when(recipeManagementService.getRecipeVersion("kip suate")).thenReturn(new RecipeVersion(222L, 3L, LAST_MODIFIED));
+        mockMvc.perform(get("/recipe/kip suate").header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME
+                        .format(LAST_MODIFIED.atZone(ZoneOffset.UTC))))
+                .andExpect(status().isNotModified());
+        verify(recipeManagementService, never()).getRecipe(any(String.class));
     }
 
     @Test
@@ -103,10 +276,42 @@ class RecipeManagementControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @DisplayName("renameToExistingRecipe : GIVEN a request renaming a recipe to the name of another recipe THEN returns status CONFLICT")
+    void renameToExistingRecipe() throws Exception {
+        when(recipeManagementService.updateRecipe(eq(222L), any(RecipeDetails.class), isNull())).thenThrow(RecipeExistsException.class);
+        mockMvc.perform(MockMvcRequestBuilders.put("/recipe/222")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(recipeDetails)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("updateRecipeIfMatch : GIVEN a request with the ETag of a recipe in If-Match THEN updates the recipe at that version")
+    void updateRecipeIfMatch() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/recipe/222")
+                        .header(HttpHeaders.IF_MATCH, "\"222-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(recipeDetails)))
+                .andExpect(status().isOk());
+        verify(recipeManagementService).updateRecipe(eq(222L), any(RecipeDetails.class), eq(3L));
+    }
+
+    @Test
+    @DisplayName("updateRecipeIfMatchOtherRecipe : GIVEN the ETag of another recipe in If-Match THEN returns PRECONDITION_FAILED")
+    void updateRecipeIfMatchOtherRecipe() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.put("/recipe/222")
+                        .header(HttpHeaders.IF_MATCH, "\"223-3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(recipeDetails)))
+                .andExpect(status().isPreconditionFailed());
+        verify(recipeManagementService, never()).updateRecipe(anyLong(), any(RecipeDetails.class), any());
+    }
+
     @Test
     @DisplayName("updateNoNExistingRecipe: GIVEN a request to update non Existing Recipe THEN returns the status NOTFOUND")
     void updateNoNExistingRecipe() throws Exception {
-        when(recipeManagementService.updateRecipe(anyLong(),any(RecipeDetails.class))).thenThrow(RecipeNotFoundException.class);
+        when(recipeManagementService.updateRecipe(anyLong(),any(RecipeDetails.class),any())).thenThrow(RecipeNotFoundException.class);
         mockMvc.perform(MockMvcRequestBuilders.put("/recipe/222")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(new ObjectMapper().writeValueAsString(recipeDetails)))
@@ -141,4 +346,33 @@ class RecipeManagementControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("getRecipes : GIVEN a batch of ids and names THEN returns the recipes found and the missing ids and names")
+    void getRecipes() throws Exception {
+        RecipeBatchRequest recipeBatchRequest = new RecipeBatchRequest(List.of(222L, 404L), List.of("kip suate", "unknown"));
+        when(recipeManagementService.getRecipes(recipeBatchRequest))
+                .thenReturn(new RecipeBatchResult(List.of(recipeDetails), List.of(404L), List.of("unknown")));
+        mockMvc.perform(post("/recipes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(recipeBatchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recipes.length()").value(1))
+                .andExpect(jsonPath("$.recipes[0].recipeName").value("kip suate"))
+                .andExpect(jsonPath("$.missingIds[0]").value(404))
+                .andExpect(jsonPath("$.missingNames[0]").value("unknown"));
+    }
+
+    @Test
+    @DisplayName("getRecipes : GIVEN more ids than can be looked up at once THEN returns BAD_REQUEST")
+    void getRecipesTooMany() throws Exception {
+        RecipeBatchRequest recipeBatchRequest = new RecipeBatchRequest(LongStream.rangeClosed(0, RecipeBatchRequest.MAX_KEYS)
+                .boxed()
+                .toList(), null);
+        mockMvc.perform(post("/recipes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(recipeBatchRequest)))
+                .andExpect(status().isBadRequest());
+        verify(recipeManagementService, never()).getRecipes(any(RecipeBatchRequest.class));
+    }
+}
@@ -6,8 +6,12 @@ import com.nl.recipeManagementAPI.entity.Recipe;
 import com.nl.recipeManagementAPI.enums.Category;
 import com.nl.recipeManagementAPI.mapper.RecipeMapper;
 import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
 import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
+import org.assertj.core.api.Assertions;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,9 +21,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static io.restassured.RestAssured.given;
 
@@ -31,6 +40,9 @@ public class RecipeManagementIntegrationTest {
     @Autowired
     private RecipeManagementRepository recipeManagementRepository;
 
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
     @LocalServerPort
     private int port;
 
@@ -76,6 +88,41 @@ public class RecipeManagementIntegrationTest {
                 .statusCode(200);
     }
 
+    @Test
+    @DisplayName("testRenameToExistingRecipe : GIVEN a request renaming a recipe to the name of another recipe THEN returns CONFLICT")
+    void testRenameToExistingRecipe() throws Exception {
+        List<Recipe> recipes = createTestRecipes();
+        Recipe recipe = recipes.get(1);
+        String recipeName = recipe.getRecipeName();
+        Long id = recipeManagementRepository.findVersionByRecipeName(recipeName).orElseThrow().getId();
+        recipe.setRecipeName(recipes.get(0).getRecipeName());
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(new ObjectMapper().writeValueAsString(RecipeMapper.INSTANCE.fromRecipe(recipe)))
+                .when()
+                .put("/recipe/" + id)
+                .then()
+                .statusCode(409);
+        Assertions.assertThat(recipeManagementRepository.findVersionByRecipeName(recipeName)).isPresent();
+    }
+
+    @Test
+    @DisplayName("testUpdateRecipeTooLong : GIVEN instructions longer than their column THEN the update is not reported as a name conflict")
+    void testUpdateRecipeTooLong() throws Exception {
+        Recipe recipe = createTestRecipes().get(1);
+        Long id = recipeManagementRepository.findVersionByRecipeName(recipe.getRecipeName()).orElseThrow().getId();
+        recipe.setInstructions("stir ".repeat(60));
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(new ObjectMapper().writeValueAsString(RecipeMapper.INSTANCE.fromRecipe(recipe)))
+                .when()
+                .put("/recipe/" + id)
+                .then()
+                .statusCode(500);
+    }
+
     @Test
     @DisplayName("testDeleteRecipe : GIVEN a request to delete a Recipe THEN deletes a recipe")
     void testDeleteRecipe() throws Exception {
@@ -100,6 +147,107 @@ public class RecipeManagementIntegrationTest {
                 .body("size()", Matchers.equalTo(2));
     }
 
+    @Test
+    @DisplayName("testGetAllRecipesPaginated : GIVEN a request to fetch recipes page by page THEN follows the cursor until the last page")
+    void testGetAllRecipesPaginated() throws Exception {
+        String nextCursor = given()
+                .port(port)
+                .accept(ContentType.JSON)
+                .queryParam("pageSize", 1)
+                .when()
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .body("size()", Matchers.equalTo(1))
+                .header(RecipeManagementController.NEXT_CURSOR_HEADER, Matchers.notNullValue())
+                .extract().header(RecipeManagementController.NEXT_CURSOR_HEADER);
+        given()
+                .port(port)
+                .accept(ContentType.JSON)
+                .queryParam("afterId", nextCursor)
+                .queryParam("pageSize", 2)
+                .when()
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .body("size()", Matchers.equalTo(1))
+                .header(RecipeManagementController.NEXT_CURSOR_HEADER, Matchers.nullValue());
+    }
+
+    @Test
+    @DisplayName("testGetAllRecipesNotModified : GIVEN the ETag of a page THEN returns NOT_MODIFIED until a recipe of the page changes")
+    void testGetAllRecipesNotModified() throws Exception {
+        String eTag = given()
+                .port(port)
+                .accept(ContentType.JSON)
+                .when()
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .extract().header(HttpHeaders.ETAG);
+        given()
+                .port(port)
+                .accept(ContentType.JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/recipes")
+                .then()
+                .statusCode(304);
+        recipeManagementRepository.deleteById(recipeManagementRepository.findAll().get(0).getId());
+        given()
+                .port(port)
+                .accept(ContentType.JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .body("size()", Matchers.equalTo(1));
+    }
+
+    @Test
+    @DisplayName("testGetAllRecipesCompressed : GIVEN a large page accepting gzip THEN returns the page compressed")
+    void testGetAllRecipesCompressed() throws Exception {
+        List<Recipe> recipes = new ArrayList<>();
+        for (int index = 0; index < 50; index++) {
+            Recipe recipe = createTestRecipes().get(index % 2);
+            recipe.setRecipeName("recipe " + index);
+            recipes.add(recipe);
+        }
+        recipeManagementRepository.saveAll(recipes);
+        RestAssuredConfig noDecoding = RestAssuredConfig.config().decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        byte[] compressed = given()
+                .port(port)
+                .config(noDecoding)
+                .accept(ContentType.JSON)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .queryParam("pageSize", 50)
+                .when()
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .extract().asByteArray();
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            Assertions.assertThat(new ObjectMapper().readTree(inputStream)).hasSize(50);
+        }
+    }
+
+    @Test
+    @DisplayName("testStreamAllRecipes : GIVEN a request to stream all recipes THEN returns one recipe per line")
+    void testStreamAllRecipes() throws Exception {
+        String body = given()
+                .port(port)
+                .accept("application/x-ndjson")
+                .when()
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+        Assertions.assertThat(body.lines()).hasSize(2);
+    }
+
     @Test
     @DisplayName("testGetRecipeByName : GIVEN a Request to get a recipe by name THEN returns the recipe details")
     void testGetRecipeByName() throws Exception {
@@ -114,6 +262,59 @@ public class RecipeManagementIntegrationTest {
                 .body("recipeName", Matchers.equalTo(createTestRecipes().get(0).getRecipeName()));
     }
 
+    @Test
+    @DisplayName("testConditionalGetAndUpdate : GIVEN the ETag of a recipe THEN NOT_MODIFIED until it is updated and a stale If-Match is rejected")
+    void testConditionalGetAndUpdate() throws Exception {
+        Recipe recipe = createTestRecipes().get(0);
+        String recipeName = recipe.getRecipeName();
+        Long id = recipeManagementRepository.findVersionByRecipeName(recipeName).orElseThrow().getId();
+        String eTag = given()
+                .port(port)
+                .when()
+                .get("/recipe/" + recipeName)
+                .then()
+                .statusCode(200)
+                .header(HttpHeaders.LAST_MODIFIED, Matchers.notNullValue())
+                .extract().header(HttpHeaders.ETAG);
+        given()
+                .port(port)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/recipe/" + recipeName)
+                .then()
+                .statusCode(304);
+
+        String recipeJson = new ObjectMapper().writeValueAsString(RecipeMapper.INSTANCE.fromRecipe(recipe));
+        recipe.setServings(9);
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .body(new ObjectMapper().writeValueAsString(RecipeMapper.INSTANCE.fromRecipe(recipe)))
+                .when()
+                .put("/recipe/" + id)
+                .then()
+                .statusCode(200);
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .body(recipeJson)
+                .when()
+                .put("/recipe/" + id)
+                .then()
+                .statusCode(412);
+        given()
+                .port(port)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .when()
+                .get("/recipe/" + recipeName)
+                .then()
+                .statusCode(200)
+                .header(HttpHeaders.ETAG, Matchers.not(eTag))
+                .body("servings", Matchers.equalTo(9));
+    }
+
     @Test
     @DisplayName("testFilterRecipes : GIVEN a request with searchCriteria THEN returns the list of Recipes matching the criteria")
     void testFilterRecipes() throws Exception {
@@ -146,19 +347,50 @@ public class RecipeManagementIntegrationTest {
                 .body("get(0).recipeName", Matchers.equalTo(createTestRecipes().get(0).getRecipeName()));
     }
 
+    @Test
+    @DisplayName("testFilterRecipesByIngredients : GIVEN required, optional and forbidden ingredients THEN returns the matching recipes ranked by optional matches")
+    void testFilterRecipesByIngredients() throws Exception {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setRequiredIngredients(List.of("potato", "salt"));
+        recipeFilterRequest.setOptionalIngredients(List.of("oil"));
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(new ObjectMapper().writeValueAsString(recipeFilterRequest))
+                .post("/recipe/search")
+                .then()
+                .statusCode(200)
+                .body("recipeName", Matchers.contains("Frites", "Salmon Platter"));
+
+        recipeFilterRequest.setForbiddenIngredients(List.of("oil"));
+        recipeFilterRequest.setPageSize(1);
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(new ObjectMapper().writeValueAsString(recipeFilterRequest))
+                .post("/recipe/search")
+                .then()
+                .statusCode(200)
+                .body("recipeName", Matchers.contains("Salmon Platter"));
+    }
+
     private List<Recipe> createTestRecipes() throws Exception {
         Recipe recipe1 = new Recipe();
         recipe1.setRecipeName("Salmon Platter");
         recipe1.setCategory(Category.NON_VEGETARIAN);
         recipe1.setServings(4);
         recipe1.setInstructions("Grill the salmon");
-        recipe1.setIngredients(Set.of(new Ingredient(null, "salmon"), new Ingredient(null, "potato"), new Ingredient(null, "salt")));
+        recipe1.setIngredients(ingredients("salmon", "potato", "salt"));
         Recipe recipe2 = new Recipe();
         recipe2.setRecipeName("Frites");
         recipe2.setCategory(Category.VEGETARIAN);
         recipe2.setServings(6);
         recipe2.setInstructions("deep fry in the oil");
-        recipe2.setIngredients(Set.of(new Ingredient(null, "potato"), new Ingredient(null, "oil"), new Ingredient(null, "salt")));
+        recipe2.setIngredients(ingredients("potato", "oil", "salt"));
         return List.of(recipe1, recipe2);
     }
+
+    private Set<Ingredient> ingredients(String... names) {
+        return new HashSet<>(ingredientCatalog.resolve(List.of(names)).values());
+    }
 }
@@ -0,0 +1,154 @@
+package com.nl.recipeManagementAPI.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import com.nl.recipeManagementAPI.service.RecipeManagementService;
+import com.nl.recipeManagementAPI.utils.RecipeFactory;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Runs the api on two h2 databases, the primary and a replica that only catches up when {@link #replicate()} copies
+ * the primary to it, the reads that find the recipes written to the primary before the copy were served by the
+ * primary.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "recipe-management.replica.enabled=true",
+        "recipe-management.replica.url=jdbc:h2:mem:replica-${random.uuid};MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "recipe-management.replica.username=sa",
+        "recipe-management.replica.password=",
+        "recipe-management.replica.read-your-writes-window=1m"
+})
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        recipeManagementRepository.deleteAll();
+        replicate();
+    }
+
+    @Test
+    @DisplayName("getAllRecipes : GIVEN a recipe written to the primary THEN it is only read once the replica caught up")
+    void readsFromReplica() throws IOException {
+        recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+
+        getAllRecipes().then().body("$", Matchers.empty());
+
+        replicate();
+        getAllRecipes().then().body("recipeName", Matchers.contains("bread"));
+    }
+
+    @Test
+    @DisplayName("getRecipe : GIVEN a recipe not replicated yet THEN the miss of the cache is read from the primary")
+    void cacheMissFromPrimary() {
+        recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+
+        given()
+                .port(port)
+                .accept(ContentType.JSON)
+                .get("/recipe/bread")
+                .then()
+                .statusCode(200)
+                .body("recipeName", Matchers.equalTo("bread"));
+        getAllRecipes().then().body("$", Matchers.empty());
+    }
+
+    @Test
+    @DisplayName("getAllRecipes : GIVEN a client that created a recipe THEN its reads go to the primary within the window")
+    void readYourWrites() throws Exception {
+        String lastWrite = given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(new ObjectMapper().writeValueAsString(RecipeFactory.recipeDetails()))
+                .when()
+                .post("/recipe")
+                .then()
+                .statusCode(201)
+                .extract()
+                .cookie(ReadYourWrites.LAST_WRITE_COOKIE);
+        Assertions.assertThat(lastWrite).isNotBlank();
+
+        given()
+                .port(port)
+                .cookie(ReadYourWrites.LAST_WRITE_COOKIE, lastWrite)
+                .accept(ContentType.JSON)
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .body("recipeName", Matchers.contains("bread"));
+        getAllRecipes().then().body("$", Matchers.empty());
+    }
+
+    @Test
+    @DisplayName("getAllRecipes : GIVEN a client whose last write is older than the window THEN it reads from the replica")
+    void readYourWritesExpired() {
+        recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+
+        given()
+                .port(port)
+                .cookie(ReadYourWrites.LAST_WRITE_COOKIE, Instant.now().minus(Duration.ofMinutes(2)).toEpochMilli())
+                .accept(ContentType.JSON)
+                .get("/recipes")
+                .then()
+                .statusCode(200)
+                .body("$", Matchers.empty());
+    }
+
+    private Response getAllRecipes() {
+        return given()
+                .port(port)
+                .accept(ContentType.JSON)
+                .get("/recipes");
+    }
+
+    /**
+     * Replaces the content of the replica with a copy of the primary.
+     */
+    private void replicate() throws IOException {
+        Path script = Files.createTempFile("replica", ".sql");
+        try {
+            new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + script + "'");
+            JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + script + "'");
+        } finally {
+            Files.deleteIfExists(script);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.nl.recipeManagementAPI.index;
+
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import com.nl.recipeManagementAPI.service.RecipeManagementService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class InstructionSearchIndexIntegrationTest {
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private InstructionSearchIndex instructionSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.findAll().forEach(recipe -> recipeManagementService.deleteRecipe(recipe.getId()));
+    }
+
+    @Test
+    @DisplayName("tokenize : GIVEN a text THEN splits it into lower case words")
+    void tokenize() {
+        assertThat(InstructionSearchIndex.tokenize("Grill the Salmon, 10-12 minutes!"))
+                .containsExactly("grill", "the", "salmon", "10", "12", "minutes");
+    }
+
+    @Test
+    @DisplayName("filterRecipes : GIVEN an instruction query THEN returns the recipes matching every word prefix ranked by relevance")
+    void filterRecipesByInstructionQuery() {
+        assertThat(instructionSearchIndex.isEnabled()).isTrue();
+        recipeManagementService.createRecipe(recipe("grilled salmon", "Grill the salmon, grill it again and serve"));
+        recipeManagementService.createRecipe(recipe("salmon salad", "Toss the salmon with the salad, grill the bread"));
+        recipeManagementService.createRecipe(recipe("frites", "Deep fry the potatoes in the oil"));
+
+        assertThat(search("gril", null)).containsExactly("grilled salmon", "salmon salad");
+        assertThat(search("GRILL salm", null)).containsExactly("grilled salmon", "salmon salad");
+        assertThat(search("grill bread", null)).containsExactly("salmon salad");
+        assertThat(search("grill", 1)).containsExactly("grilled salmon");
+        assertThat(search("bake", null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("filterRecipes : GIVEN a recipe whose instructions are updated THEN the instruction query matches the new instructions")
+    void filterRecipesAfterUpdate() {
+        RecipeDetails frites = recipeManagementService.createRecipe(recipe("frites", "Deep fry the potatoes in the oil"));
+        frites.setInstructions("Bake the potatoes in the oven");
+        recipeManagementService.updateRecipe(frites.getId(), frites, null);
+
+        assertThat(search("fry", null)).isEmpty();
+        assertThat(search("bake oven", null)).containsExactly("frites");
+    }
+
+    private List<String> search(String instructionQuery, Integer pageSize) {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setInstructionQuery(instructionQuery);
+        recipeFilterRequest.setPageSize(pageSize);
+        return recipeManagementService.filterRecipes(recipeFilterRequest).stream()
+                .map(RecipeDetails::getRecipeName)
+                .toList();
+    }
+
+    private static RecipeDetails recipe(String name, String instructions) {
+        return RecipeDetails.builder()
+                .recipeName(name)
+                .category(Category.NON_VEGETARIAN)
+                .servings(2)
+                .instructions(instructions)
+                .ingredients(Set.of(new RecipeIngredient(null, "salt")))
+                .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.nl.recipeManagementAPI.index;
+
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import com.nl.recipeManagementAPI.service.RecipeManagementService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "recipe-management.search-index.enabled=true")
+class RecipeSearchIndexIntegrationTest {
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @MockitoSpyBean
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Test
+    @DisplayName("filterRecipes : GIVEN the search index is enabled THEN the index finds the same recipes as the database")
+    void filterRecipesFromIndex() {
+        RecipeDetails salmon = recipeManagementService.createRecipe(recipe("index salmon", Category.NON_VEGETARIAN, 4, "salmon", "potato"));
+        RecipeDetails frites = recipeManagementService.createRecipe(recipe("index frites", Category.VEGETARIAN, 6, "potato", "oil"));
+        frites.setIngredients(Set.of(new RecipeIngredient(null, "salt")));
+        recipeManagementService.updateRecipe(frites.getId(), frites, null);
+
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setIncludesIngredient("potato");
+        recipeFilterRequest.setExcludesIngredient("salmon");
+
+        assertThat(recipeSearchIndex.isReady()).isTrue();
+        List<Long> indexedIds = recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged()).orElseThrow();
+        assertThat(indexedIds)
+                .contains(frites.getId())
+                .doesNotContain(salmon.getId())
+                .isEqualTo(recipeManagementRepository.findIds(recipeFilterRequest, Pageable.unpaged()));
+        assertThat(recipeManagementService.filterRecipes(recipeFilterRequest))
+                .extracting(RecipeDetails::getRecipeName)
+                .containsExactly("index frites");
+    }
+
+    @Test
+    @DisplayName("createRecipe : GIVEN a search cached before the index applies the created recipe THEN the search is evicted once it is applied")
+    void createRecipeEvictsSearchesAfterIndexing() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setIncludesIngredient("lentil");
+        assertThat(recipeManagementService.filterRecipes(recipeFilterRequest)).isEmpty();
+        doAnswer(invocation -> {
+            assertThat(CompletableFuture.supplyAsync(() -> recipeManagementService.filterRecipes(recipeFilterRequest)).join())
+                    .isEmpty();
+            return invocation.callRealMethod();
+        }).when(recipeSearchIndex).onRecipeChanged(any());
+
+        recipeManagementService.createRecipe(recipe("index dal", Category.VEGAN, 2, "lentil", "cumin"));
+
+        assertThat(recipeManagementService.filterRecipes(recipeFilterRequest))
+                .extracting(RecipeDetails::getRecipeName)
+                .containsExactly("index dal");
+    }
+
+    private static RecipeDetails recipe(String name, Category category, int servings, String... ingredients) {
+        return RecipeDetails.builder()
+                .recipeName(name)
+                .category(category)
+                .servings(servings)
+                .instructions("cook")
+                .ingredients(Stream.of(ingredients).map(ingredient -> new RecipeIngredient(null, ingredient))
+                        .collect(Collectors.toSet()))
+                .build();
+    }
+}
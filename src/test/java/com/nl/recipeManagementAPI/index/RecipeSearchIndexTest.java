@@ -0,0 +1,154 @@
+package com.nl.recipeManagementAPI.index;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.event.RecipeChangedEvent;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeIngredientView;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecipeSearchIndexTest {
+
+    @Mock
+    RecipeManagementRepository recipeManagementRepository;
+
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        RecipeManagementProperties recipeManagementProperties = new RecipeManagementProperties();
+        recipeManagementProperties.getSearchIndex().setEnabled(true);
+        recipeSearchIndex = new RecipeSearchIndex(recipeManagementRepository, recipeManagementProperties);
+        when(recipeManagementRepository.streamRecipeIngredients()).thenReturn(Stream.of(
+                row(1L, Category.NON_VEGETARIAN, 4, "salmon"),
+                row(1L, Category.NON_VEGETARIAN, 4, "potato"),
+                row(2L, Category.VEGETARIAN, 6, "potato"),
+                row(2L, Category.VEGETARIAN, 6, "oil"),
+                row(3L, Category.VEGAN, 4, null)));
+        recipeSearchIndex.build();
+    }
+
+    @Test
+    @DisplayName("findIds : GIVEN the index is not built THEN falls back to the database")
+    void findIdsNotReady() {
+        RecipeSearchIndex notBuilt = new RecipeSearchIndex(recipeManagementRepository, new RecipeManagementProperties());
+        notBuilt.build();
+        assertThat(notBuilt.isReady()).isFalse();
+        assertThat(notBuilt.findIds(new RecipeFilterRequest(), Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findIds : GIVEN an include and an exclude ingredient THEN returns the recipes with the one and without the other")
+    void findIdsByIngredients() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setIncludesIngredient("potato");
+        recipeFilterRequest.setExcludesIngredient("oil");
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("findIds : GIVEN servings and a category THEN returns the recipes matching both in order of id")
+    void findIdsByServingsAndCategory() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setServings(4);
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of(1L, 3L));
+        recipeFilterRequest.setCategory(Category.VEGAN);
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("findIds : GIVEN optional ingredients THEN returns the recipes with any of them ranked by the number matched")
+    void findIdsRankedByOptionalIngredients() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setOptionalIngredients(List.of("oil", "potato", "salmon"));
+        recipeFilterRequest.setForbiddenIngredients(List.of("truffle"));
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of(1L, 2L));
+        recipeFilterRequest.setOptionalIngredients(List.of("oil"));
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of(2L));
+    }
+
+    @Test
+    @DisplayName("findIds : GIVEN required ingredients and a page THEN returns that page of the recipes containing all of them")
+    void findIdsPageOfRequiredIngredients() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setRequiredIngredients(List.of("potato"));
+        recipeFilterRequest.setOptionalIngredients(List.of("oil"));
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, PageRequest.of(0, 1))).contains(List.of(2L));
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, PageRequest.of(1, 1))).contains(List.of(1L));
+        recipeFilterRequest.setRequiredIngredients(List.of("potato", "salmon"));
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("findIds : GIVEN an unknown ingredient THEN returns no recipes")
+    void findIdsUnknownIngredient() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setIncludesIngredient("truffle");
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of());
+    }
+
+    @Test
+    @DisplayName("findIds : GIVEN an instruction filter THEN leaves the search to the database")
+    void findIdsByInstruction() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setInstruction("grill");
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("onRecipeChanged : GIVEN recipes created, updated and deleted THEN the index reflects the changes")
+    void onRecipeChanged() {
+        RecipeDetails frites = recipe(2L, Category.VEGETARIAN, 6, "potato", "oil");
+        RecipeDetails bakedFrites = recipe(2L, Category.VEGETARIAN, 6, "potato", "salt");
+        recipeSearchIndex.onRecipeChanged(new RecipeChangedEvent(RecipeChangeType.UPDATED, frites, bakedFrites));
+        recipeSearchIndex.onRecipeChanged(new RecipeChangedEvent(RecipeChangeType.CREATED, null,
+                recipe(4L, Category.VEGAN, 2, "potato")));
+        recipeSearchIndex.onRecipeChanged(new RecipeChangedEvent(RecipeChangeType.DELETED,
+                recipe(1L, Category.NON_VEGETARIAN, 4, "salmon", "potato"), null));
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setIncludesIngredient("potato");
+        recipeFilterRequest.setExcludesIngredient("oil");
+        assertThat(recipeSearchIndex.findIds(recipeFilterRequest, Pageable.unpaged())).contains(List.of(2L, 4L));
+    }
+
+    private static RecipeDetails recipe(Long id, Category category, int servings, String... ingredients) {
+        return RecipeDetails.builder()
+                .id(id)
+                .recipeName("recipe " + id)
+                .category(category)
+                .servings(servings)
+                .ingredients(Stream.of(ingredients).map(name -> new RecipeIngredient(null, name)).collect(Collectors.toSet()))
+                .build();
+    }
+
+    private static RecipeIngredientView row(Long id, Category category, Integer servings, String ingredientName) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", id);
+        values.put("category", category);
+        values.put("servings", servings);
+        values.put("ingredientName", ingredientName);
+        return new SpelAwareProxyProjectionFactory().createProjection(RecipeIngredientView.class, values);
+    }
+}
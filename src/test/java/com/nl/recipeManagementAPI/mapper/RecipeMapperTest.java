@@ -1,12 +1,16 @@
 package com.nl.recipeManagementAPI.mapper;
 
 import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.Category;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeDetailsView;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import static com.nl.recipeManagementAPI.utils.RecipeFactory.recipe;
 import static com.nl.recipeManagementAPI.utils.RecipeFactory.recipeDetails;
+import static com.nl.recipeManagementAPI.utils.RecipeFactory.recipeDetailsView;
 import static org.assertj.core.api.Assertions.assertThat;
 
 class RecipeMapperTest {
@@ -48,4 +52,22 @@ class RecipeMapperTest {
         assertThat(recipeDetails.getInstructions())
                 .isEqualTo(recipe.getInstructions());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("fromRecipeDetailsView : GIVEN a projection with aggregated ingredients maps to RecipeDetails")
+    void fromRecipeDetailsView() {
+        RecipeDetails recipeDetails = recipeMapper.fromRecipeDetailsView(recipeDetailsView(111L, "bread"));
+        assertThat(recipeDetails.getId()).isEqualTo(111L);
+        assertThat(recipeDetails.getRecipeName()).isEqualTo("bread");
+        assertThat(recipeDetails.getIngredients())
+                .containsExactlyInAnyOrder(new RecipeIngredient(1L, "flour"), new RecipeIngredient(2L, "yeast"));
+    }
+
+    @Test
+    @DisplayName("fromRecipeDetailsView : GIVEN a projection of a recipe without ingredients maps to no ingredients")
+    void fromRecipeDetailsViewWithoutIngredients() {
+        RecipeDetails recipeDetails = recipeMapper.fromRecipeDetailsView(new RecipeDetailsView(111L, "bread",
+                Category.VEGETARIAN, "Bake in oven", 5, 0L, null, new Long[]{null}, new String[]{null}));
+        assertThat(recipeDetails.getIngredients()).isEmpty();
+    }
+}
@@ -0,0 +1,103 @@
+package com.nl.recipeManagementAPI.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.endpoints.web.exposure.include=prometheus")
+@AutoConfigureObservability
+class RecipeMetricsIntegrationTest {
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+        Recipe recipe = new Recipe();
+        recipe.setRecipeName("frites");
+        recipe.setCategory(Category.VEGETARIAN);
+        recipe.setServings(6);
+        recipe.setInstructions("deep fry in the oil");
+        recipe.setIngredients(new HashSet<>(ingredientCatalog.resolve(List.of("potato", "oil")).values()));
+        recipeManagementRepository.save(recipe);
+    }
+
+    @Test
+    @DisplayName("recordSearchMetrics : GIVEN a search by category and ingredients THEN records its latency and results per filter combination and the statements of the request")
+    void recordSearchMetrics() throws Exception {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setCategory(Category.VEGETARIAN);
+        recipeFilterRequest.setRequiredIngredients(List.of("potato"));
+        given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .body(new ObjectMapper().writeValueAsString(recipeFilterRequest))
+                .post("/recipe/search")
+                .then()
+                .statusCode(200);
+
+        assertThat(meterRegistry.get(RecipeMetrics.OPERATION_TIMER).tag("operation", "search").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RecipeMetrics.SEARCH_TIMER).tag("filters", "category+requiredIngredients").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RecipeMetrics.SEARCH_RESULTS).tag("filters", "category+requiredIngredients").summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get(RecipeMetrics.REQUEST_STATEMENTS).tag("uri", "/recipe/search").summary().max()).isPositive();
+    }
+
+    @Test
+    @DisplayName("scrapePrometheus : GIVEN recipe requests THEN the operation timers, page sizes and hikari pool are exposed in the prometheus format")
+    void scrapePrometheus() {
+        given().port(port).get("/recipe/frites").then().statusCode(200);
+        given().port(port).accept(ContentType.JSON).get("/recipes").then().statusCode(200);
+
+        String scrape = given()
+                .port(port)
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+        assertThat(scrape)
+                .contains("recipe_operation_seconds_bucket{")
+                .containsPattern("recipe_operation_seconds_count\\{.*operation=\"get\".*} 1")
+                .contains("recipe_page_results_sum 1.0")
+                .contains("hikaricp_connections_acquire_seconds");
+    }
+
+    @Test
+    @DisplayName("filters : GIVEN filter requests THEN names the combination of the filters that are set")
+    void filters() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        assertThat(RecipeMetrics.filters(recipeFilterRequest)).isEqualTo("none");
+        recipeFilterRequest.setExcludesIngredient("oil");
+        recipeFilterRequest.setServings(4);
+        recipeFilterRequest.setOptionalIngredients(List.of(" "));
+        assertThat(RecipeMetrics.filters(recipeFilterRequest)).isEqualTo("servings+forbiddenIngredients");
+    }
+}
@@ -0,0 +1,168 @@
+package com.nl.recipeManagementAPI.outbox;
+
+import com.nl.recipeManagementAPI.entity.RecipeChange;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.exception.RecipeExistsException;
+import com.nl.recipeManagementAPI.model.RecipeChangeDetails;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.repository.RecipeChangeRepository;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import com.nl.recipeManagementAPI.service.RecipeManagementService;
+import com.nl.recipeManagementAPI.utils.RecipeFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class RecipeChangePublisherIntegrationTest {
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private RecipeChangePublisher recipeChangePublisher;
+
+    @Autowired
+    private RecipeChangeRepository recipeChangeRepository;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+        recipeChangeRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("publish : GIVEN a recipe created, updated and deleted THEN the feed has the three changes in order once published")
+    void publishChanges() {
+        RecipeDetails created = recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+        RecipeDetails update = RecipeFactory.recipeDetails();
+        update.setServings(8);
+        recipeManagementService.updateRecipe(created.getId(), update, null);
+        recipeManagementService.deleteRecipe(created.getId());
+
+        assertThat(recipeManagementService.getChanges(null, null)).isEmpty();
+        recipeChangePublisher.publish();
+
+        List<RecipeChangeDetails> changes = recipeManagementService.getChanges(null, null);
+        assertThat(changes).extracting(RecipeChangeDetails::getChangeType)
+                .containsExactly(RecipeChangeType.CREATED, RecipeChangeType.UPDATED, RecipeChangeType.DELETED);
+        assertThat(changes).extracting(RecipeChangeDetails::getRecipeId).containsOnly(created.getId());
+        assertThat(changes).extracting(RecipeChangeDetails::getPosition).isSorted().doesNotHaveDuplicates();
+        assertThat(changes.get(1).getRecipe()).contains("\"servings\":8");
+        assertThat(changes.get(2).getRecipe()).isNull();
+
+        assertThat(recipeManagementService.getChanges(changes.get(0).getPosition(), 1))
+                .extracting(RecipeChangeDetails::getChangeType)
+                .containsExactly(RecipeChangeType.UPDATED);
+    }
+
+    @Test
+    @DisplayName("publish : GIVEN changes committed after a publication THEN they get positions after the published ones")
+    void publishLaterChanges() {
+        recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+        recipeChangePublisher.publish();
+        long since = recipeManagementService.getChanges(null, null).get(0).getPosition();
+
+        RecipeDetails recipeDetails = RecipeFactory.recipeDetails();
+        recipeDetails.setRecipeName("pizza");
+        recipeManagementService.createRecipe(recipeDetails);
+        recipeChangePublisher.publish();
+
+        assertThat(recipeManagementService.getChanges(since, null))
+                .extracting(RecipeChangeDetails::getRecipeName)
+                .containsExactly("pizza");
+    }
+
+    @Test
+    @DisplayName("publish : GIVEN changes being published by another node THEN the publisher waits and does not number them again")
+    void publishConcurrently() throws Exception {
+        for (String recipeName : List.of("bread", "pizza")) {
+            RecipeDetails recipeDetails = RecipeFactory.recipeDetails();
+            recipeDetails.setRecipeName(recipeName);
+            recipeManagementService.createRecipe(recipeDetails);
+        }
+        Instant publishedAt = Instant.now().minusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+        CountDownLatch numbered = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> otherNode = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            long position = recipeChangeRepository.findMaxPosition();
+            for (RecipeChange recipeChange : recipeChangeRepository.findByPositionIsNullOrderByIdAsc(Limit.of(10))) {
+                recipeChange.setPosition(++position);
+                recipeChange.setPublishedAt(publishedAt);
+            }
+            recipeChangeRepository.flush();
+            numbered.countDown();
+            try {
+                commit.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(numbered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Void> publisher = CompletableFuture.runAsync(recipeChangePublisher::publish);
+        Thread.sleep(200);
+        assertThat(publisher).isNotDone();
+        commit.countDown();
+        otherNode.get(5, TimeUnit.SECONDS);
+        publisher.get(5, TimeUnit.SECONDS);
+
+        assertThat(recipeManagementService.getChanges(null, null))
+                .extracting(RecipeChangeDetails::getRecipeName, RecipeChangeDetails::getPosition)
+                .containsExactly(tuple("bread", 1L), tuple("pizza", 2L));
+        assertThat(recipeChangeRepository.findAll()).extracting(RecipeChange::getPublishedAt).containsOnly(publishedAt);
+    }
+
+    @Test
+    @DisplayName("createRecipe : GIVEN a change that is rolled back THEN nothing is written to the outbox")
+    void rolledBackChange() {
+        recipeManagementService.createRecipe(RecipeFactory.recipeDetails());
+
+        assertThatThrownBy(() -> recipeManagementService.createRecipe(RecipeFactory.recipeDetails()))
+                .isInstanceOf(RecipeExistsException.class);
+
+        assertThat(recipeChangeRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("publish : GIVEN published changes older than the retention THEN they are deleted except the last one")
+    void deleteExpiredChanges() {
+        for (String recipeName : List.of("bread", "pizza", "pasta")) {
+            RecipeDetails recipeDetails = RecipeFactory.recipeDetails();
+            recipeDetails.setRecipeName(recipeName);
+            recipeManagementService.createRecipe(recipeDetails);
+        }
+        recipeChangePublisher.publish();
+        List<RecipeChange> recipeChanges = recipeChangeRepository.findAll();
+        recipeChanges.forEach(recipeChange -> recipeChange.setPublishedAt(Instant.now().minus(Duration.ofDays(30))));
+        recipeChangeRepository.saveAll(recipeChanges);
+
+        recipeChangePublisher.publish();
+
+        assertThat(recipeManagementService.getChanges(null, null))
+                .extracting(RecipeChangeDetails::getRecipeName)
+                .containsExactly("pasta");
+    }
+}
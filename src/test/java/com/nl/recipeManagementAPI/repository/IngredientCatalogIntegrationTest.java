@@ -0,0 +1,133 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.entity.Ingredient;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.service.RecipeManagementService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class IngredientCatalogIntegrationTest {
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("createRecipe : GIVEN recipes sharing ingredients THEN each ingredient is stored once under its normalized name")
+    void sharedIngredients() {
+        recipeManagementService.createRecipe(recipe("pancakes", "Flour", "milk", "Eggs"));
+        recipeManagementService.createRecipe(recipe("bread", "flour ", "water", "SALT"));
+        recipeManagementService.createRecipe(recipe("omelette", "eggs", "salt", "milk"));
+
+        assertThat(ingredientRepository.findByNameIn(List.of("flour", "milk", "eggs", "water", "salt")))
+                .extracting(Ingredient::getName)
+                .containsExactlyInAnyOrder("flour", "milk", "eggs", "water", "salt");
+        assertThat(recipeManagementService.getRecipe("bread").getIngredients())
+                .extracting(RecipeIngredient::getName)
+                .containsExactlyInAnyOrder("flour", "water", "salt");
+    }
+
+    @Test
+    @DisplayName("resolve : GIVEN names already in the catalog THEN the interned ids are used without querying the database")
+    void resolveInterned() {
+        Map<String, Ingredient> created = ingredientCatalog.resolve(List.of("basil", "garlic"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Map<String, Ingredient> resolved = ingredientCatalog.resolve(List.of(" Basil", "GARLIC"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(resolved.get("basil").getId()).isEqualTo(created.get("basil").getId());
+        assertThat(resolved.get("garlic").getId()).isEqualTo(created.get("garlic").getId());
+    }
+
+    @Test
+    @DisplayName("resolve : GIVEN a name added by a concurrent transaction not committed yet THEN both resolve it to the same ingredient")
+    void resolveConcurrently() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicReference<CompletableFuture<Long>> concurrent = new AtomicReference<>();
+
+        Long id = transactionTemplate.execute(status -> {
+            Long addedId = ingredientCatalog.resolve(List.of("sumac")).get("sumac").getId();
+            concurrent.set(CompletableFuture.supplyAsync(() -> transactionTemplate.execute(concurrentStatus ->
+                    ingredientCatalog.resolve(List.of(" Sumac")).get("sumac").getId())));
+            assertThatThrownBy(() -> concurrent.get().get(500, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+            return addedId;
+        });
+
+        assertThat(concurrent.get().join()).isEqualTo(id);
+        assertThat(ingredientRepository.findByNameIn(List.of("sumac"))).extracting(Ingredient::getId).containsExactly(id);
+    }
+
+    @Test
+    @DisplayName("filterRecipes : GIVEN ingredient names in any case THEN matches the recipes of the catalog entries")
+    void filterByCatalogIngredients() {
+        recipeManagementService.createRecipe(recipe("pancakes", "flour", "milk", "eggs"));
+        recipeManagementService.createRecipe(recipe("bread", "flour", "water", "salt"));
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setIncludesIngredient("FLOUR");
+        recipeFilterRequest.setExcludesIngredient(" Eggs");
+
+        assertThat(recipeManagementService.filterRecipes(recipeFilterRequest))
+                .extracting(RecipeDetails::getRecipeName)
+                .containsExactly("bread");
+
+        recipeFilterRequest.setRequiredIngredients(List.of("saffron"));
+        assertThat(recipeManagementService.filterRecipes(recipeFilterRequest)).isEmpty();
+    }
+
+    private static RecipeDetails recipe(String name, String... ingredients) {
+        return RecipeDetails.builder()
+                .recipeName(name)
+                .category(Category.VEGETARIAN)
+                .instructions("Mix and bake")
+                .servings(2)
+                .ingredients(Set.of(ingredients).stream()
+                        .map(ingredient -> new RecipeIngredient(null, ingredient))
+                        .collect(Collectors.toSet()))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.nl.recipeManagementAPI.repository;
+
+import com.nl.recipeManagementAPI.entity.Recipe;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Migrates a database created by ddl-auto before the Flyway migrations: the ingredient names that differ by their case
+ * or spaces are merged, the recipe names that differ by their case fail the migration until they are renamed.
+ * Every test runs on its own container. Skipped when docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RecipeSchemaMigrationIntegrationTest {
+
+    @Container
+    PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createLegacySchema() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                create table recipe (id bigint not null primary key, recipe_name varchar(255) not null,
+                                     category varchar(255), instructions varchar(255), servings integer not null,
+                                     constraint ukdh3yh9fgr2u1qv3ei4xwnjr6n unique (recipe_name));
+                create table ingredient (id bigint not null primary key, name varchar(255) not null);
+                create table recipe_ingredient (recipe_id bigint not null references recipe,
+                                                ingredient_id bigint not null references ingredient,
+                                                primary key (recipe_id, ingredient_id));
+                insert into ingredient values (10, 'flour'), (11, 'Flour '), (12, 'salt'), (13, 'Water');
+                """);
+    }
+
+    @Test
+    void migrateIngredientsDifferingInCase() {
+        jdbcTemplate.execute("""
+                insert into recipe values (1, 'bread', 'VEGAN', 'bake', 2), (2, 'Pizza', 'VEGAN', 'bake', 4),
+                                          (3, ' Soup', 'VEGAN', 'boil', 2);
+                insert into recipe_ingredient values (1, 10), (1, 11), (2, 11), (2, 12), (3, 13);
+                """);
+
+        migrate();
+
+        assertThat(jdbcTemplate.queryForList("select id, name from ingredient order by id"))
+                .containsExactly(Map.of("id", 10L, "name", "flour"), Map.of("id", 12L, "name", "salt"),
+                        Map.of("id", 13L, "name", "water"));
+        assertThat(jdbcTemplate.queryForList("select recipe_id || ':' || ingredient_id from recipe_ingredient order by 1", String.class))
+                .containsExactly("1:10", "2:10", "2:12", "3:13");
+        assertThat(jdbcTemplate.queryForList("select recipe_name from recipe order by id", String.class))
+                .containsExactly("bread", "Pizza", " Soup");
+        assertThat(jdbcTemplate.queryForList("select conname from pg_constraint where conrelid = 'recipe'::regclass and contype = 'u'", String.class))
+                .containsExactly(Recipe.NAME_CONSTRAINT);
+        List<String> duplicates = List.of("insert into ingredient values (14, 'salt')",
+                "insert into recipe (id, recipe_name, servings) values (4, 'BREAD', 1)");
+        duplicates.forEach(duplicate -> assertThatThrownBy(() -> jdbcTemplate.execute(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class));
+    }
+
+    @Test
+    void migrateRecipesDifferingInCase() {
+        jdbcTemplate.execute("""
+                insert into recipe values (1, 'bread', 'VEGAN', 'bake', 2), (2, 'Bread', 'VEGAN', 'bake', 4),
+                                          (3, 'soup', 'VEGAN', 'boil', 2), (4, 'SOUP', 'VEGAN', 'boil', 2),
+                                          (5, 'pizza', 'VEGAN', 'bake', 2);
+                insert into recipe_ingredient values (1, 10), (2, 11);
+                """);
+
+        assertThatThrownBy(this::migrate)
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("bread (ids 1, 2), soup (ids 3, 4)");
+
+        assertThat(jdbcTemplate.queryForList("select recipe_name from recipe order by id", String.class))
+                .containsExactly("bread", "Bread", "soup", "SOUP", "pizza");
+        assertThat(jdbcTemplate.queryForList("select name from ingredient order by id", String.class))
+                .containsExactly("flour", "Flour ", "salt", "Water");
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+}
@@ -0,0 +1,181 @@
+package com.nl.recipeManagementAPI.repository;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the plans PostgreSQL chooses for the search queries on the schema of the Flyway migrations: with selective
+ * filters on a large catalog no combination reads the recipe, recipe_ingredient or ingredient table sequentially.
+ * The statements are captured from the org.hibernate.SQL log and explained, the criteria values are rendered inline
+ * so that the plans are the ones of the actual values. Skipped when docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.hibernate.naming.implicit-strategy=org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy",
+        "spring.jpa.hibernate.naming.physical-strategy=org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+class RecipeSearchPlanIntegrationTest {
+
+    private static final Set<String> SEARCH_TABLES = Set.of("recipe", "recipe_ingredient", "ingredient");
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger("org.hibernate.SQL");
+
+    private ListAppender<ILoggingEvent> statements;
+
+    /**
+     * 50000 recipes of which 1% are vegan, with 1 to 100 servings, 0.2% of them caramelize and 5 of 2000 ingredients
+     * each, so that every ingredient is in 0.25% of the recipes.
+     */
+    @BeforeAll
+    void seedCatalog() {
+        jdbcTemplate.execute("insert into ingredient (id, name) select g, 'ingredient ' || g from generate_series(1, 2000) g");
+        jdbcTemplate.execute("""
+                insert into recipe (id, recipe_name, category, instructions, servings, version, last_modified)
+                select g, 'recipe ' || g,
+                       case when g % 100 = 0 then 'VEGAN' when g % 2 = 0 then 'VEGETARIAN' else 'NON_VEGETARIAN' end,
+                       'step ' || md5(g::text) || case when g % 500 = 0 then ' caramelize the onions' else ' bake in the oven' end,
+                       1 + g % 100, 0, now()
+                from generate_series(1, 50000) g""");
+        jdbcTemplate.execute("""
+                insert into recipe_ingredient (recipe_id, ingredient_id)
+                select r, 1 + (r * 7 + k * 389) % 2000 from generate_series(1, 50000) r, generate_series(0, 4) k""");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @BeforeEach
+    void captureStatements() {
+        statements = new ListAppender<>();
+        statements.start();
+        sqlLogger.addAppender(statements);
+        sqlLogger.setLevel(Level.DEBUG);
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        sqlLogger.detachAppender(statements);
+        sqlLogger.setLevel(null);
+    }
+
+    static Stream<Arguments> filters() {
+        return Stream.of(
+                Arguments.of("category", filter(request -> request.setCategory(Category.VEGAN))),
+                Arguments.of("servings", filter(request -> request.setServings(42))),
+                Arguments.of("category+servings", filter(request -> {
+                    request.setCategory(Category.VEGETARIAN);
+                    request.setServings(43);
+                })),
+                Arguments.of("instruction", filter(request -> request.setInstruction("caramelize"))),
+                Arguments.of("instructionQuery", filter(request -> request.setInstructionQuery("caramelize onions"))),
+                Arguments.of("requiredIngredients", filter(request -> request.setRequiredIngredients(List.of("ingredient 7")))),
+                Arguments.of("optionalIngredients", filter(request -> request.setOptionalIngredients(List.of("ingredient 7", "ingredient 8")))),
+                Arguments.of("requiredIngredients+forbiddenIngredients", filter(request -> {
+                    request.setRequiredIngredients(List.of("ingredient 7"));
+                    request.setForbiddenIngredients(List.of("ingredient 396"));
+                })),
+                Arguments.of("category+forbiddenIngredients", filter(request -> {
+                    request.setCategory(Category.VEGAN);
+                    request.setForbiddenIngredients(List.of("ingredient 7"));
+                })));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filters")
+    void searchUsesIndexes(String filters, RecipeFilterRequest recipeFilterRequest) throws Exception {
+        recipeManagementRepository.findIds(recipeFilterRequest, Pageable.unpaged());
+
+        List<String> selects = statements.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(sql -> sql.trim().startsWith("select"))
+                .toList();
+        assertThat(selects).isNotEmpty();
+        for (String select : selects) {
+            String plan = jdbcTemplate.queryForObject(explain(select), String.class);
+            assertThat(sequentialScans(objectMapper.readTree(plan)))
+                    .as("sequential scans of %s", select)
+                    .doesNotContainAnyElementsOf(SEARCH_TABLES);
+        }
+    }
+
+    /**
+     * The statements that still bind parameters, like the lookup of the ingredient ids, are explained as the generic
+     * plan of their numbered placeholders.
+     */
+    private static String explain(String select) {
+        if (!select.contains("?")) {
+            return "explain (format json) " + select;
+        }
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : select.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return "explain (generic_plan, format json) " + numbered;
+    }
+
+    private static List<String> sequentialScans(JsonNode node) {
+        List<String> relations = new ArrayList<>();
+        if (node.isObject() && "Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        node.forEach(child -> relations.addAll(sequentialScans(child)));
+        return relations;
+    }
+
+    private static RecipeFilterRequest filter(Consumer<RecipeFilterRequest> filters) {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        filters.accept(recipeFilterRequest);
+        return recipeFilterRequest;
+    }
+}
@@ -0,0 +1,177 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.entity.RecipeChange;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.enums.RecipeChangeType;
+import com.nl.recipeManagementAPI.model.RecipeBulkRequest;
+import com.nl.recipeManagementAPI.model.RecipeBulkResult;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
+import com.nl.recipeManagementAPI.repository.RecipeChangeRepository;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.assertj.core.groups.Tuple;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class RecipeBulkServiceIntegrationTest {
+
+    @Autowired
+    private RecipeBulkService recipeBulkService;
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private RecipeChangeRepository recipeChangeRepository;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Autowired
+    private RecipeManagementProperties recipeManagementProperties;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+        recipeChangeRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeManagementProperties.getBulkChange().setChunkSize(500);
+    }
+
+    @Test
+    @DisplayName("deleteRecipes : GIVEN ids in several chunks THEN deletes the recipes and their ingredient rows and reports the missing ids")
+    void deleteRecipesByIds() {
+        recipeManagementProperties.getBulkChange().setChunkSize(2);
+        List<Long> ids = saveRecipes(5, Category.VEGETARIAN);
+
+        RecipeBulkResult result = recipeBulkService.deleteRecipes(new RecipeBulkRequest(List.of(ids.get(0), -1L, ids.get(1),
+                ids.get(2), ids.get(0)), null, null, null));
+
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getChanged()).isEqualTo(3);
+        assertThat(result.getMissingIds()).containsExactly(-1L);
+        assertThat(result.getFailedIds()).isEmpty();
+        assertThat(recipeManagementRepository.findAll()).extracting(Recipe::getId).containsExactlyInAnyOrder(ids.get(3), ids.get(4));
+        assertThat(ingredientRows()).isEqualTo(6);
+        assertThat(recipeChangeRepository.findAll()).extracting(RecipeChange::getChangeType, RecipeChange::getRecipeId)
+                .containsExactlyInAnyOrder(Stream.of(0, 1, 2)
+                        .map(index -> tuple(RecipeChangeType.DELETED, ids.get(index)))
+                        .toArray(Tuple[]::new));
+    }
+
+    @Test
+    @DisplayName("deleteRecipes : GIVEN many recipes in one chunk THEN they are deleted with as many statements as a few of them")
+    void deleteRecipesSetBased() {
+        List<Long> ids = saveRecipes(40, Category.VEGETARIAN);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        recipeBulkService.deleteRecipes(new RecipeBulkRequest(ids.subList(0, 2), null, null, null));
+        long fewRecipes = statistics.getPrepareStatementCount();
+        statistics.clear();
+        RecipeBulkResult result = recipeBulkService.deleteRecipes(new RecipeBulkRequest(ids.subList(2, 40), null, null, null));
+
+        assertThat(result.getChanged()).isEqualTo(38);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(fewRecipes + 1);
+        assertThat(recipeManagementRepository.count()).isZero();
+        assertThat(ingredientRows()).isZero();
+    }
+
+    @Test
+    @DisplayName("updateRecipes : GIVEN a filter THEN updates the matching recipes, their versions and the cached recipes")
+    void updateRecipesByFilter() {
+        List<Long> vegetarianIds = saveRecipes(3, Category.VEGETARIAN);
+        Long veganId = saveRecipes(1, Category.VEGAN).get(0);
+        assertThat(recipeManagementService.getRecipe("recipe 0").getCategory()).isEqualTo(Category.VEGETARIAN);
+        RecipeFilterRequest filter = new RecipeFilterRequest();
+        filter.setCategory(Category.VEGETARIAN);
+
+        RecipeBulkResult result = recipeBulkService.updateRecipes(new RecipeBulkRequest(null, filter, Category.VEGAN, 2));
+
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getChanged()).isEqualTo(3);
+        assertThat(recipeManagementRepository.findAllById(vegetarianIds)).allSatisfy(recipe -> {
+            assertThat(recipe.getCategory()).isEqualTo(Category.VEGAN);
+            assertThat(recipe.getServings()).isEqualTo(2);
+            assertThat(recipe.getVersion()).isEqualTo(1L);
+        });
+        assertThat(recipeManagementService.getRecipe("recipe 0").getCategory()).isEqualTo(Category.VEGAN);
+        assertThat(recipeChangeRepository.findAll()).extracting(RecipeChange::getChangeType)
+                .containsOnly(RecipeChangeType.UPDATED)
+                .hasSize(3);
+
+        RecipeBulkResult unchanged = recipeBulkService.updateRecipes(new RecipeBulkRequest(
+                Stream.concat(vegetarianIds.stream(), Stream.of(veganId)).toList(), null, null, 2));
+
+        assertThat(unchanged.getMatched()).isEqualTo(4);
+        assertThat(unchanged.getChanged()).isEqualTo(1);
+        assertThat(recipeManagementRepository.findById(vegetarianIds.get(0)).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(recipeManagementRepository.findById(veganId).orElseThrow())
+                .extracting(Recipe::getCategory, Recipe::getServings)
+                .containsExactly(Category.VEGAN, 2);
+    }
+
+    @Test
+    @DisplayName("deleteRecipes : GIVEN a filter without criteria THEN deletes no recipe")
+    void deleteRecipesWithoutCriteria() {
+        saveRecipes(2, Category.VEGETARIAN);
+
+        RecipeBulkResult result = recipeBulkService.deleteRecipes(new RecipeBulkRequest(List.of(), new RecipeFilterRequest(), null, null));
+
+        assertThat(result.getMatched()).isZero();
+        assertThat(recipeManagementRepository.count()).isEqualTo(2);
+    }
+
+    private List<Long> saveRecipes(int count, Category category) {
+        long existing = recipeManagementRepository.count();
+        return recipeManagementRepository.saveAll(IntStream.range(0, count)
+                        .mapToObj(index -> {
+                            Recipe recipe = new Recipe();
+                            recipe.setRecipeName("recipe " + (existing + index));
+                            recipe.setCategory(category);
+                            recipe.setServings(4);
+                            recipe.setInstructions("Bake in oven");
+                            recipe.setIngredients(new HashSet<>(ingredientCatalog.resolve(List.of("flour", "salt", "water")).values()));
+                            return recipe;
+                        })
+                        .toList())
+                .stream()
+                .map(Recipe::getId)
+                .toList();
+    }
+
+    private long ingredientRows() {
+        return ((Number) entityManager.createNativeQuery("select count(*) from recipe_ingredient").getSingleResult()).longValue();
+    }
+}
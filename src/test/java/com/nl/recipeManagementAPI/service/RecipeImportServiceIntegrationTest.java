@@ -0,0 +1,144 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.enums.RecipeImportStatus;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeImportReport;
+import com.nl.recipeManagementAPI.model.RecipeImportResult;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
+import com.nl.recipeManagementAPI.repository.RecipeChangeRepository;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import com.nl.recipeManagementAPI.utils.RecipeFactory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RecipeImportServiceIntegrationTest {
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeManagementProperties recipeManagementProperties;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Autowired
+    private RecipeChangeRepository recipeChangeRepository;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+        recipeChangeRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recipeManagementProperties.getBulkImport().setChunkSize(500);
+    }
+
+    @Test
+    @DisplayName("importRecipes : GIVEN new, invalid, repeated and existing recipes THEN creates the new recipes and reports each recipe")
+    void importRecipes() {
+        recipeManagementProperties.getBulkImport().setChunkSize(3);
+        Recipe existingRecipe = RecipeFactory.recipe();
+        existingRecipe.setId(null);
+        existingRecipe.setIngredients(new HashSet<>(ingredientCatalog.resolve(List.of("flour", "yeast")).values()));
+        recipeManagementRepository.save(existingRecipe);
+        RecipeDetails invalidRecipe = recipe("no ingredients");
+        invalidRecipe.setIngredients(Set.of());
+
+        RecipeImportReport report = recipeImportService.importRecipes(List.of(recipe("Soup"), invalidRecipe,
+                recipe("pasta"), recipe("soup "), RecipeFactory.recipeDetails(), recipe("salad")).iterator());
+
+        assertThat(report.getResults()).extracting(RecipeImportResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(report.getResults()).extracting(RecipeImportResult::getStatus).containsExactly(RecipeImportStatus.CREATED,
+                RecipeImportStatus.INVALID, RecipeImportStatus.CREATED, RecipeImportStatus.CONFLICT,
+                RecipeImportStatus.CONFLICT, RecipeImportStatus.CREATED);
+        assertThat(report.getCreated()).isEqualTo(3);
+        assertThat(report.getConflicts()).isEqualTo(2);
+        assertThat(report.getInvalid()).isEqualTo(1);
+        assertThat(report.getResults().get(1).getMessage()).isEqualTo("Ingredients list cannot be empty");
+        assertThat(recipeManagementRepository.findWithIngredientsByRecipeName("soup"))
+                .hasValueSatisfying(recipe -> {
+                    assertThat(recipe.getId()).isEqualTo(report.getResults().get(0).getId());
+                    assertThat(recipe.getIngredients()).hasSize(2);
+                });
+        assertThat(recipeManagementRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("importRecipes : GIVEN content that becomes unreadable THEN imports the recipes read before and reports the unreadable one")
+    void importRecipesUnreadable() {
+        recipeManagementProperties.getBulkImport().setChunkSize(3);
+        Iterator<RecipeDetails> recipes = IntStream.range(0, 5)
+                .mapToObj(index -> {
+                    if (index == 4) {
+                        throw new NoSuchElementException("broken content");
+                    }
+                    return recipe("recipe " + index);
+                })
+                .iterator();
+
+        RecipeImportReport report = recipeImportService.importRecipes(recipes);
+
+        assertThat(report.getCreated()).isEqualTo(4);
+        assertThat(report.getResults().get(4).getStatus()).isEqualTo(RecipeImportStatus.INVALID);
+        assertThat(report.getResults().get(4).getMessage()).contains("broken content");
+        assertThat(recipeManagementRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("importRecipes : GIVEN many recipes THEN the inserts are sent in jdbc batches")
+    void importRecipesBatched() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<RecipeDetails> recipes = IntStream.range(0, 150)
+                .mapToObj(index -> recipe("recipe " + index))
+                .toList();
+
+        RecipeImportReport report = recipeImportService.importRecipes(recipes.iterator());
+
+        assertThat(report.getCreated()).isEqualTo(150);
+        assertThat(recipeManagementRepository.count()).isEqualTo(150);
+        assertThat(recipeChangeRepository.count()).isEqualTo(150);
+        // 150 recipes, 300 ingredients and 300 join rows are inserted with one statement per row without batching
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(150);
+    }
+
+    private static RecipeDetails recipe(String name) {
+        return RecipeDetails.builder()
+                .recipeName(name)
+                .category(Category.VEGAN)
+                .instructions("Mix and serve")
+                .servings(2)
+                .ingredients(Set.of(new RecipeIngredient(null, "water"), new RecipeIngredient(null, "salt")))
+                .build();
+    }
+}
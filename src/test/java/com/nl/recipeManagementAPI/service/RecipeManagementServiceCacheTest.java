@@ -0,0 +1,221 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.cache.RecipeSearchKey;
+import com.nl.recipeManagementAPI.config.CacheConfig;
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.exception.RecipeNotFoundException;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.nl.recipeManagementAPI.utils.RecipeFactory.recipeDetails;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class RecipeManagementServiceCacheTest {
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RecipeManagementProperties recipeManagementProperties;
+
+    private Cache recipeCache;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+        recipeCache = cacheManager.getCache(CacheConfig.RECIPE_BY_NAME_CACHE);
+        recipeCache.clear();
+        cacheManager.getCache(CacheConfig.RECIPE_SEARCH_CACHE).clear();
+    }
+
+    @Test
+    @DisplayName("getRecipe : GIVEN a recipe fetched twice by name THEN the second fetch is served from the cache")
+    void getRecipeFromCache() {
+        recipeManagementService.createRecipe(recipeDetails());
+        double hits = cacheGets("hit");
+        RecipeDetails recipe = recipeManagementService.getRecipe("bread");
+        assertThat(recipeManagementService.getRecipe("bread")).isSameAs(recipe);
+        assertThat(cacheGets("hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("updateRecipe : GIVEN a cached recipe renamed THEN the previous name is evicted and no longer found")
+    void updateRecipeEvictsPreviousName() {
+        RecipeDetails created = recipeManagementService.createRecipe(recipeDetails());
+        recipeManagementService.getRecipe("bread");
+        RecipeDetails renamed = recipeDetails();
+        renamed.setRecipeName("rye bread");
+        recipeManagementService.updateRecipe(created.getId(), renamed, null);
+        assertThat(recipeCache.get("bread")).isNull();
+        assertThrows(RecipeNotFoundException.class, () -> recipeManagementService.getRecipe("bread"));
+        assertThat(recipeManagementService.getRecipe("rye bread").getRecipeName()).isEqualTo("rye bread");
+    }
+
+    @Test
+    @DisplayName("updateRecipe : GIVEN a cached recipe updated THEN the next fetch returns the updated recipe")
+    void updateRecipeEvictsCurrentName() {
+        RecipeDetails created = recipeManagementService.createRecipe(recipeDetails());
+        recipeManagementService.getRecipe("bread");
+        RecipeDetails updated = recipeDetails();
+        updated.setServings(12);
+        recipeManagementService.updateRecipe(created.getId(), updated, null);
+        assertThat(recipeManagementService.getRecipe("bread").getServings()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("deleteRecipe : GIVEN a cached recipe deleted THEN it is evicted and no longer found")
+    void deleteRecipeEvicts() {
+        RecipeDetails created = recipeManagementService.createRecipe(recipeDetails());
+        recipeManagementService.getRecipe("bread");
+        recipeManagementService.deleteRecipe(created.getId());
+        assertThat(recipeCache.get("bread")).isNull();
+        assertThrows(RecipeNotFoundException.class, () -> recipeManagementService.getRecipe("bread"));
+    }
+
+    @Test
+    @DisplayName("filterRecipes : GIVEN the same filters in another order and case THEN the ids are served from the cache")
+    void filterRecipesFromCache() {
+        recipeManagementService.createRecipe(recipeDetails());
+        RecipeFilterRequest first = new RecipeFilterRequest();
+        first.setRequiredIngredients(List.of("Flour", "yeast"));
+        assertThat(recipeManagementService.filterRecipes(first)).extracting(RecipeDetails::getRecipeName).containsExactly("bread");
+        double hits = cacheGets(CacheConfig.RECIPE_SEARCH_CACHE, "hit");
+
+        RecipeFilterRequest second = new RecipeFilterRequest();
+        second.setRequiredIngredients(List.of("yeast", " flour "));
+        second.setPage(0);
+        assertThat(recipeManagementService.filterRecipes(second)).extracting(RecipeDetails::getRecipeName).containsExactly("bread");
+        assertThat(cacheGets(CacheConfig.RECIPE_SEARCH_CACHE, "hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("createRecipe : GIVEN cached searches THEN only the ones the created recipe may match are evicted")
+    void createRecipeEvictsMatchingSearches() {
+        RecipeFilterRequest vegetarian = new RecipeFilterRequest();
+        vegetarian.setCategory(Category.VEGETARIAN);
+        vegetarian.setIncludesIngredient("flour");
+        RecipeFilterRequest vegan = new RecipeFilterRequest();
+        vegan.setCategory(Category.VEGAN);
+        assertThat(recipeManagementService.filterRecipes(vegetarian)).isEmpty();
+        assertThat(recipeManagementService.filterRecipes(vegan)).isEmpty();
+
+        recipeManagementService.createRecipe(recipeDetails());
+
+        double hits = cacheGets(CacheConfig.RECIPE_SEARCH_CACHE, "hit");
+        assertThat(recipeManagementService.filterRecipes(vegetarian))
+                .extracting(RecipeDetails::getRecipeName)
+                .containsExactly("bread");
+        assertThat(recipeManagementService.filterRecipes(vegan)).isEmpty();
+        assertThat(cacheGets(CacheConfig.RECIPE_SEARCH_CACHE, "hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    @DisplayName("updateRecipe : GIVEN cached searches of the previous and the new category THEN both are evicted")
+    void updateRecipeEvictsPreviousMatches() {
+        RecipeDetails created = recipeManagementService.createRecipe(recipeDetails());
+        RecipeFilterRequest vegetarian = new RecipeFilterRequest();
+        vegetarian.setCategory(Category.VEGETARIAN);
+        RecipeFilterRequest vegan = new RecipeFilterRequest();
+        vegan.setCategory(Category.VEGAN);
+        assertThat(recipeManagementService.filterRecipes(vegetarian)).hasSize(1);
+        assertThat(recipeManagementService.filterRecipes(vegan)).isEmpty();
+
+        RecipeDetails update = recipeDetails();
+        update.setCategory(Category.VEGAN);
+        recipeManagementService.updateRecipe(created.getId(), update, null);
+
+        assertThat(recipeManagementService.filterRecipes(vegetarian)).isEmpty();
+        assertThat(recipeManagementService.filterRecipes(vegan)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("getRecipe : GIVEN a recipe read in a transaction that commits after an update of the recipe THEN the updated recipe is fetched next")
+    void getRecipeReadBeforeUpdate() {
+        RecipeDetails created = recipeManagementService.createRecipe(recipeDetails());
+        TransactionTemplate reader = new TransactionTemplate(transactionManager);
+        reader.setReadOnly(true);
+        TransactionTemplate writer = new TransactionTemplate(transactionManager);
+        writer.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        RecipeDetails updated = recipeDetails();
+        updated.setServings(12);
+
+        reader.executeWithoutResult(readStatus -> {
+            assertThat(recipeManagementService.getRecipe("bread").getServings()).isNotEqualTo(12);
+            writer.executeWithoutResult(writeStatus -> recipeManagementService.updateRecipe(created.getId(), updated, null));
+        });
+
+        assertThat(recipeManagementService.getRecipe("bread").getServings()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("filterRecipes : GIVEN a search loading while a recipe it matches is created THEN the search read before the creation is not cached")
+    void filterRecipesLoadingWhileCreated() throws Exception {
+        RecipeFilterRequest vegetarian = new RecipeFilterRequest();
+        vegetarian.setCategory(Category.VEGETARIAN);
+        String key = RecipeSearchKey.of(vegetarian,
+                PageRequest.of(0, recipeManagementProperties.getPagination().getDefaultPageSize())).toString();
+        Cache searchCache = cacheManager.getCache(CacheConfig.RECIPE_SEARCH_CACHE);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<Long>> staleSearch = CompletableFuture.supplyAsync(() -> searchCache.get(key, () -> {
+            loading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.<Long>of();
+        }));
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        recipeManagementService.createRecipe(recipeDetails());
+        release.countDown();
+
+        assertThat(staleSearch.get(10, TimeUnit.SECONDS)).isEmpty();
+        assertThat(searchCache.get(key)).isNull();
+        assertThat(recipeManagementService.filterRecipes(vegetarian))
+                .extracting(RecipeDetails::getRecipeName)
+                .containsExactly("bread");
+    }
+
+    private double cacheGets(String result) {
+        return cacheGets(CacheConfig.RECIPE_BY_NAME_CACHE, result);
+    }
+
+    private double cacheGets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -1,28 +1,50 @@
 package com.nl.recipeManagementAPI.service;
 
+import com.nl.recipeManagementAPI.config.RecipeManagementProperties;
+import com.nl.recipeManagementAPI.datasource.ReadYourWrites;
+import com.nl.recipeManagementAPI.entity.Ingredient;
 import com.nl.recipeManagementAPI.entity.Recipe;
 import com.nl.recipeManagementAPI.enums.Category;
 import com.nl.recipeManagementAPI.exception.RecipeExistsException;
 import com.nl.recipeManagementAPI.exception.RecipeNotFoundException;
+import com.nl.recipeManagementAPI.index.RecipeSearchIndex;
+import com.nl.recipeManagementAPI.metrics.RecipeMetrics;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
 import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.model.RecipePage;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
 import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.nl.recipeManagementAPI.utils.RecipeFactory.recipe;
 import static com.nl.recipeManagementAPI.utils.RecipeFactory.recipeDetails;
+import static com.nl.recipeManagementAPI.utils.RecipeFactory.recipeDetailsView;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -43,6 +65,30 @@ class RecipeManagementServiceImplTest {
     @Mock
     RecipeManagementRepository recipeManagementRepository;
 
+    @Spy
+    RecipeManagementProperties recipeManagementProperties = new RecipeManagementProperties();
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    CacheManager cacheManager;
+
+    @Mock
+    RecipeSearchIndex recipeSearchIndex;
+
+    @Mock
+    ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    IngredientCatalog ingredientCatalog;
+
+    @Mock
+    RecipeMetrics recipeMetrics;
+
+    @Mock
+    ObjectProvider<ReadYourWrites> readYourWrites;
+
     @Test
     @DisplayName("createRecipe : GIVEN recipeDetails THEN creates a new recipe")
     void createRecipe() {
@@ -74,18 +120,62 @@ class RecipeManagementServiceImplTest {
         RecipeDetails recipeDetails = recipeDetails();
         recipeDetails.setServings(14);
         when(recipeManagementRepository.findById(recipe.getId())).thenReturn(Optional.of(recipe));
-        when(recipeManagementRepository.save(recipe)).thenReturn(recipe);
-        RecipeDetails upDatedRecipe = recipeManagementService.updateRecipe(111L, recipeDetails);
+        when(recipeManagementRepository.saveAndFlush(recipe)).thenReturn(recipe);
+        RecipeDetails upDatedRecipe = recipeManagementService.updateRecipe(111L, recipeDetails, null);
         assertThat(upDatedRecipe.getServings())
                 .isEqualTo(recipeDetails.getServings());
     }
 
+    @Test
+    @DisplayName("updateRecipeIngredients: GIVEN existing and new ingredients THEN only the new ingredients are resolved and added")
+    void updateRecipeIngredients() {
+        Recipe recipe = recipe();
+        recipe.setIngredients(new HashSet<>(recipe.getIngredients()));
+        RecipeDetails recipeDetails = recipeDetails();
+        recipeDetails.setIngredients(Set.of(new RecipeIngredient(null, "Flour"), new RecipeIngredient(null, "salt ")));
+        when(recipeManagementRepository.findById(recipe.getId())).thenReturn(Optional.of(recipe));
+        when(recipeManagementRepository.saveAndFlush(recipe)).thenReturn(recipe);
+        when(ingredientCatalog.resolve(List.of("salt"))).thenReturn(Map.of("salt", new Ingredient(7L, "salt")));
+        RecipeDetails upDatedRecipe = recipeManagementService.updateRecipe(111L, recipeDetails, null);
+        assertThat(upDatedRecipe.getIngredients())
+                .extracting(RecipeIngredient::getName)
+                .containsExactlyInAnyOrder("flour", "yeast", "salt");
+    }
+
+    @Test
+    @DisplayName("renameToExistingRecipe : GIVEN the name of another recipe in another case THEN throws RecipeExistsException")
+    void renameToExistingRecipe() {
+        Recipe recipe = recipe();
+        RecipeDetails recipeDetails = recipeDetails();
+        recipeDetails.setRecipeName("Cake");
+        when(recipeManagementRepository.findById(recipe.getId())).thenReturn(Optional.of(recipe));
+        when(recipeManagementRepository.saveAndFlush(recipe)).thenThrow(constraintViolation(Recipe.NAME_LOWER_INDEX));
+        assertThatThrownBy(() -> recipeManagementService.updateRecipe(111L, recipeDetails, null))
+                .isInstanceOf(RecipeExistsException.class)
+                .hasMessage("Recipe already exists with the name: Cake");
+    }
+
+    @Test
+    @DisplayName("updateRecipeViolation : GIVEN an update violating another constraint than the unique name THEN the violation propagates")
+    void updateRecipeViolation() {
+        Recipe recipe = recipe();
+        when(recipeManagementRepository.findById(recipe.getId())).thenReturn(Optional.of(recipe));
+        when(recipeManagementRepository.saveAndFlush(recipe)).thenThrow(constraintViolation("fk_recipe_ingredient_ingredient"));
+        assertThatThrownBy(() -> recipeManagementService.updateRecipe(111L, recipeDetails(), null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static DataIntegrityViolationException constraintViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("violation"), constraintName));
+    }
+
     @Test
     @DisplayName("updateNonExistentRecipe : GIVEN a request to update a non existent recipe THEN throws RecipeNotFoundException")
     void updateNonExistentRecipe(){
         RecipeDetails recipe = recipeDetails();
         when(recipeManagementRepository.findById(anyLong())).thenReturn(Optional.ofNullable(null));
-        assertThrows(RecipeNotFoundException.class,()->recipeManagementService.updateRecipe(111L,recipe));
+        assertThrows(RecipeNotFoundException.class,()->recipeManagementService.updateRecipe(111L,recipe,null));
     }
 
     @Test
@@ -93,9 +183,9 @@ class RecipeManagementServiceImplTest {
     void deleteRecipe() {
         Recipe recipe = recipe();
         when(recipeManagementRepository.findById(anyLong())).thenReturn(Optional.of(recipe));
-        doNothing().when(recipeManagementRepository).deleteById(recipe.getId());
+        doNothing().when(recipeManagementRepository).delete(recipe);
         recipeManagementService.deleteRecipe(recipe.getId());
-        verify(recipeManagementRepository, times(1)).deleteById(recipe.getId());
+        verify(recipeManagementRepository, times(1)).delete(recipe);
     }
 
     @Test
@@ -109,34 +199,64 @@ class RecipeManagementServiceImplTest {
     @Test
     @DisplayName("filterRecipes:GIVEN a request to filter recipes based on criteria THEN returns the recipes matching criteria")
     void filterRecipes() {
-        Recipe recipe1 = recipe();
-        Recipe recipe2 = recipe();
-        recipe2.setRecipeName("cake");
-        recipe2.setServings(10);
         RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
         recipeFilterRequest.setCategory(Category.VEGETARIAN);
-        when(recipeManagementRepository.findAll(Mockito.<Specification<Recipe>>any())).thenReturn(Arrays.asList(recipe1, recipe2));
+        when(recipeManagementRepository.findIds(recipeFilterRequest, PageRequest.of(0, 50))).thenReturn(List.of(112L, 111L));
+        when(recipeManagementRepository.findDetailsByIdIn(List.of(112L, 111L)))
+                .thenReturn(Arrays.asList(recipeDetailsView(111L, "bread"), recipeDetailsView(112L, "cake")));
         List<RecipeDetails> recipeDetails = recipeManagementService.filterRecipes(recipeFilterRequest);
         assertThat(recipeDetails).hasSize(2);
         assertThat(recipeDetails.stream()
                 .map(RecipeDetails::getRecipeName)
-                .collect(Collectors.toList())).containsAll(List.of("cake", "bread"));
+                .collect(Collectors.toList())).containsExactly("cake", "bread");
 
     }
 
     @Test
-    @DisplayName("getAllRecipes : Fetches all the available recipes in the database")
+    @DisplayName("getAllRecipes : Fetches the first page of the available recipes in the database")
     void getAllRecipes() {
-        List<Recipe> recipeList = Arrays.asList(recipe());
-        when(recipeManagementRepository.findAll()).thenReturn(recipeList);
-        List<RecipeDetails> recipesList = recipeManagementService.getAllRecipes();
-        assertThat(recipesList.size()).isEqualTo(1);
+        when(recipeManagementRepository.findDetailsAfter(0L, Limit.of(50))).thenReturn(List.of(recipeDetailsView(111L, "bread")));
+        RecipePage recipePage = recipeManagementService.getAllRecipes(null, null);
+        assertThat(recipePage.getRecipes().size()).isEqualTo(1);
+        assertThat(recipePage.getRecipes().get(0).getIngredients()).extracting(RecipeIngredient::getName)
+                .containsExactlyInAnyOrder("flour", "yeast");
+        assertThat(recipePage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getAllRecipesPage : GIVEN a cursor and a full page THEN returns the id of the last recipe as the next cursor")
+    void getAllRecipesPage() {
+        when(recipeManagementRepository.findDetailsAfter(111L, Limit.of(1))).thenReturn(List.of(recipeDetailsView(120L, "bread")));
+        RecipePage recipePage = recipeManagementService.getAllRecipes(111L, 1);
+        assertThat(recipePage.getRecipes()).hasSize(1);
+        assertThat(recipePage.getNextCursor()).isEqualTo(120L);
+    }
+
+    @Test
+    @DisplayName("getAllRecipesMaxPageSize : GIVEN a page size above the maximum THEN caps the page to the maximum page size")
+    void getAllRecipesMaxPageSize() {
+        when(recipeManagementRepository.findDetailsAfter(0L, Limit.of(500))).thenReturn(List.of());
+        RecipePage recipePage = recipeManagementService.getAllRecipes(null, 10_000);
+        assertThat(recipePage.getRecipes()).isEmpty();
+        assertThat(recipePage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("streamAllRecipes : GIVEN a request to stream all recipes THEN hands every recipe to the consumer and detaches it")
+    void streamAllRecipes() {
+        Recipe recipe2 = recipe();
+        recipe2.setRecipeName("cake");
+        when(recipeManagementRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(recipe(), recipe2));
+        List<RecipeDetails> streamed = new ArrayList<>();
+        recipeManagementService.streamAllRecipes(streamed::add);
+        assertThat(streamed).extracting(RecipeDetails::getRecipeName).containsExactly("bread", "cake");
+        verify(entityManager, times(2)).detach(any(Recipe.class));
     }
 
     @Test
     @DisplayName("getRecipe : GIVEN a request to fetch recipe by name  THEN returns the recipe")
     void getRecipe() {
-        when(recipeManagementRepository.findByRecipeName(anyString())).thenReturn(Optional.of(recipe()));
+        when(recipeManagementRepository.findWithIngredientsByRecipeName(anyString())).thenReturn(Optional.of(recipe()));
         RecipeDetails recipeDetails = recipeManagementService.getRecipe("bread");
         assertThat(recipeDetails.getRecipeName()).isEqualTo("bread");
     }
@@ -144,7 +264,7 @@ class RecipeManagementServiceImplTest {
     @Test
     @DisplayName("getNonExistentRecipe : GIVEN a request to fetch non existing recipe by name THEN throws RecipeNotFoundException")
     void getNonExistentRecipe(){
-        when(recipeManagementRepository.findByRecipeName(anyString())).thenReturn(Optional.ofNullable(null));
+        when(recipeManagementRepository.findWithIngredientsByRecipeName(anyString())).thenReturn(Optional.ofNullable(null));
         assertThrows(RecipeNotFoundException.class,()->recipeManagementService.getRecipe("bread"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.nl.recipeManagementAPI.service;
+
+import com.nl.recipeManagementAPI.config.CacheConfig;
+import com.nl.recipeManagementAPI.entity.Recipe;
+import com.nl.recipeManagementAPI.enums.Category;
+import com.nl.recipeManagementAPI.exception.RecipeVersionMismatchException;
+import com.nl.recipeManagementAPI.model.RecipeBatchRequest;
+import com.nl.recipeManagementAPI.model.RecipeBatchResult;
+import com.nl.recipeManagementAPI.model.RecipeDetails;
+import com.nl.recipeManagementAPI.model.RecipeFilterRequest;
+import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.model.RecipeVersion;
+import com.nl.recipeManagementAPI.repository.IngredientCatalog;
+import com.nl.recipeManagementAPI.repository.RecipeManagementRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies that the read paths load the ingredients along with the recipes, so that the number of sql statements per
+ * request does not grow with the number of recipes returned, and that an update only writes the changed ingredient rows.
+ * The pages and the search results are read as projections without loading any entity.
+ * The version of a recipe is read without loading it and is incremented by a change of its ingredients alone.
+ * A batch of recipes looked up by ids and names is read with one statement.
+ */
+@SpringBootTest
+class RecipeManagementServiceQueryCountTest {
+
+    @Autowired
+    private RecipeManagementService recipeManagementService;
+
+    @Autowired
+    private RecipeManagementRepository recipeManagementRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private IngredientCatalog ingredientCatalog;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        recipeManagementRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("getAllRecipes : GIVEN a growing number of recipes THEN the statements per page stay constant")
+    void getAllRecipesStatementCount() {
+        saveRecipes(2);
+        long smallPage = countStatements(() -> recipeManagementService.getAllRecipes(null, 100).getRecipes());
+        saveRecipes(20);
+        long largePage = countStatements(() -> recipeManagementService.getAllRecipes(null, 100).getRecipes());
+        assertThat(smallPage).isEqualTo(1);
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("filterRecipes : GIVEN a growing number of matching recipes THEN the statements per search stay constant")
+    void filterRecipesStatementCount() {
+        RecipeFilterRequest recipeFilterRequest = new RecipeFilterRequest();
+        recipeFilterRequest.setIncludesIngredient("salt");
+        recipeFilterRequest.setExcludesIngredient("oil");
+        ingredientCatalog.resolve(List.of("oil"));
+        saveRecipes(2);
+        long smallResult = countStatements(() -> recipeManagementService.filterRecipes(recipeFilterRequest));
+        saveRecipes(20);
+        long largeResult = countStatements(() -> recipeManagementService.filterRecipes(recipeFilterRequest));
+        assertThat(smallResult).isEqualTo(2);
+        assertThat(largeResult).isEqualTo(smallResult);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("streamAllRecipes : GIVEN a growing number of recipes THEN the whole stream is read with one statement")
+    void streamAllRecipesStatementCount() {
+        saveRecipes(20);
+        List<RecipeDetails> streamed = new ArrayList<>();
+        long statements = countStatements(() -> {
+            recipeManagementService.streamAllRecipes(streamed::add);
+            return streamed;
+        });
+        assertThat(statements).isEqualTo(1);
+        assertThat(streamed).hasSize(20)
+                .allSatisfy(recipeDetails -> assertThat(recipeDetails.getIngredients()).hasSize(3));
+    }
+
+    @Test
+    @DisplayName("getRecipe : GIVEN a recipe name THEN the recipe and its ingredients are read with one statement")
+    void getRecipeStatementCount() {
+        saveRecipes(1);
+        long statements = countStatements(() -> List.of(recipeManagementService.getRecipe("recipe 0")));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getRecipes : GIVEN a batch of ids and names THEN the recipes and their ingredients are read with one statement")
+    void getRecipesStatementCount() {
+        saveRecipes(3);
+        Long firstId = recipeManagementRepository.findByRecipeName("recipe 0").orElseThrow().getId();
+        List<RecipeBatchResult> results = new ArrayList<>();
+
+        long statements = countStatements(() -> {
+            RecipeBatchResult result = recipeManagementService.getRecipes(new RecipeBatchRequest(List.of(firstId, -1L),
+                    List.of("Recipe 2 ", "recipe 0", "unknown")));
+            results.add(result);
+            return result.getRecipes();
+        });
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(results.get(0).getRecipes()).extracting(RecipeDetails::getRecipeName)
+                .containsExactly("recipe 0", "recipe 2");
+        assertThat(results.get(0).getMissingIds()).containsExactly(-1L);
+        assertThat(results.get(0).getMissingNames()).containsExactly("unknown");
+        assertThat(recipeManagementService.getRecipes(new RecipeBatchRequest(null, List.of("recipe 1"))).getRecipes())
+                .extracting(RecipeDetails::getRecipeName)
+                .containsExactly("recipe 1");
+    }
+
+    @Test
+    @DisplayName("updateRecipe : GIVEN the existing ingredients and a new one THEN only the new join row is written")
+    void updateRecipeIngredientRows() {
+        saveRecipes(1);
+        RecipeDetails recipeDetails = recipeManagementService.getRecipe("recipe 0");
+        recipeDetails.setIngredients(Set.of(new RecipeIngredient(null, "Salt"), new RecipeIngredient(null, "water"),
+                new RecipeIngredient(null, "yeast")));
+        statistics.clear();
+
+        RecipeDetails updatedRecipe = recipeManagementService.updateRecipe(recipeDetails.getId(), recipeDetails, null);
+
+        assertThat(updatedRecipe.getIngredients()).extracting(RecipeIngredient::getName)
+                .containsExactlyInAnyOrder("flour", "salt", "water", "yeast");
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(statistics.getCollectionRemoveCount()).isZero();
+        assertThat(statistics.getCollectionUpdateCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getRecipeVersion : GIVEN a recipe name THEN only its version is read with one statement")
+    void getRecipeVersionStatementCount() {
+        saveRecipes(1);
+        statistics.clear();
+        RecipeVersion recipeVersion = recipeManagementService.getRecipeVersion("recipe 0");
+        assertThat(recipeVersion.getVersion()).isZero();
+        assertThat(recipeVersion.getLastModified()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("updateRecipe : GIVEN only a new ingredient THEN the version and last modified of the recipe change")
+    void updateRecipeIngredientsVersion() {
+        saveRecipes(1);
+        RecipeVersion before = recipeManagementService.getRecipeVersion("recipe 0");
+        RecipeDetails recipeDetails = recipeManagementService.getRecipe("recipe 0");
+        recipeDetails.setIngredients(Set.of(new RecipeIngredient(null, "flour"), new RecipeIngredient(null, "salt"),
+                new RecipeIngredient(null, "water"), new RecipeIngredient(null, "yeast")));
+
+        recipeManagementService.updateRecipe(recipeDetails.getId(), recipeDetails, before.getVersion());
+
+        RecipeVersion after = recipeManagementService.getRecipeVersion("recipe 0");
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(after.getLastModified()).isAfter(before.getLastModified());
+        assertThrows(RecipeVersionMismatchException.class,
+                () -> recipeManagementService.updateRecipe(recipeDetails.getId(), recipeDetails, before.getVersion()));
+    }
+
+    private long countStatements(Supplier<List<RecipeDetails>> request) {
+        statistics.clear();
+        List<RecipeDetails> recipes = request.get();
+        assertThat(recipes).allSatisfy(recipeDetails -> assertThat(recipeDetails.getIngredients()).hasSize(3));
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Saves the recipes past the service, so the cached search results are cleared by hand.
+     */
+    private void saveRecipes(int count) {
+        long existing = recipeManagementRepository.count();
+        recipeManagementRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(index -> {
+                    Recipe recipe = new Recipe();
+                    recipe.setRecipeName("recipe " + (existing + index));
+                    recipe.setCategory(Category.VEGETARIAN);
+                    recipe.setServings(4);
+                    recipe.setInstructions("Bake in oven");
+                    recipe.setIngredients(new HashSet<>(ingredientCatalog.resolve(List.of("flour", "salt", "water")).values()));
+                    return recipe;
+                })
+                .toList());
+        cacheManager.getCache(CacheConfig.RECIPE_SEARCH_CACHE).clear();
+    }
+}
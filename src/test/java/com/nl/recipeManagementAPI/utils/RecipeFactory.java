@@ -5,6 +5,7 @@ import com.nl.recipeManagementAPI.entity.Recipe;
 import com.nl.recipeManagementAPI.enums.Category;
 import com.nl.recipeManagementAPI.model.RecipeDetails;
 import com.nl.recipeManagementAPI.model.RecipeIngredient;
+import com.nl.recipeManagementAPI.repository.RecipeDetailsView;
 import lombok.experimental.UtilityClass;
 
 import java.util.Set;
@@ -32,4 +33,9 @@ public class RecipeFactory {
         recipe.setIngredients(Set.of(new Ingredient(null, "flour"), new Ingredient(null, "yeast")));
         return recipe;
     }
+
+    public static RecipeDetailsView recipeDetailsView(Long id, String recipeName) {
+        return new RecipeDetailsView(id, recipeName, Category.VEGETARIAN, "Bake in oven", 5, 0L, null,
+                new Long[]{1L, 2L}, new String[]{"flour", "yeast"});
+    }
 }
\ No newline at end of file